@@ -32,7 +32,8 @@ import com.twitter.sdk.android.core.TwitterCore;
 import com.twitter.sdk.android.core.TwitterSession;
 import com.twitter.sdk.android.core.internal.network.UrlUtils;
 import com.twitter.sdk.android.core.internal.scribe.DefaultScribeClient;
-import com.twitter.sdk.android.core.internal.scribe.ScribeConfig;
+import com.twitter.sdk.android.core.internal.scribe.PendingScribeEvents;
+import com.twitter.sdk.android.core.internal.scribe.TwitterCoreScribeClientHolder;
 
 import java.net.URL;
 import java.util.List;
@@ -52,7 +53,8 @@ public class TweetComposer {
     SessionManager<TwitterSession> sessionManager;
     GuestSessionProvider guestSessionProvider;
     Context context;
-    ScribeClient scribeClient;
+    volatile ScribeClient scribeClient;
+    final PendingScribeEvents pendingScribeEvents = new PendingScribeEvents();
 
     public static TweetComposer getInstance() {
         if (instance == null) {
@@ -66,13 +68,15 @@ public class TweetComposer {
     }
 
     TweetComposer() {
-        scribeClient = new ScribeClientImpl(null);
+        // Events scribed before the client is set up are scribed once it is.
+        scribeClient = pendingScribeEvents::scribe;
 
         sessionManager = TwitterCore.getInstance().getSessionManager();
         guestSessionProvider = TwitterCore.getInstance().getGuestSessionProvider();
         context = Twitter.getInstance().getContext(getIdentifier());
 
-        setUpScribeClient();
+        Twitter.getInstance().getInitializer()
+                .addDeferredStage("TweetComposer.scribe", this::setUpScribeClient);
     }
 
     public String getVersion() {
@@ -80,11 +84,10 @@ public class TweetComposer {
     }
 
     private void setUpScribeClient() {
-        final ScribeConfig config =
-                DefaultScribeClient.getScribeConfig(KIT_SCRIBE_NAME, getVersion());
-        scribeClient = new ScribeClientImpl(new DefaultScribeClient(context,
-                sessionManager, guestSessionProvider, Twitter.getInstance().getIdManager(),
-                config));
+        final DefaultScribeClient client = TwitterCoreScribeClientHolder.getScribeClient(context,
+                KIT_SCRIBE_NAME, getVersion());
+        pendingScribeEvents.setScribeClient(client);
+        scribeClient = new ScribeClientImpl(client);
     }
 
     public String getIdentifier() {
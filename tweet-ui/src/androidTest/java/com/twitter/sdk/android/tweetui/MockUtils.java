@@ -22,7 +22,6 @@ import android.widget.ImageView;
 
 import com.squareup.picasso.Picasso;
 import com.squareup.picasso.RequestCreator;
-import com.twitter.sdk.android.core.Session;
 import com.twitter.sdk.android.core.TwitterApiClient;
 import com.twitter.sdk.android.core.services.StatusesService;
 
@@ -30,14 +29,12 @@ import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
-import java.util.concurrent.ConcurrentHashMap;
 
 import retrofit2.Call;
 
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
-import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -66,12 +63,6 @@ final class MockUtils {
         when(apiClient.getStatusesService()).thenReturn(statusesService);
     }
 
-    static void mockClients(ConcurrentHashMap<Session, TwitterApiClient> clients,
-                                   TwitterApiClient apiClient) {
-        when(clients.get(anyObject())).thenReturn(apiClient);
-        when(clients.contains(anyObject())).thenReturn(true);
-    }
-
     static class MockCallAnswer implements Answer<Object> {
         @Override
         public Object answer(InvocationOnMock invocation) throws Throwable {
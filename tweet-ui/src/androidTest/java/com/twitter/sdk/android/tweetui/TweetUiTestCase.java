@@ -24,7 +24,6 @@ import android.util.Log;
 import com.squareup.picasso.Picasso;
 import com.squareup.picasso.RequestCreator;
 import com.twitter.sdk.android.core.DefaultLogger;
-import com.twitter.sdk.android.core.Session;
 import com.twitter.sdk.android.core.SessionManager;
 import com.twitter.sdk.android.core.Twitter;
 import com.twitter.sdk.android.core.TwitterApiClient;
@@ -34,7 +33,6 @@ import com.twitter.sdk.android.core.TwitterCore;
 import com.twitter.sdk.android.core.TwitterCoreTestUtils;
 import com.twitter.sdk.android.core.TwitterTestUtils;
 
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.mockito.Mockito.mock;
@@ -48,7 +46,6 @@ public class TweetUiTestCase extends AndroidTestCase {
     protected TweetScribeClient scribeClient;
     protected Handler mainHandler;
     private TwitterApiClient apiClient;
-    private ConcurrentHashMap<Session, TwitterApiClient> clients;
 
     @Override
     protected void setUp() throws Exception {
@@ -65,7 +62,7 @@ public class TweetUiTestCase extends AndroidTestCase {
         Twitter.initialize(config);
 
         final TwitterCore twitterCore = TwitterCoreTestUtils.createTwitterCore(
-                new TwitterAuthConfig("", ""), clients, apiClient);
+                new TwitterAuthConfig("", ""), apiClient, apiClient);
 
         tweetUi = TweetUi.getInstance();
         final TweetRepository tweetRepository = new TweetRepository(mainHandler,
@@ -92,8 +89,5 @@ public class TweetUiTestCase extends AndroidTestCase {
 
         apiClient = mock(TwitterApiClient.class);
         MockUtils.mockApiClient(apiClient);
-
-        clients = mock(ConcurrentHashMap.class);
-        MockUtils.mockClients(clients, apiClient);
     }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.tweetui;
+
+import android.content.Context;
+
+import com.squareup.picasso.Picasso;
+import com.twitter.sdk.android.core.internal.AvatarSize;
+import com.twitter.sdk.android.core.internal.UserUtils;
+import com.twitter.sdk.android.core.models.Tweet;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Prefetches the avatars of the first Tweets of each timeline page into the image cache, so they
+ * are ready when the Tweet views are bound. The same authors tend to repeat across a page, so
+ * each avatar is only fetched once.
+ */
+class AvatarPrefetcher implements TimelineDelegate.OnItemsReceivedListener<Tweet> {
+    static final int DEFAULT_PREFETCH_COUNT = 10;
+
+    final TweetUi tweetUi;
+    final AvatarSize avatarSize;
+    final int prefetchCount;
+    final Set<String> prefetchedUrls = new HashSet<>();
+
+    AvatarPrefetcher(Context context, TweetUi tweetUi) {
+        this(tweetUi, AvatarSize.forPixelSize(
+                context.getResources().getDimensionPixelSize(R.dimen.tw__tweet_avatar_size)),
+                DEFAULT_PREFETCH_COUNT);
+    }
+
+    AvatarPrefetcher(TweetUi tweetUi, AvatarSize avatarSize, int prefetchCount) {
+        this.tweetUi = tweetUi;
+        this.avatarSize = avatarSize;
+        this.prefetchCount = prefetchCount;
+    }
+
+    @Override
+    public void onItemsReceived(List<Tweet> items) {
+        final Picasso imageLoader = tweetUi != null ? tweetUi.getImageLoader() : null;
+        if (imageLoader == null) return;
+
+        final int count = Math.min(items.size(), prefetchCount);
+        for (int i = 0; i < count; i++) {
+            final Tweet displayTweet = TweetUtils.getDisplayTweet(items.get(i));
+            if (displayTweet == null || displayTweet.getUser() == null) {
+                continue;
+            }
+
+            final String url = UserUtils.INSTANCE.getProfileImageUrlHttps(displayTweet.getUser(),
+                    avatarSize);
+            if (url != null && prefetchedUrls.add(url)) {
+                imageLoader.load(url).fetch();
+            }
+        }
+    }
+}
@@ -20,10 +20,14 @@ package com.twitter.sdk.android.tweetui;
 import com.twitter.sdk.android.core.Callback;
 import com.twitter.sdk.android.core.Result;
 import com.twitter.sdk.android.core.TwitterException;
+import com.twitter.sdk.android.core.internal.network.RequestPriority;
+import com.twitter.sdk.android.core.internal.network.RequestScheduler;
 import com.twitter.sdk.android.core.models.Tweet;
 
 import java.util.List;
 
+import retrofit2.Call;
+
 /**
  * BaseTimeline which handles TweetUi instance argument.
  */
@@ -40,6 +44,20 @@ abstract class BaseTimeline {
         return maxId == null ? null : maxId - 1;
     }
 
+    /**
+     * Queues a request for newer items, which are usually displayed as soon as they arrive.
+     */
+    static <T> void enqueueNext(Call<T> call, Callback<T> cb) {
+        RequestScheduler.getInstance().enqueue(call, RequestPriority.VISIBLE, cb);
+    }
+
+    /**
+     * Queues a request for older items, which are loaded ahead of the user scrolling to them.
+     */
+    static <T> void enqueuePrevious(Call<T> call, Callback<T> cb) {
+        RequestScheduler.getInstance().enqueue(call, RequestPriority.PREFETCH, cb);
+    }
+
     /**
      * Wrapper callback which unpacks a list of Tweets into a TimelineResult (cursor and items).
      */
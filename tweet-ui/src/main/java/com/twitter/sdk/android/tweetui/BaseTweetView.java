@@ -404,12 +404,27 @@ public abstract class BaseTweetView extends AbstractTweetView {
             url = null;
         } else {
             url = UserUtils.INSTANCE.getProfileImageUrlHttps(displayTweet.getUser(),
-                    AvatarSize.REASONABLY_SMALL);
+                    AvatarSize.forPixelSize(getAvatarSizePixels()));
         }
 
         imageLoader.load(url).placeholder(avatarMediaBg).into(avatarView);
     }
 
+    /**
+     * Returns the size of the avatar in pixels. Tweets are usually bound before the avatar has been
+     * measured, in which case its layout size is used.
+     */
+    int getAvatarSizePixels() {
+        if (avatarView.getWidth() > 0) {
+            return Math.max(avatarView.getWidth(), avatarView.getHeight());
+        }
+        final ViewGroup.LayoutParams params = avatarView.getLayoutParams();
+        if (params != null && params.width > 0) {
+            return Math.max(params.width, params.height);
+        }
+        return getResources().getDimensionPixelSize(R.dimen.tw__tweet_avatar_size);
+    }
+
     /**
      * Linkify the profile photo
      * @param displayTweet The tweet from which to linkify the profile photo
@@ -63,7 +63,7 @@ public class CollectionTimeline extends BaseTimeline implements Timeline<Tweet>
      */
     @Override
     public void next(Long minPosition, Callback<TimelineResult<Tweet>> cb) {
-        createCollectionRequest(minPosition, null).enqueue(new CollectionCallback(cb));
+        enqueueNext(createCollectionRequest(minPosition, null), new CollectionCallback(cb));
     }
 
     /**
@@ -73,7 +73,7 @@ public class CollectionTimeline extends BaseTimeline implements Timeline<Tweet>
      */
     @Override
     public void previous(Long maxPosition, Callback<TimelineResult<Tweet>> cb) {
-        createCollectionRequest(null, maxPosition).enqueue(new CollectionCallback(cb));
+        enqueuePrevious(createCollectionRequest(null, maxPosition), new CollectionCallback(cb));
     }
 
     @Override
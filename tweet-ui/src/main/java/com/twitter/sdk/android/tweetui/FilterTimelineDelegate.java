@@ -95,7 +95,7 @@ class FilterTimelineDelegate extends TimelineDelegate<Tweet> {
             this.callback = callback;
             this.timelineFilter = timelineFilter;
             this.handler = new Handler(Looper.getMainLooper());
-            this.executorService = Twitter.getInstance().getExecutorService();
+            this.executorService = Twitter.getInstance().getComputationExecutorService();
         }
 
         @Override
@@ -20,6 +20,7 @@ package com.twitter.sdk.android.tweetui;
 import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.v4.view.PagerAdapter;
+import android.util.DisplayMetrics;
 import android.view.View;
 import android.view.ViewGroup;
 
@@ -27,6 +28,7 @@ import com.squareup.picasso.Picasso;
 import com.twitter.sdk.android.core.models.MediaEntity;
 import com.twitter.sdk.android.tweetui.internal.GalleryImageView;
 import com.twitter.sdk.android.tweetui.internal.SwipeToDismissTouchListener;
+import com.twitter.sdk.android.tweetui.internal.TweetMediaUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -65,7 +67,17 @@ class GalleryAdapter extends PagerAdapter {
         container.addView(root);
 
         final MediaEntity entity = items.get(position);
-        Picasso.with(context).load(entity.mediaUrlHttps).into(root);
+        final DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        final String imageUrl = TweetMediaUtils.getFitImageUrl(entity, metrics.widthPixels,
+                metrics.heightPixels);
+        if (imageUrl != null) {
+            // A variant that fills the screen, the large variant is loaded once zoomed in
+            final String largeImageUrl = TweetMediaUtils.getLargeImageUrl(entity);
+            root.setZoomedImageUrl(imageUrl.equals(largeImageUrl) ? null : largeImageUrl);
+            Picasso.with(context).load(imageUrl).into(root);
+        } else {
+            Picasso.with(context).load(entity.mediaUrlHttps).into(root);
+        }
 
         return root;
     }
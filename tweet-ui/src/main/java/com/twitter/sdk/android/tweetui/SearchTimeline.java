@@ -69,7 +69,7 @@ public class SearchTimeline extends BaseTimeline implements Timeline<Tweet> {
      */
     @Override
     public void next(Long sinceId, Callback<TimelineResult<Tweet>> cb) {
-        createSearchRequest(sinceId, null).enqueue(new SearchCallback(cb));
+        enqueueNext(createSearchRequest(sinceId, null), new SearchCallback(cb));
     }
 
     /**
@@ -82,7 +82,7 @@ public class SearchTimeline extends BaseTimeline implements Timeline<Tweet> {
         // api quirk: search api provides results that are inclusive of the maxId iff
         // FILTER_RETWEETS is added to the query (which we currently always add), decrement the
         // maxId to get exclusive results
-        createSearchRequest(null, decrementMaxId(maxId)).enqueue(new SearchCallback(cb));
+        enqueuePrevious(createSearchRequest(null, decrementMaxId(maxId)), new SearchCallback(cb));
     }
 
     @Override
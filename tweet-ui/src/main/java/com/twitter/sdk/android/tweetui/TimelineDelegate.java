@@ -41,6 +41,14 @@ class TimelineDelegate<T extends Identifiable> {
     final DataSetObservable listAdapterObservable;
     final TimelineStateHolder timelineStateHolder;
     List<T> itemList;
+    OnItemsReceivedListener<T> onItemsReceivedListener;
+
+    /**
+     * Listener for the pages of items received from the timeline.
+     */
+    interface OnItemsReceivedListener<T> {
+        void onItemsReceived(List<T> items);
+    }
 
     /**
      * Constructs a TimelineDelegate with a timeline for requesting data.
@@ -111,6 +119,20 @@ class TimelineDelegate<T extends Identifiable> {
         return timeline;
     }
 
+    /**
+     * Sets the listener which is called with each page of items received, before the attached
+     * observers are notified.
+     */
+    void setOnItemsReceivedListener(OnItemsReceivedListener<T> onItemsReceivedListener) {
+        this.onItemsReceivedListener = onItemsReceivedListener;
+    }
+
+    void notifyItemsReceived(List<T> items) {
+        if (onItemsReceivedListener != null) {
+            onItemsReceivedListener.onItemsReceived(items);
+        }
+    }
+
     /**
      * Gets the data item associated with the specified position in the data set.
      * @param position The position of the item within the adapter's data set.
@@ -240,6 +262,7 @@ class TimelineDelegate<T extends Identifiable> {
                 final ArrayList<T> receivedItems = new ArrayList<>(result.getData().getItems());
                 receivedItems.addAll(itemList);
                 itemList = receivedItems;
+                notifyItemsReceived(result.getData().getItems());
                 notifyDataSetChanged();
                 timelineStateHolder.setNextCursor(result.getData().getTimelineCursor());
             }
@@ -282,6 +305,7 @@ class TimelineDelegate<T extends Identifiable> {
         public void success(Result<TimelineResult<T>> result) {
             if (result.getData().getItems().size() > 0) {
                 itemList.addAll(result.getData().getItems());
+                notifyItemsReceived(result.getData().getItems());
                 notifyDataSetChanged();
                 timelineStateHolder.setPreviousCursor(result.getData().getTimelineCursor());
             }
@@ -29,6 +29,8 @@ import com.twitter.sdk.android.core.TwitterAuthException;
 import com.twitter.sdk.android.core.TwitterCore;
 import com.twitter.sdk.android.core.TwitterException;
 import com.twitter.sdk.android.core.TwitterSession;
+import com.twitter.sdk.android.core.internal.network.RequestPriority;
+import com.twitter.sdk.android.core.internal.network.RequestScheduler;
 import com.twitter.sdk.android.core.models.Tweet;
 
 import java.util.List;
@@ -44,6 +46,7 @@ class TweetRepository {
     private final TwitterCore twitterCore;
     private final Handler mainHandler;
     private final SessionManager<TwitterSession> userSessionManagers;
+    private final RequestScheduler requestScheduler;
 
     // leave this package accessible for testing
     final LruCache<Long, Tweet> tweetCache;
@@ -59,6 +62,7 @@ class TweetRepository {
         this.twitterCore = twitterCore;
         this.mainHandler = mainHandler;
         this.userSessionManagers = userSessionManagers;
+        this.requestScheduler = RequestScheduler.getInstance();
         tweetCache = new LruCache<>(DEFAULT_CACHE_SIZE);
         formatCache = new LruCache<>(DEFAULT_CACHE_SIZE);
     }
@@ -102,8 +106,8 @@ class TweetRepository {
         getUserSession(new LoggingCallback<TwitterSession>(cb, Twitter.getLogger()) {
             @Override
             public void success(Result<TwitterSession> result) {
-                twitterCore.getApiClient(result.getData()).getFavoriteService().create(tweetId, false)
-                        .enqueue(cb);
+                requestScheduler.enqueue(twitterCore.getApiClient(result.getData())
+                        .getFavoriteService().create(tweetId, false), RequestPriority.IMMEDIATE, cb);
             }
         });
     }
@@ -112,8 +116,8 @@ class TweetRepository {
         getUserSession(new LoggingCallback<TwitterSession>(cb, Twitter.getLogger()) {
             @Override
             public void success(Result<TwitterSession> result) {
-                twitterCore.getApiClient(result.getData()).getFavoriteService().destroy(tweetId, false)
-                        .enqueue(cb);
+                requestScheduler.enqueue(twitterCore.getApiClient(result.getData())
+                        .getFavoriteService().destroy(tweetId, false), RequestPriority.IMMEDIATE, cb);
             }
         });
     }
@@ -122,8 +126,8 @@ class TweetRepository {
         getUserSession(new LoggingCallback<TwitterSession>(cb, Twitter.getLogger()) {
             @Override
             public void success(Result<TwitterSession> result) {
-                twitterCore.getApiClient(result.getData()).getStatusesService().retweet(tweetId, false)
-                        .enqueue(cb);
+                requestScheduler.enqueue(twitterCore.getApiClient(result.getData())
+                        .getStatusesService().retweet(tweetId, false), RequestPriority.IMMEDIATE, cb);
             }
         });
     }
@@ -132,8 +136,8 @@ class TweetRepository {
         getUserSession(new LoggingCallback<TwitterSession>(cb, Twitter.getLogger()) {
             @Override
             public void success(Result<TwitterSession> result) {
-                twitterCore.getApiClient(result.getData()).getStatusesService().unretweet(tweetId, false)
-                        .enqueue(cb);
+                requestScheduler.enqueue(twitterCore.getApiClient(result.getData())
+                        .getStatusesService().unretweet(tweetId, false), RequestPriority.IMMEDIATE, cb);
             }
         });
     }
@@ -162,8 +166,9 @@ class TweetRepository {
             return;
         }
 
-        twitterCore.getApiClient().getStatusesService()
-                .show(tweetId, null, null, null).enqueue(new SingleTweetCallback(cb));
+        requestScheduler.enqueue(twitterCore.getApiClient().getStatusesService()
+                .show(tweetId, null, null, null), RequestPriority.VISIBLE,
+                new SingleTweetCallback(cb));
     }
 
     /**
@@ -175,8 +180,9 @@ class TweetRepository {
      */
     void loadTweets(final List<Long> tweetIds, final Callback<List<Tweet>> cb) {
         final String commaSepIds = TextUtils.join(",", tweetIds);
-        twitterCore.getApiClient().getStatusesService().lookup(commaSepIds, null, null, null)
-                .enqueue(new MultiTweetsCallback(tweetIds, cb));
+        requestScheduler.enqueue(twitterCore.getApiClient().getStatusesService()
+                .lookup(commaSepIds, null, null, null), RequestPriority.VISIBLE,
+                new MultiTweetsCallback(tweetIds, cb));
     }
 
     /**
@@ -65,6 +65,7 @@ public class TweetTimelineListAdapter extends TimelineListAdapter<Tweet> {
         this.styleResId = styleResId;
         this.setActionCallback(new ReplaceTweetCallback(delegate, cb));
         this.setTweetUi(tweetUi);
+        delegate.setOnItemsReceivedListener(new AvatarPrefetcher(context, tweetUi));
 
         scribeTimelineImpression();
     }
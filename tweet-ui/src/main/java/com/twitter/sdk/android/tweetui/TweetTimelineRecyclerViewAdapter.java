@@ -74,6 +74,7 @@ public class TweetTimelineRecyclerViewAdapter extends
         this(context, timelineDelegate, styleResId);
         setActionCallback(new ReplaceTweetCallback(timelineDelegate, cb));
         this.tweetUi = tweetUi;
+        timelineDelegate.setOnItemsReceivedListener(new AvatarPrefetcher(context, tweetUi));
         scribeTimelineImpression();
     }
 
@@ -28,11 +28,14 @@ import com.twitter.sdk.android.core.SessionManager;
 import com.twitter.sdk.android.core.Twitter;
 import com.twitter.sdk.android.core.TwitterCore;
 import com.twitter.sdk.android.core.TwitterSession;
+import com.twitter.sdk.android.core.internal.StagedInitializer;
 import com.twitter.sdk.android.core.internal.scribe.DefaultScribeClient;
 import com.twitter.sdk.android.core.internal.scribe.EventNamespace;
-import com.twitter.sdk.android.core.internal.scribe.ScribeConfig;
+import com.twitter.sdk.android.core.internal.scribe.PendingScribeEvents;
 import com.twitter.sdk.android.core.internal.scribe.ScribeItem;
+import com.twitter.sdk.android.core.internal.scribe.TwitterCoreScribeClientHolder;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -47,11 +50,12 @@ public class TweetUi {
 
     SessionManager<TwitterSession> sessionManager;
     GuestSessionProvider guestSessionProvider;
-    DefaultScribeClient scribeClient;
+    volatile DefaultScribeClient scribeClient;
+    final PendingScribeEvents pendingScribeEvents = new PendingScribeEvents();
     Context context;
 
-    private TweetRepository tweetRepository;
-    private Picasso imageLoader;
+    private volatile TweetRepository tweetRepository;
+    private volatile Picasso imageLoader;
 
     public static TweetUi getInstance() {
         if (instance == null) {
@@ -70,10 +74,10 @@ public class TweetUi {
         context = Twitter.getInstance().getContext(getIdentifier());
         sessionManager = twitterCore.getSessionManager();
         guestSessionProvider = twitterCore.getGuestSessionProvider();
-        tweetRepository = new TweetRepository(new Handler(Looper.getMainLooper()),
-                twitterCore.getSessionManager());
-        imageLoader = Picasso.with(Twitter.getInstance().getContext(getIdentifier()));
-        setUpScribeClient();
+
+        final StagedInitializer initializer = Twitter.getInstance().getInitializer();
+        initializer.addDeferredStage("TweetUi.scribe", this::setUpScribeClient);
+        initializer.addDeferredStage("TweetUi.imageLoader", this::getImageLoader);
     }
 
     public String getIdentifier() {
@@ -85,39 +89,61 @@ public class TweetUi {
     }
 
     private void setUpScribeClient() {
-        final ScribeConfig config =
-                DefaultScribeClient.getScribeConfig(KIT_SCRIBE_NAME, getVersion());
-        scribeClient = new DefaultScribeClient(context, sessionManager,
-                guestSessionProvider, Twitter.getInstance().getIdManager(), config);
+        final DefaultScribeClient client = TwitterCoreScribeClientHolder.getScribeClient(context,
+                KIT_SCRIBE_NAME, getVersion());
+        pendingScribeEvents.setScribeClient(client);
+        scribeClient = client;
     }
 
     void scribe(EventNamespace... namespaces) {
-        if (scribeClient == null) return;
-
         for (EventNamespace ns : namespaces) {
-            scribeClient.scribe(ns);
+            scribe(ns, Collections.emptyList());
         }
     }
 
     void scribe(EventNamespace ns, List<ScribeItem> items) {
-        if (scribeClient == null) return;
+        final DefaultScribeClient client = scribeClient;
+        if (client == null) {
+            // Not set up yet, scribed once it is.
+            pendingScribeEvents.scribe(ns, items);
+            return;
+        }
 
-        scribeClient.scribe(ns, items);
+        client.scribe(ns, items);
     }
 
     TweetRepository getTweetRepository() {
+        if (tweetRepository == null) {
+            createTweetRepository();
+        }
         return tweetRepository;
     }
 
+    private synchronized void createTweetRepository() {
+        if (tweetRepository == null) {
+            tweetRepository = new TweetRepository(new Handler(Looper.getMainLooper()),
+                    sessionManager);
+        }
+    }
+
     // Testing purposes only
     void setTweetRepository(TweetRepository tweetRepository) {
         this.tweetRepository = tweetRepository;
     }
 
     public Picasso getImageLoader() {
+        if (imageLoader == null) {
+            createImageLoader();
+        }
         return imageLoader;
     }
 
+    private synchronized void createImageLoader() {
+        if (imageLoader == null) {
+            imageLoader = Picasso.with(context);
+        }
+    }
+
     // Testing purposes only
     void setImageLoader(Picasso imageLoader) {
         this.imageLoader = imageLoader;
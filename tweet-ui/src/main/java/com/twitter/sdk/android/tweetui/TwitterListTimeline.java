@@ -57,7 +57,7 @@ public class TwitterListTimeline extends BaseTimeline implements Timeline<Tweet>
      */
     @Override
     public void next(Long sinceId, Callback<TimelineResult<Tweet>> cb) {
-        createListTimelineRequest(sinceId, null).enqueue(new TweetsCallback(cb));
+        enqueueNext(createListTimelineRequest(sinceId, null), new TweetsCallback(cb));
     }
 
     /**
@@ -69,7 +69,8 @@ public class TwitterListTimeline extends BaseTimeline implements Timeline<Tweet>
     public void previous(Long maxId, Callback<TimelineResult<Tweet>> cb) {
         // lists/statuses api provides results which are inclusive of the maxId, decrement the
         // maxId to get exclusive results
-        createListTimelineRequest(null, decrementMaxId(maxId)).enqueue(new TweetsCallback(cb));
+        enqueuePrevious(createListTimelineRequest(null, decrementMaxId(maxId)),
+                new TweetsCallback(cb));
     }
 
     Call<List<Tweet>> createListTimelineRequest(final Long sinceId, final Long maxId) {
@@ -57,7 +57,7 @@ public class UserTimeline extends BaseTimeline implements Timeline<Tweet> {
      */
     @Override
     public void next(Long sinceId, Callback<TimelineResult<Tweet>> cb) {
-        createUserTimelineRequest(sinceId, null).enqueue(new TweetsCallback(cb));
+        enqueueNext(createUserTimelineRequest(sinceId, null), new TweetsCallback(cb));
     }
 
     /**
@@ -69,7 +69,8 @@ public class UserTimeline extends BaseTimeline implements Timeline<Tweet> {
     public void previous(Long maxId, Callback<TimelineResult<Tweet>> cb) {
         // user timeline api provides results which are inclusive, decrement the maxId to get
         // exclusive results
-        createUserTimelineRequest(null, decrementMaxId(maxId)).enqueue(new TweetsCallback(cb));
+        enqueuePrevious(createUserTimelineRequest(null, decrementMaxId(maxId)),
+                new TweetsCallback(cb));
     }
 
     @Override
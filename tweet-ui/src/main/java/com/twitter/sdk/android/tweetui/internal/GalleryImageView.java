@@ -31,6 +31,8 @@ import com.squareup.picasso.Target;
 public class GalleryImageView extends FrameLayout implements Target {
     final MultiTouchImageView imageView;
     final ProgressBar progressBar;
+    String zoomedImageUrl;
+    boolean imageLoaded;
 
     public GalleryImageView(Context context) {
         this(context, new MultiTouchImageView(context), new ProgressBar(context));
@@ -59,10 +61,28 @@ public class GalleryImageView extends FrameLayout implements Target {
         imageView.setOnTouchListener(listener);
     }
 
+    /**
+     * Sets the url of a larger variant of the image, which is loaded when the image is zoomed in.
+     */
+    public void setZoomedImageUrl(String zoomedImageUrl) {
+        this.zoomedImageUrl = zoomedImageUrl;
+        imageView.setOnZoomListener(zoomedImageUrl != null ? this::loadZoomedImage : null);
+    }
+
+    void loadZoomedImage() {
+        if (zoomedImageUrl != null && imageLoaded) {
+            final String url = zoomedImageUrl;
+            zoomedImageUrl = null;
+            imageView.setOnZoomListener(null);
+            Picasso.with(getContext()).load(url).into(this);
+        }
+    }
+
     @Override
     public void onBitmapLoaded(Bitmap bitmap, Picasso.LoadedFrom from) {
         imageView.setImageBitmap(bitmap);
         progressBar.setVisibility(View.GONE);
+        imageLoaded = true;
     }
 
     @Override
@@ -72,6 +92,10 @@ public class GalleryImageView extends FrameLayout implements Target {
 
     @Override
     public void onPrepareLoad(Drawable placeHolderDrawable) {
+        if (imageLoaded) {
+            // Keep showing the current image while a larger variant loads
+            return;
+        }
         imageView.setImageResource(android.R.color.transparent);
         progressBar.setVisibility(View.VISIBLE);
     }
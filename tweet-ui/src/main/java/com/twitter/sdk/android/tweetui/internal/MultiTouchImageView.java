@@ -49,6 +49,14 @@ public class MultiTouchImageView extends ImageView
     final float[] matrixValues = new float[9];
 
     boolean allowIntercept;
+    OnZoomListener onZoomListener;
+
+    public interface OnZoomListener {
+        /**
+         * Called when the image is zoomed in beyond its initial scale.
+         */
+        void onZoom();
+    }
 
     public MultiTouchImageView(Context context) {
         this(context, null);
@@ -76,6 +84,8 @@ public class MultiTouchImageView extends ImageView
                 if (getScale() < MINIMUM_SCALE_FACTOR) {
                     reset();
                     setImageMatrix();
+                } else if (getScale() > MINIMUM_SCALE_FACTOR) {
+                    notifyZoom();
                 }
             }
         });
@@ -100,12 +110,23 @@ public class MultiTouchImageView extends ImageView
                     animateScale(getScale(), MINIMUM_SCALE_FACTOR, e.getX(), e.getY());
                 } else {
                     animateScale(getScale(), DOUBLE_TAP_SCALE_FACTOR, e.getX(), e.getY());
+                    notifyZoom();
                 }
                 return true;
             }
         });
     }
 
+    public void setOnZoomListener(OnZoomListener onZoomListener) {
+        this.onZoomListener = onZoomListener;
+    }
+
+    void notifyZoom() {
+        if (onZoomListener != null) {
+            onZoomListener.onZoom();
+        }
+    }
+
     boolean isInitializationComplete() {
         final Drawable drawable = getDrawable();
         return drawable != null && drawable.getIntrinsicWidth() > 0;
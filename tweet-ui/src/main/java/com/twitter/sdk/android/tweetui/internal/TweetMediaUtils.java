@@ -33,6 +33,13 @@ public final class TweetMediaUtils {
     private static final String CONTENT_TYPE_MP4 = "video/mp4";
     private static final String CONTENT_TYPE_HLS = "application/x-mpegURL";
     private static final int LOOP_VIDEO_IN_MILLIS = 6500;
+    static final String IMAGE_SIZE_THUMB = "thumb";
+    static final String IMAGE_SIZE_SMALL = "small";
+    static final String IMAGE_SIZE_MEDIUM = "medium";
+    static final String IMAGE_SIZE_LARGE = "large";
+    private static final String RESIZE_CROP = "crop";
+    private static final String IMAGE_NAME_PARAM = "name=";
+    private static final float CROP_ASPECT_RATIO_TOLERANCE = 0.1f;
 
     private TweetMediaUtils() {
     }
@@ -167,4 +174,89 @@ public final class TweetMediaUtils {
 
         return entities;
     }
+
+    /**
+     * Returns the url of the smallest variant of the photo that covers a view of the given size in
+     * pixels, or of the large variant if none does. Variants that were cropped to a different
+     * shape than the view are skipped, since center cropping them would cut off too much.
+     *
+     * @return the url of the variant, or null if the photo has no size information
+     */
+    public static String getSizedImageUrl(MediaEntity mediaEntity, int width, int height) {
+        final MediaEntity.Sizes sizes = mediaEntity.sizes;
+        if (sizes == null) {
+            return null;
+        }
+
+        if (covers(sizes.thumb, width, height)) {
+            return getImageVariantUrl(mediaEntity.mediaUrlHttps, IMAGE_SIZE_THUMB);
+        } else if (covers(sizes.small, width, height)) {
+            return getImageVariantUrl(mediaEntity.mediaUrlHttps, IMAGE_SIZE_SMALL);
+        } else if (covers(sizes.medium, width, height)) {
+            return getImageVariantUrl(mediaEntity.mediaUrlHttps, IMAGE_SIZE_MEDIUM);
+        }
+        return getLargeImageUrl(mediaEntity);
+    }
+
+    /**
+     * Same as {@link #getSizedImageUrl(MediaEntity, int, int)}, for a photo that is scaled to fit
+     * within the given size instead of being cropped to it.
+     */
+    public static String getFitImageUrl(MediaEntity mediaEntity, int maxWidth, int maxHeight) {
+        final MediaEntity.Sizes sizes = mediaEntity.sizes;
+        final MediaEntity.Size size = sizes == null ? null
+                : sizes.large != null ? sizes.large : sizes.medium;
+        if (size == null || size.w <= 0 || size.h <= 0) {
+            return getSizedImageUrl(mediaEntity, maxWidth, maxHeight);
+        }
+
+        final float scale = Math.min((float) maxWidth / size.w, (float) maxHeight / size.h);
+        return getSizedImageUrl(mediaEntity, Math.round(size.w * scale),
+                Math.round(size.h * scale));
+    }
+
+    public static String getLargeImageUrl(MediaEntity mediaEntity) {
+        return getImageVariantUrl(mediaEntity.mediaUrlHttps, IMAGE_SIZE_LARGE);
+    }
+
+    static boolean covers(MediaEntity.Size size, int width, int height) {
+        if (size == null || size.w < width || size.h < height) {
+            return false;
+        }
+        if (RESIZE_CROP.equals(size.resize) && width > 0 && height > 0 && size.h > 0) {
+            final float viewAspectRatio = (float) width / height;
+            final float sizeAspectRatio = (float) size.w / size.h;
+            return Math.abs(viewAspectRatio - sizeAspectRatio)
+                    <= CROP_ASPECT_RATIO_TOLERANCE * viewAspectRatio;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the url of a named variant of a Twitter image, either in the legacy
+     * {@code url:small} form or, for urls with a query, in the {@code ?format=jpg&name=small} form.
+     */
+    static String getImageVariantUrl(String url, String sizeName) {
+        if (url == null) {
+            return null;
+        }
+
+        final int queryStart = url.indexOf('?');
+        if (queryStart < 0) {
+            return url + ":" + sizeName;
+        }
+
+        int nameStart = url.startsWith(IMAGE_NAME_PARAM, queryStart + 1) ? queryStart + 1
+                : url.indexOf("&" + IMAGE_NAME_PARAM, queryStart);
+        if (nameStart < 0) {
+            return url + "&" + IMAGE_NAME_PARAM + sizeName;
+        }
+        if (url.charAt(nameStart) == '&') {
+            nameStart++;
+        }
+        final int valueStart = nameStart + IMAGE_NAME_PARAM.length();
+        final int valueEnd = url.indexOf('&', valueStart);
+        return url.substring(0, valueStart) + sizeName
+                + (valueEnd < 0 ? "" : url.substring(valueEnd));
+    }
 }
@@ -60,6 +60,7 @@ public class TweetMediaView extends ViewGroup implements View.OnClickListener {
     private final RectF rect = new RectF();
     private final int mediaDividerSize;
     private int imageCount;
+    private boolean mediaImagesPending;
     final float [] radii = new float[8];
     int mediaBgColor = Color.BLACK;
     int photoErrorResId;
@@ -114,6 +115,7 @@ public class TweetMediaView extends ViewGroup implements View.OnClickListener {
     protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
         if (imageCount > 0) {
             layoutImages();
+            loadMediaImages();
         }
     }
 
@@ -330,6 +332,7 @@ public class TweetMediaView extends ViewGroup implements View.OnClickListener {
             }
         }
         imageCount = 0;
+        mediaImagesPending = false;
     }
 
     void initializeImageViews(List<MediaEntity> mediaEntities) {
@@ -340,9 +343,29 @@ public class TweetMediaView extends ViewGroup implements View.OnClickListener {
 
             final MediaEntity mediaEntity = mediaEntities.get(index);
             setAltText(imageView, mediaEntity.altText);
-            setMediaImage(imageView, getSizedImagePath(mediaEntity));
             setOverlayImage(imageView, TweetMediaUtils.isVideoType(mediaEntity));
         }
+        // The image variant depends on the size of the image views, so wait for layout.
+        mediaImagesPending = true;
+    }
+
+    void loadMediaImages() {
+        if (!mediaImagesPending) {
+            return;
+        }
+        for (int index = 0; index < imageCount; index++) {
+            final ImageView imageView = imageViews[index];
+            if (imageView.getWidth() == 0 || imageView.getHeight() == 0) {
+                return;
+            }
+        }
+
+        mediaImagesPending = false;
+        for (int index = 0; index < imageCount; index++) {
+            final ImageView imageView = imageViews[index];
+            setMediaImage(imageView, getSizedImagePath(mediaEntities.get(index),
+                    imageView.getWidth(), imageView.getHeight()));
+        }
     }
 
     void initializeImageViews(Card card) {
@@ -377,7 +400,11 @@ public class TweetMediaView extends ViewGroup implements View.OnClickListener {
     }
 
 
-    String getSizedImagePath(MediaEntity mediaEntity) {
+    String getSizedImagePath(MediaEntity mediaEntity, int width, int height) {
+        final String sizedImagePath = TweetMediaUtils.getSizedImageUrl(mediaEntity, width, height);
+        if (sizedImagePath != null) {
+            return sizedImagePath;
+        }
         if (imageCount > 1) {
            return mediaEntity.mediaUrlHttps + SIZED_IMAGE_SMALL;
         }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.tweetui;
+
+import com.squareup.picasso.Picasso;
+import com.squareup.picasso.RequestCreator;
+import com.twitter.sdk.android.core.internal.AvatarSize;
+import com.twitter.sdk.android.core.models.Tweet;
+import com.twitter.sdk.android.core.models.TweetBuilder;
+import com.twitter.sdk.android.core.models.User;
+import com.twitter.sdk.android.core.models.UserBuilder;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+public class AvatarPrefetcherTest {
+    private static final String TEST_AVATAR_URL_FORMAT =
+            "https://pbs.twimg.com/profile_images/%d/avatar_normal.png";
+
+    private TweetUi mockTweetUi;
+    private Picasso mockImageLoader;
+    private RequestCreator mockRequestCreator;
+    private AvatarPrefetcher prefetcher;
+
+    @Before
+    public void setUp() {
+        mockTweetUi = mock(TweetUi.class);
+        mockImageLoader = mock(Picasso.class);
+        mockRequestCreator = mock(RequestCreator.class);
+        when(mockTweetUi.getImageLoader()).thenReturn(mockImageLoader);
+        when(mockImageLoader.load(anyString())).thenReturn(mockRequestCreator);
+
+        prefetcher = new AvatarPrefetcher(mockTweetUi, AvatarSize.BIGGER, 2);
+    }
+
+    @Test
+    public void testOnItemsReceived_prefetchesSizedAvatar() {
+        prefetcher.onItemsReceived(Collections.singletonList(createTweet(1L)));
+
+        verify(mockImageLoader).load("https://pbs.twimg.com/profile_images/1/avatar_bigger.png");
+        verify(mockRequestCreator).fetch();
+    }
+
+    @Test
+    public void testOnItemsReceived_prefetchesRepeatedAuthorOnce() {
+        prefetcher.onItemsReceived(Arrays.asList(createTweet(1L), createTweet(1L)));
+        prefetcher.onItemsReceived(Collections.singletonList(createTweet(1L)));
+
+        verify(mockRequestCreator, times(1)).fetch();
+    }
+
+    @Test
+    public void testOnItemsReceived_limitsPrefetchCount() {
+        prefetcher.onItemsReceived(Arrays.asList(createTweet(1L), createTweet(2L),
+                createTweet(3L)));
+
+        verify(mockRequestCreator, times(2)).fetch();
+    }
+
+    @Test
+    public void testOnItemsReceived_usesRetweetedAuthor() {
+        final Tweet retweet = new TweetBuilder().setRetweetedStatus(createTweet(2L)).build();
+
+        prefetcher.onItemsReceived(Collections.singletonList(retweet));
+
+        verify(mockImageLoader).load("https://pbs.twimg.com/profile_images/2/avatar_bigger.png");
+    }
+
+    @Test
+    public void testOnItemsReceived_withoutImageLoader() {
+        when(mockTweetUi.getImageLoader()).thenReturn(null);
+
+        prefetcher.onItemsReceived(Collections.singletonList(createTweet(1L)));
+
+        verify(mockImageLoader, never()).load(anyString());
+    }
+
+    private Tweet createTweet(long userId) {
+        final User user = new UserBuilder()
+                .setId(userId)
+                .setProfileImageUrlHttps(String.format(TEST_AVATAR_URL_FORMAT, userId))
+                .build();
+        return new TweetBuilder().setUser(user).build();
+    }
+}
@@ -300,6 +300,38 @@ public class TimelineDelegateTest {
         verify(mockObservable, times(2)).notifyChanged();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testNext_notifiesItemsReceived() {
+        final TimelineDelegate.OnItemsReceivedListener<TestItem> listener =
+                mock(TimelineDelegate.OnItemsReceivedListener.class);
+        final Timeline<TestItem> fakeTimeline = new FakeItemTimeline(NUM_ITEMS, ANY_POSITION,
+                ANY_POSITION);
+        delegate = new TimelineDelegate<>(fakeTimeline, mockObservable, null);
+        delegate.setOnItemsReceivedListener(listener);
+        delegate.next(null);
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(listener).onItemsReceived(captor.capture());
+        Assert.assertThat(captor.getValue().size(), is(NUM_ITEMS));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPrevious_notifiesItemsReceived() {
+        final TimelineDelegate.OnItemsReceivedListener<TestItem> listener =
+                mock(TimelineDelegate.OnItemsReceivedListener.class);
+        final Timeline<TestItem> fakeTimeline = new FakeItemTimeline(NUM_ITEMS, ANY_POSITION,
+                ANY_POSITION);
+        delegate = new TimelineDelegate<>(fakeTimeline, mockObservable, null);
+        delegate.setOnItemsReceivedListener(listener);
+        delegate.previous();
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(listener).onItemsReceived(captor.capture());
+        Assert.assertThat(captor.getValue().size(), is(NUM_ITEMS));
+    }
+
     @Test
     public void testPrevious_doesNotAddItemsAtEndOfTimeline() {
         // when a Timeline successfully returns an empty set of items, its end has been reached
@@ -35,6 +35,7 @@ import org.robolectric.RuntimeEnvironment;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -109,4 +110,29 @@ public class GalleryImageViewTest {
         verify(subject.imageView).setImageResource(android.R.color.transparent);
         verify(subject.progressBar).setVisibility(View.VISIBLE);
     }
+
+    @Test
+    public void testOnPrepareLoad_keepsLoadedImage() {
+        subject.onBitmapLoaded(bitmap, null);
+        reset(subject.imageView, subject.progressBar);
+
+        subject.onPrepareLoad(drawable);
+
+        verify(subject.imageView, never()).setImageResource(android.R.color.transparent);
+        verify(subject.progressBar, never()).setVisibility(View.VISIBLE);
+    }
+
+    @Test
+    public void testSetZoomedImageUrl() {
+        subject.setZoomedImageUrl("https://pbs.twimg.com/media/image.jpg:large");
+
+        verify(subject.imageView).setOnZoomListener(any(MultiTouchImageView.OnZoomListener.class));
+    }
+
+    @Test
+    public void testSetZoomedImageUrl_null() {
+        subject.setZoomedImageUrl(null);
+
+        Assert.assertThat(subject.imageView.onZoomListener, nullValue());
+    }
 }
@@ -44,6 +44,7 @@ public class TweetMediaUtilsTest {
     private static final String TEST_CONTENT_TYPE_MP4 = "video/mp4";
     private static final String TEST_CONTENT_TYPE_HLS = "application/x-mpegURL";
     private static final String TEST_CONTENT_TYPE_DASH = "video/dash+xml";
+    private static final String TEST_IMAGE_URL = "https://pbs.twimg.com/media/image.jpg";
 
     @Test
     public void testGetPhotoEntity_nullEntities() {
@@ -342,4 +343,68 @@ public class TweetMediaUtilsTest {
                 TEST_MEDIA_TYPE_ANIMATED_GIF);
         Assert.assertThat(TweetMediaUtils.showVideoControls(entity), is(false));
     }
+
+    @Test
+    public void testGetSizedImageUrl_smallestCoveringVariant() {
+        final MediaEntity entity = createPhotoEntityWithAllSizes();
+
+        Assert.assertThat(TweetMediaUtils.getSizedImageUrl(entity, 150, 150),
+                is(TEST_IMAGE_URL + ":thumb"));
+        Assert.assertThat(TweetMediaUtils.getSizedImageUrl(entity, 300, 150),
+                is(TEST_IMAGE_URL + ":small"));
+        Assert.assertThat(TweetMediaUtils.getSizedImageUrl(entity, 1000, 500),
+                is(TEST_IMAGE_URL + ":medium"));
+        Assert.assertThat(TweetMediaUtils.getSizedImageUrl(entity, 4000, 4000),
+                is(TEST_IMAGE_URL + ":large"));
+    }
+
+    @Test
+    public void testGetSizedImageUrl_skipsCropOfDifferentShape() {
+        final MediaEntity entity = createPhotoEntityWithAllSizes();
+
+        Assert.assertThat(TweetMediaUtils.getSizedImageUrl(entity, 140, 70),
+                is(TEST_IMAGE_URL + ":small"));
+    }
+
+    @Test
+    public void testGetSizedImageUrl_withoutSizes() {
+        final MediaEntity entity = TestFixtures.createMediaEntityWithPhoto(null);
+
+        Assert.assertThat(TweetMediaUtils.getSizedImageUrl(entity, 100, 100), nullValue());
+    }
+
+    @Test
+    public void testGetFitImageUrl() {
+        final MediaEntity entity = createPhotoEntityWithAllSizes();
+
+        // 2048x1024 fit into 1080x1920 is 1080x540
+        Assert.assertThat(TweetMediaUtils.getFitImageUrl(entity, 1080, 1920),
+                is(TEST_IMAGE_URL + ":medium"));
+    }
+
+    @Test
+    public void testGetImageVariantUrl() {
+        Assert.assertThat(TweetMediaUtils.getImageVariantUrl(TEST_IMAGE_URL, "small"),
+                is(TEST_IMAGE_URL + ":small"));
+        Assert.assertThat(TweetMediaUtils.getImageVariantUrl(
+                "https://pbs.twimg.com/media/image?format=jpg", "small"),
+                is("https://pbs.twimg.com/media/image?format=jpg&name=small"));
+        Assert.assertThat(TweetMediaUtils.getImageVariantUrl(
+                "https://pbs.twimg.com/media/image?format=jpg&name=medium&x=1", "small"),
+                is("https://pbs.twimg.com/media/image?format=jpg&name=small&x=1"));
+        Assert.assertThat(TweetMediaUtils.getImageVariantUrl(
+                "https://pbs.twimg.com/media/image?name=medium", "large"),
+                is("https://pbs.twimg.com/media/image?name=large"));
+        Assert.assertThat(TweetMediaUtils.getImageVariantUrl(null, "small"), nullValue());
+    }
+
+    private MediaEntity createPhotoEntityWithAllSizes() {
+        final MediaEntity.Sizes sizes = new MediaEntity.Sizes(
+                new MediaEntity.Size(150, 150, "crop"),
+                new MediaEntity.Size(680, 340, "fit"),
+                new MediaEntity.Size(1200, 600, "fit"),
+                new MediaEntity.Size(2048, 1024, "fit"));
+        return new MediaEntity("", "", "", 0, 0, 0L, null, null, TEST_IMAGE_URL, sizes, 0L, null,
+                TEST_MEDIA_TYPE_PHOTO, null, "");
+    }
 }
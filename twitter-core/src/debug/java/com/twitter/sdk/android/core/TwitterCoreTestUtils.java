@@ -17,14 +17,21 @@
 
 package com.twitter.sdk.android.core;
 
-import java.util.concurrent.ConcurrentHashMap;
-
 public final class TwitterCoreTestUtils {
 
     private TwitterCoreTestUtils() {}
 
+    /**
+     * @param apiClient the client returned for every user session
+     */
     public static TwitterCore createTwitterCore(TwitterAuthConfig authConfig,
-            ConcurrentHashMap<Session, TwitterApiClient> clients, TwitterApiClient guestClient) {
+            TwitterApiClient apiClient, TwitterApiClient guestClient) {
+        final ApiClientRegistry clients = new ApiClientRegistry() {
+            @Override
+            TwitterApiClient get(TwitterSession session, ClientFactory factory) {
+                return apiClient;
+            }
+        };
 
         TwitterCore.instance = new TwitterCore(authConfig, clients, guestClient);
         return TwitterCore.instance;
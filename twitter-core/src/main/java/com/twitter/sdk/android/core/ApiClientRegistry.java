@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the {@link TwitterApiClient} of each user session. Clients created by the SDK are held
+ * for the most recently used sessions only, once more than the maximum number of them are held
+ * the least recently used one is dropped. Clients added by the app are held until their session
+ * is released.
+ *
+ * Clients are handed out to the app, which may still hold them, so dropped clients are not shut
+ * down. They are left to be garbage collected once the app is done with them.
+ */
+class ApiClientRegistry {
+    static final int DEFAULT_MAX_CLIENTS = 8;
+
+    interface ClientFactory {
+        TwitterApiClient create(TwitterSession session);
+    }
+
+    private final LinkedHashMap<TwitterSession, TwitterApiClient> clients;
+    private final Map<TwitterSession, TwitterApiClient> customClients = new HashMap<>();
+
+    ApiClientRegistry() {
+        this(DEFAULT_MAX_CLIENTS);
+    }
+
+    ApiClientRegistry(final int maxClients) {
+        clients = new LinkedHashMap<TwitterSession, TwitterApiClient>(maxClients, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<TwitterSession, TwitterApiClient> eldest) {
+                return size() > maxClients;
+            }
+        };
+    }
+
+    /**
+     * @return the client of the session, creating it with the factory if there is none. Clients
+     * of earlier sessions of the same user are dropped.
+     */
+    TwitterApiClient get(TwitterSession session, ClientFactory factory) {
+        synchronized (this) {
+            final TwitterApiClient existing = getExisting(session);
+            if (existing != null) {
+                return existing;
+            }
+        }
+
+        // Building a client is slow, so it is done without holding the lock.
+        final TwitterApiClient created = factory.create(session);
+        final TwitterApiClient existing;
+        synchronized (this) {
+            existing = getExisting(session);
+            if (existing == null) {
+                removeClients(session.getId());
+                clients.put(session, created);
+                return created;
+            }
+        }
+        // Another thread added a client first. Ours was never handed out, so it can be shut down.
+        created.shutdown();
+        return existing;
+    }
+
+    /**
+     * Adds a client of the app if the session has none yet. Clients added by the app are never
+     * dropped to make room for other clients.
+     */
+    synchronized void putIfAbsent(TwitterSession session, TwitterApiClient client) {
+        if (getExisting(session) == null) {
+            customClients.put(session, client);
+        }
+    }
+
+    /**
+     * Drops the clients of the user.
+     */
+    synchronized void release(long userId) {
+        removeClients(userId);
+    }
+
+    synchronized int size() {
+        return clients.size() + customClients.size();
+    }
+
+    private synchronized TwitterApiClient getExisting(TwitterSession session) {
+        final TwitterApiClient customClient = customClients.get(session);
+        return customClient != null ? customClient : clients.get(session);
+    }
+
+    private void removeClients(long userId) {
+        removeClients(clients, userId);
+        removeClients(customClients, userId);
+    }
+
+    private static void removeClients(Map<TwitterSession, TwitterApiClient> clients,
+            long userId) {
+        final Iterator<TwitterSession> iterator = clients.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getId() == userId) {
+                iterator.remove();
+            }
+        }
+    }
+}
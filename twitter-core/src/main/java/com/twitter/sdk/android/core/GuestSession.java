@@ -17,12 +17,14 @@
 
 package com.twitter.sdk.android.core;
 
-import android.text.TextUtils;
-
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.twitter.sdk.android.core.internal.oauth.GuestAuthToken;
-import com.twitter.sdk.android.core.internal.persistence.SerializationStrategy;
+import com.twitter.sdk.android.core.internal.persistence.CompactSerializationStrategy;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 
 public class GuestSession extends Session<GuestAuthToken> {
     public static final long LOGGED_OUT_USER_ID = 0L;
@@ -36,40 +38,61 @@ public class GuestSession extends Session<GuestAuthToken> {
         super(authToken, LOGGED_OUT_USER_ID);
     }
 
-    public static class Serializer implements SerializationStrategy<GuestSession> {
+    public static class Serializer extends CompactSerializationStrategy<GuestSession> {
+        private static final int FORMAT_VERSION = 1;
 
-        private final Gson gson;
+        private Gson gson;
 
         public Serializer() {
-            this.gson = new GsonBuilder()
-                    .registerTypeAdapter(GuestAuthToken.class, new AuthTokenAdapter())
-                    .create();
+            super(FORMAT_VERSION);
         }
 
         @Override
-        public String serialize(GuestSession session) {
-            if (session != null && session.getAuthToken() != null) {
-                try {
-                    return gson.toJson(session);
-                } catch (Exception e) {
-                    Twitter.getLogger().d(TwitterCore.TAG,
-                            "Failed to serialize session " + e.getMessage());
-                }
-            }
-            return "";
+        protected boolean canWrite(GuestSession session) {
+            return session.getAuthToken() != null;
+        }
+
+        @Override
+        protected void write(GuestSession session, DataOutputStream out) throws IOException {
+            final GuestAuthToken authToken = session.getAuthToken();
+            writeString(out, authToken.getTokenType());
+            writeString(out, authToken.getAccessToken());
+            writeString(out, authToken.getGuestToken());
+            out.writeLong(authToken.getCreatedAt());
         }
 
         @Override
-        public GuestSession deserialize(String serializedSession) {
-            if (!TextUtils.isEmpty(serializedSession)) {
-                try {
-                    return gson.fromJson(serializedSession, GuestSession.class);
-                } catch (Exception e) {
-                    Twitter.getLogger().d(TwitterCore.TAG,
-                            "Failed to deserialize session " + e.getMessage());
-                }
+        protected GuestSession read(DataInputStream in) throws IOException {
+            final String tokenType = readString(in);
+            final String accessToken = readString(in);
+            final String guestToken = readString(in);
+            final long createdAt = in.readLong();
+            return new GuestSession(new GuestAuthToken(tokenType, accessToken, guestToken,
+                    createdAt));
+        }
+
+        @Override
+        protected GuestSession deserializeJson(String serializedSession) {
+            try {
+                return getGson().fromJson(serializedSession, GuestSession.class);
+            } catch (Exception e) {
+                Twitter.getLogger().d(TwitterCore.TAG,
+                        "Failed to deserialize session " + e.getMessage());
             }
             return null;
         }
+
+        /*
+         * Only sessions stored by earlier versions are read with Gson, so it is created on first
+         * use.
+         */
+        private synchronized Gson getGson() {
+            if (gson == null) {
+                gson = new GsonBuilder()
+                        .registerTypeAdapter(GuestAuthToken.class, new AuthTokenAdapter())
+                        .create();
+            }
+            return gson;
+        }
     }
 }
@@ -17,63 +17,144 @@
 
 package com.twitter.sdk.android.core;
 
+import com.twitter.sdk.android.core.internal.CurrentTimeProvider;
+import com.twitter.sdk.android.core.internal.SystemCurrentTimeProvider;
 import com.twitter.sdk.android.core.internal.oauth.GuestAuthToken;
 import com.twitter.sdk.android.core.internal.oauth.OAuth2Service;
 
 import java.util.concurrent.CountDownLatch;
 
 public class GuestSessionProvider {
+    /*
+     * After a renewal ahead of expiration fails, for example while offline, the next one is not
+     * attempted for this long. Otherwise every request in the expiring window would start one.
+     */
+    static final long FAILED_RENEWAL_COOLDOWN_MILLIS = 60 * 1000;
+
+    private static final PendingRefresh COMPLETED_REFRESH = new PendingRefresh(false);
+    static {
+        COMPLETED_REFRESH.latch.countDown();
+    }
+
     private final OAuth2Service oAuth2Service;
     private final SessionManager<GuestSession> sessionManager;
+    private final CurrentTimeProvider time;
+    private final Object refreshLock = new Object();
+    // Guarded by refreshLock, non-null while a guest token request is in flight.
+    private PendingRefresh pendingRefresh;
+    private volatile long lastFailedRenewal;
 
     public GuestSessionProvider(OAuth2Service oAuth2Service,
             SessionManager<GuestSession> sessionManager) {
+        this(oAuth2Service, sessionManager, new SystemCurrentTimeProvider());
+    }
+
+    GuestSessionProvider(OAuth2Service oAuth2Service, SessionManager<GuestSession> sessionManager,
+            CurrentTimeProvider time) {
         this.oAuth2Service = oAuth2Service;
         this.sessionManager = sessionManager;
+        this.time = time;
     }
 
-    public synchronized GuestSession getCurrentSession() {
+    public GuestSession getCurrentSession() {
         final GuestSession session = sessionManager.getActiveSession();
         if (isSessionValid(session)) {
+            if (session.getAuthToken().isExpiringSoon() && !isRenewalCoolingDown()) {
+                // Renew ahead of expiration, the current session remains usable meanwhile.
+                refreshToken(session, false);
+            }
             return session;
         }
 
-        refreshToken();
-
-        return sessionManager.getActiveSession();
+        return awaitRefresh(refreshToken(session, true));
     }
 
-    public synchronized GuestSession refreshCurrentSession(GuestSession expiredSession) {
+    public GuestSession refreshCurrentSession(GuestSession expiredSession) {
         final GuestSession session = sessionManager.getActiveSession();
         if (expiredSession != null && expiredSession.equals(session)) {
-            refreshToken();
+            return awaitRefresh(refreshToken(expiredSession, true));
         }
 
         return sessionManager.getActiveSession();
     }
 
-    void refreshToken() {
-        Twitter.getLogger().d("GuestSessionProvider", "Refreshing expired guest session.");
-        final CountDownLatch latch = new CountDownLatch(1);
+    /**
+     * Requests a new guest token unless a request is already in flight, in which case the caller
+     * is attached to the existing request.
+     *
+     * @param staleSession the session the caller wants replaced.
+     * @param required true if the caller has no usable session and the active session should be
+     *                 cleared when the request fails.
+     * @return the in flight refresh.
+     */
+    PendingRefresh refreshToken(GuestSession staleSession, boolean required) {
+        final PendingRefresh refresh;
+        synchronized (refreshLock) {
+            if (pendingRefresh != null) {
+                pendingRefresh.required |= required;
+                return pendingRefresh;
+            }
+            if (isSessionReplaced(staleSession)) {
+                // A refresh completed since the caller read the stale session.
+                return COMPLETED_REFRESH;
+            }
+            refresh = new PendingRefresh(required);
+            pendingRefresh = refresh;
+        }
+
+        Twitter.getLogger().d("GuestSessionProvider", "Refreshing guest session.");
         oAuth2Service.requestGuestAuthToken(new Callback<GuestAuthToken>() {
             @Override
             public void success(Result<GuestAuthToken> result) {
+                lastFailedRenewal = 0;
                 sessionManager.setActiveSession(new GuestSession(result.getData()));
-                latch.countDown();
+                complete(refresh);
             }
 
             @Override
             public void failure(TwitterException exception) {
-                sessionManager.clearSession(GuestSession.LOGGED_OUT_USER_ID);
-                latch.countDown();
+                if (refresh.required || !isSessionValid(sessionManager.getActiveSession())) {
+                    sessionManager.clearSession(GuestSession.LOGGED_OUT_USER_ID);
+                } else {
+                    lastFailedRenewal = time.getCurrentTimeMillis();
+                }
+                complete(refresh);
             }
         });
 
+        return refresh;
+    }
+
+    private void complete(PendingRefresh refresh) {
+        synchronized (refreshLock) {
+            if (pendingRefresh == refresh) {
+                pendingRefresh = null;
+            }
+        }
+        refresh.latch.countDown();
+    }
+
+    GuestSession awaitRefresh(PendingRefresh refresh) {
         try {
-            latch.await();
+            refresh.latch.await();
         } catch (InterruptedException e) {
-            sessionManager.clearSession(GuestSession.LOGGED_OUT_USER_ID);
+            // Other callers may still be waiting on the same request, leave the session alone.
+            Thread.currentThread().interrupt();
+            return null;
         }
+
+        return sessionManager.getActiveSession();
+    }
+
+    private boolean isRenewalCoolingDown() {
+        final long failed = lastFailedRenewal;
+        return failed != 0
+                && time.getCurrentTimeMillis() - failed < FAILED_RENEWAL_COOLDOWN_MILLIS;
+    }
+
+    private boolean isSessionReplaced(GuestSession staleSession) {
+        final GuestSession session = sessionManager.getActiveSession();
+        return isSessionValid(session) && !session.equals(staleSession);
     }
 
     boolean isSessionValid(GuestSession session) {
@@ -81,4 +162,13 @@ public class GuestSessionProvider {
                 && session.getAuthToken() != null
                 && !session.getAuthToken().isExpired();
     }
+
+    static class PendingRefresh {
+        final CountDownLatch latch = new CountDownLatch(1);
+        volatile boolean required;
+
+        PendingRefresh(boolean required) {
+            this.required = required;
+        }
+    }
 }
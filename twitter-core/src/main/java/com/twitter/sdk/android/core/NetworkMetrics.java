@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Aggregated network timings for requests made by the SDK, grouped by endpoint template such as
+ * {@code statuses/lookup}. Collection is disabled by default, while disabled the cost per request
+ * is a single volatile read.
+ */
+public class NetworkMetrics {
+    private static final NetworkMetrics INSTANCE = new NetworkMetrics();
+
+    /**
+     * Metrics recorded for each request.
+     */
+    public enum Metric {
+        /**
+         * DNS lookup time, in microseconds.
+         */
+        DNS,
+        /**
+         * Time to establish a connection including the TLS handshake, in microseconds.
+         */
+        CONNECT,
+        /**
+         * TLS handshake time, in microseconds.
+         */
+        TLS,
+        /**
+         * Time from sending the request headers to receiving the response headers, in
+         * microseconds.
+         */
+        TIME_TO_FIRST_BYTE,
+        /**
+         * Size of the response body, in bytes.
+         */
+        BODY_BYTES,
+        /**
+         * Time spent reading and decoding the response body with Gson, in microseconds.
+         */
+        DECODE
+    }
+
+    /**
+     * Receives every recorded value as it is recorded. Called on the thread that completed the
+     * request, implementations should return quickly.
+     */
+    public interface Sink {
+        void onMetric(String endpoint, Metric metric, long value);
+    }
+
+    private final ConcurrentHashMap<String, Histogram[]> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private volatile Sink sink;
+
+    /**
+     * Apps should use {@link TwitterCore#getNetworkMetrics()}.
+     */
+    public static NetworkMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    // Testing only
+    NetworkMetrics() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables collection. Requests that are already in flight are not affected.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @param sink the sink to push recorded values to, or null to only aggregate them.
+     */
+    public void setSink(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * @return the endpoint templates that have recorded values.
+     */
+    public Set<String> getEndpoints() {
+        return Collections.unmodifiableSet(new HashSet<>(endpoints.keySet()));
+    }
+
+    /**
+     * @return a snapshot of the values recorded for the endpoint and metric, or null if the
+     * endpoint has no recorded values.
+     */
+    public Histogram getHistogram(String endpoint, Metric metric) {
+        final Histogram[] histograms = endpoints.get(endpoint);
+        return histograms == null ? null : histograms[metric.ordinal()].copy();
+    }
+
+    /**
+     * Discards all recorded values.
+     */
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Records a value. Called by the SDK's HTTP clients, ignored while collection is disabled.
+     */
+    public void record(String endpoint, Metric metric, long value) {
+        if (!enabled) {
+            return;
+        }
+
+        Histogram[] histograms = endpoints.get(endpoint);
+        if (histograms == null) {
+            histograms = new Histogram[Metric.values().length];
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new Histogram();
+            }
+            final Histogram[] existing = endpoints.putIfAbsent(endpoint, histograms);
+            if (existing != null) {
+                histograms = existing;
+            }
+        }
+        histograms[metric.ordinal()].record(value);
+
+        final Sink currentSink = sink;
+        if (currentSink != null) {
+            currentSink.onMetric(endpoint, metric, value);
+        }
+    }
+
+    /**
+     * Lock free histogram with power of two buckets. Bucket 0 holds values less than 1, bucket n
+     * holds values from 2^(n-1) to 2^n - 1.
+     */
+    public static final class Histogram {
+        static final int BUCKET_COUNT = 40;
+
+        private final AtomicLongArray buckets;
+        private final AtomicLong count;
+        private final AtomicLong sum;
+
+        Histogram() {
+            buckets = new AtomicLongArray(BUCKET_COUNT);
+            count = new AtomicLong();
+            sum = new AtomicLong();
+        }
+
+        private Histogram(Histogram other) {
+            buckets = new AtomicLongArray(BUCKET_COUNT);
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets.set(i, other.buckets.get(i));
+            }
+            count = new AtomicLong(other.count.get());
+            sum = new AtomicLong(other.sum.get());
+        }
+
+        void record(long value) {
+            buckets.incrementAndGet(getBucket(value));
+            count.incrementAndGet();
+            sum.addAndGet(Math.max(0, value));
+        }
+
+        Histogram copy() {
+            return new Histogram(this);
+        }
+
+        static int getBucket(long value) {
+            if (value < 1) {
+                return 0;
+            }
+            return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(value));
+        }
+
+        static long getUpperBound(int bucket) {
+            return bucket == 0 ? 0 : (1L << bucket) - 1;
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getSum() {
+            return sum.get();
+        }
+
+        public double getMean() {
+            final long total = count.get();
+            return total == 0 ? 0 : (double) sum.get() / total;
+        }
+
+        /**
+         * @param percentile percentile between 0 and 100.
+         * @return the upper bound of the bucket that contains the percentile, or 0 if no values
+         * have been recorded.
+         */
+        public long getPercentile(double percentile) {
+            long total = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                total += buckets.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+
+            final double threshold = total * Math.min(100, Math.max(0, percentile)) / 100;
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += buckets.get(i);
+                if (seen >= threshold && seen > 0) {
+                    return getUpperBound(i);
+                }
+            }
+            return getUpperBound(BUCKET_COUNT - 1);
+        }
+    }
+}
@@ -22,16 +22,22 @@ import com.twitter.sdk.android.core.internal.persistence.PreferenceStoreStrategy
 import com.twitter.sdk.android.core.internal.persistence.SerializationStrategy;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Implementation of {@link com.twitter.sdk.android.core.SessionManager} that persists sessions.
+ *
+ * Only the active session is deserialized on first use. The ids of all stored sessions are kept
+ * in an index, and the other sessions are deserialized the first time they are asked for.
  */
 public class PersistedSessionManager<T extends Session> implements SessionManager<T> {
 
     private static final int NUM_SESSIONS = 1;
+    private static final String SESSION_INDEX_SUFFIX = "_index";
 
     private final PreferenceStore preferenceStore;
     private final SerializationStrategy<T> serializer;
@@ -40,7 +46,17 @@ public class PersistedSessionManager<T extends Session> implements SessionManage
     private final PreferenceStoreStrategy<T> activeSessionStorage;
     private final AtomicReference<T> activeSessionRef;
     private final String prefKeySession;
+    private final Set<Long> sessionIds;
     private volatile boolean restorePending = true;
+    private volatile boolean loadPending = true;
+    private volatile OnSessionClearedListener onSessionClearedListener;
+
+    /**
+     * Notified after a session has been cleared.
+     */
+    interface OnSessionClearedListener {
+        void onSessionCleared(long id);
+    }
 
     public PersistedSessionManager(PreferenceStore preferenceStore,
             SerializationStrategy<T> serializer, String prefKeyActiveSession,
@@ -63,43 +79,112 @@ public class PersistedSessionManager<T extends Session> implements SessionManage
         this.activeSessionStorage = activesSessionStorage;
         this.activeSessionRef = new AtomicReference<>();
         this.prefKeySession = prefKeySession;
+        this.sessionIds = Collections.newSetFromMap(new ConcurrentHashMap<>());
     }
 
     void restoreAllSessionsIfNecessary() {
+        restoreIfNecessary();
+        // Only load once
+        if (loadPending) {
+            loadAllSessions();
+        }
+    }
+
+    private void restoreIfNecessary() {
         // Only restore once
         if (restorePending) {
-            restoreAllSessions();
+            restoreActiveSessionAndIndex();
         }
     }
 
-    private synchronized void restoreAllSessions() {
+    private synchronized void restoreActiveSessionAndIndex() {
         if (restorePending) {
             restoreActiveSession();
-            restoreSessions();
+            restoreSessionIndex();
             restorePending = false;
         }
     }
 
-    private void restoreSessions() {
-        T session;
-
-        final Map<String, ?> preferences = preferenceStore.get().getAll();
-        for (Map.Entry<String, ?> entry : preferences.entrySet()) {
-            if (isSessionPreferenceKey(entry.getKey())) {
-                session = serializer.deserialize((String) entry.getValue());
-                if (session != null) {
-                    internalSetSession(session.getId(), session, false);
-                }
+    private synchronized void loadAllSessions() {
+        if (loadPending) {
+            for (Long id : sessionIds) {
+                loadSession(id);
             }
+            loadPending = false;
         }
-
     }
 
     private void restoreActiveSession() {
         final T session = activeSessionStorage.restore();
         if (session != null) {
-            internalSetSession(session.getId(), session, false);
+            final long id = session.getId();
+            sessionMap.putIfAbsent(id, session);
+            getStorage(id);
+            sessionIds.add(id);
+            activeSessionRef.compareAndSet(null, session);
+        }
+    }
+
+    private void restoreSessionIndex() {
+        final Set<String> index = preferenceStore.get().getStringSet(getIndexPrefKey(), null);
+        if (index != null) {
+            for (String id : index) {
+                sessionIds.add(Long.parseLong(id));
+            }
+        } else {
+            migrateSessionIndex();
+        }
+    }
+
+    /*
+     * Sessions stored before the index existed are found by their preference keys. Only the keys
+     * are read, the sessions themselves are still deserialized on demand.
+     */
+    private void migrateSessionIndex() {
+        for (String key : preferenceStore.get().getAll().keySet()) {
+            if (isSessionPreferenceKey(key)) {
+                try {
+                    sessionIds.add(Long.parseLong(key.substring(prefKeySession.length() + 1)));
+                } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                    // Not a session key, e.g. the index itself.
+                }
+            }
         }
+        saveSessionIndex();
+    }
+
+    private T loadSession(long id) {
+        final T loaded = sessionMap.get(id);
+        if (loaded != null || !sessionIds.contains(id)) {
+            return loaded;
+        }
+
+        final T session = getStorage(id).restore();
+        if (session == null) {
+            return null;
+        }
+        final T previous = sessionMap.putIfAbsent(id, session);
+        return previous != null ? previous : session;
+    }
+
+    private PreferenceStoreStrategy<T> getStorage(long id) {
+        PreferenceStoreStrategy<T> storage = storageMap.get(id);
+        if (storage == null) {
+            storage = new PreferenceStoreStrategy<>(preferenceStore, serializer, getPrefKey(id));
+            final PreferenceStoreStrategy<T> previous = storageMap.putIfAbsent(id, storage);
+            if (previous != null) {
+                storage = previous;
+            }
+        }
+        return storage;
+    }
+
+    private synchronized void saveSessionIndex() {
+        final Set<String> index = new HashSet<>(sessionIds.size());
+        for (Long id : sessionIds) {
+            index.add(Long.toString(id));
+        }
+        preferenceStore.save(preferenceStore.edit().putStringSet(getIndexPrefKey(), index));
     }
 
     boolean isSessionPreferenceKey(String preferenceKey) {
@@ -111,7 +196,7 @@ public class PersistedSessionManager<T extends Session> implements SessionManage
      */
     @Override
     public T getActiveSession() {
-        restoreAllSessionsIfNecessary();
+        restoreIfNecessary();
         return activeSessionRef.get();
     }
 
@@ -123,8 +208,10 @@ public class PersistedSessionManager<T extends Session> implements SessionManage
         if (session == null) {
             throw new IllegalArgumentException("Session must not be null!");
         }
-        restoreAllSessionsIfNecessary();
+        restoreIfNecessary();
         internalSetSession(session.getId(), session, true);
+        // Make sure a new login is not lost with a pending batch if the process dies.
+        preferenceStore.flush();
     }
 
     /**
@@ -132,7 +219,7 @@ public class PersistedSessionManager<T extends Session> implements SessionManage
      */
     @Override
     public void clearActiveSession() {
-        restoreAllSessionsIfNecessary();
+        restoreIfNecessary();
         if (activeSessionRef.get() != null) {
             clearSession(activeSessionRef.get().getId());
         }
@@ -143,8 +230,8 @@ public class PersistedSessionManager<T extends Session> implements SessionManage
      */
     @Override
     public T getSession(long id) {
-        restoreAllSessionsIfNecessary();
-        return sessionMap.get(id);
+        restoreIfNecessary();
+        return loadSession(id);
     }
 
     /**
@@ -156,7 +243,7 @@ public class PersistedSessionManager<T extends Session> implements SessionManage
         if (session == null) {
             throw new IllegalArgumentException("Session must not be null!");
         }
-        restoreAllSessionsIfNecessary();
+        restoreIfNecessary();
         internalSetSession(id, session, false);
     }
 
@@ -168,12 +255,10 @@ public class PersistedSessionManager<T extends Session> implements SessionManage
 
     private void internalSetSession(long id, T session, boolean forceUpdate) {
         sessionMap.put(id, session);
-        PreferenceStoreStrategy<T> storage = storageMap.get(id);
-        if (storage == null) {
-            storage = new PreferenceStoreStrategy<>(preferenceStore, serializer, getPrefKey(id));
-            storageMap.putIfAbsent(id, storage);
+        getStorage(id).save(session);
+        if (sessionIds.add(id)) {
+            saveSessionIndex();
         }
-        storage.save(session);
 
         final T activeSession = activeSessionRef.get();
         if (activeSession == null || activeSession.getId() == id || forceUpdate) {
@@ -184,16 +269,24 @@ public class PersistedSessionManager<T extends Session> implements SessionManage
         }
     }
 
+    void setOnSessionClearedListener(OnSessionClearedListener listener) {
+        onSessionClearedListener = listener;
+    }
+
     String getPrefKey(long id) {
         return prefKeySession + "_" + id;
     }
 
+    String getIndexPrefKey() {
+        return prefKeySession + SESSION_INDEX_SUFFIX;
+    }
+
     /**
      * Clears the session associated with the id.
      */
     @Override
     public void clearSession(long id) {
-        restoreAllSessionsIfNecessary();
+        restoreIfNecessary();
         if (activeSessionRef.get() != null && activeSessionRef.get().getId() == id) {
             synchronized (this) {
                 activeSessionRef.set(null);
@@ -201,10 +294,24 @@ public class PersistedSessionManager<T extends Session> implements SessionManage
             }
         }
 
+        final boolean indexed = sessionIds.remove(id);
         sessionMap.remove(id);
-        final PreferenceStoreStrategy<T> storage = storageMap.remove(id);
+        PreferenceStoreStrategy<T> storage = storageMap.remove(id);
+        if (storage == null && indexed) {
+            storage = new PreferenceStoreStrategy<>(preferenceStore, serializer, getPrefKey(id));
+        }
         if (storage != null) {
             storage.clear();
         }
+        if (indexed) {
+            saveSessionIndex();
+        }
+        // Make sure a logged out session does not linger in a pending batch.
+        preferenceStore.flush();
+
+        final OnSessionClearedListener listener = onSessionClearedListener;
+        if (listener != null) {
+            listener.onSessionCleared(id);
+        }
     }
 }
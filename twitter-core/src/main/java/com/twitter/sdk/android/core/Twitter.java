@@ -22,11 +22,15 @@ import android.content.Context;
 
 import com.twitter.sdk.android.core.internal.ActivityLifecycleManager;
 import com.twitter.sdk.android.core.internal.CommonUtils;
+import com.twitter.sdk.android.core.internal.ExecutorMetrics;
 import com.twitter.sdk.android.core.internal.ExecutorUtils;
 import com.twitter.sdk.android.core.internal.IdManager;
+import com.twitter.sdk.android.core.internal.InstrumentedThreadPoolExecutor;
+import com.twitter.sdk.android.core.internal.StagedInitializer;
 
 import java.io.File;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
 
 /**
  *  The {@link Twitter} class stores common configuration and state for TwitterKit SDK.
@@ -42,17 +46,19 @@ public class Twitter {
     static volatile Twitter instance;
 
     private final Context context;
-    private final IdManager idManager;
     private final ExecutorService executorService;
+    private final ExecutorService computationExecutorService;
+    private final StagedInitializer initializer;
     private final TwitterAuthConfig twitterAuthConfig;
-    private final ActivityLifecycleManager lifecycleManager;
     private final Logger logger;
     private final boolean debug;
+    private final boolean warmUp;
+    private final boolean preconnect;
+    private volatile IdManager idManager;
+    private volatile ActivityLifecycleManager lifecycleManager;
 
     private Twitter(TwitterConfig config) {
         context = config.context;
-        idManager = new IdManager(context);
-        lifecycleManager = new ActivityLifecycleManager(context);
 
         if (config.twitterAuthConfig == null) {
             final String key = CommonUtils.getStringResourceValue(context, CONSUMER_KEY, "");
@@ -63,10 +69,19 @@ public class Twitter {
         }
 
         if (config.executorService == null) {
-            executorService = ExecutorUtils.buildThreadPoolExecutorService("twitter-worker");
+            final int queueCapacity = config.executorQueueCapacity == null
+                    ? ExecutorUtils.DEFAULT_QUEUE_CAPACITY : config.executorQueueCapacity;
+            executorService = ExecutorUtils.buildIoExecutorService("twitter-worker",
+                    queueCapacity,
+                    getRejectionPolicy(config, "twitter-worker-overflow", queueCapacity));
+            computationExecutorService = ExecutorUtils.buildComputationExecutorService(
+                    "twitter-computation", queueCapacity,
+                    getRejectionPolicy(config, "twitter-computation-overflow", queueCapacity));
         } else {
             executorService = config.executorService;
+            computationExecutorService = config.executorService;
         }
+        initializer = new StagedInitializer(executorService);
 
         if (config.logger == null) {
             logger = DEFAULT_LOGGER;
@@ -79,6 +94,9 @@ public class Twitter {
         } else {
             debug = config.debug;
         }
+
+        warmUp = config.warmUp != null && config.warmUp;
+        preconnect = config.preconnect != null && config.preconnect;
     }
 
     /**
@@ -164,9 +182,18 @@ public class Twitter {
      * @return the global IdManager.
      */
     public IdManager getIdManager() {
+        if (idManager == null) {
+            createIdManager();
+        }
         return idManager;
     }
 
+    private synchronized void createIdManager() {
+        if (idManager == null) {
+            idManager = new IdManager(context);
+        }
+    }
+
     /**
      * @return the global {@link TwitterAuthConfig}.
      */
@@ -175,19 +202,75 @@ public class Twitter {
     }
 
     /**
-     * @return the global {@link ExecutorService}.
+     * @return the global {@link ExecutorService}, for work that waits on disk or network.
      */
     public ExecutorService getExecutorService() {
         return executorService;
     }
 
+    /**
+     * @return the global {@link ExecutorService} for CPU-bound work, such as filtering and
+     * formatting. Same as {@link #getExecutorService()} if an executor is set in the
+     * {@link TwitterConfig}.
+     */
+    public ExecutorService getComputationExecutorService() {
+        return computationExecutorService;
+    }
+
+    /**
+     * @return the metrics of {@link #getExecutorService()}, or {@code null} if an executor is
+     * set in the {@link TwitterConfig}.
+     */
+    public ExecutorMetrics getExecutorMetrics() {
+        return getMetrics(executorService);
+    }
+
+    /**
+     * @return the metrics of {@link #getComputationExecutorService()}, or {@code null} if an
+     * executor is set in the {@link TwitterConfig}.
+     */
+    public ExecutorMetrics getComputationExecutorMetrics() {
+        return getMetrics(computationExecutorService);
+    }
+
+    private static RejectedExecutionHandler getRejectionPolicy(TwitterConfig config,
+            String overflowThreadName, int queueCapacity) {
+        return config.executorRejectionPolicy == null
+                ? ExecutorUtils.buildOverflowRejectionPolicy(overflowThreadName, queueCapacity)
+                : config.executorRejectionPolicy;
+    }
+
+    private static ExecutorMetrics getMetrics(ExecutorService executorService) {
+        if (executorService instanceof InstrumentedThreadPoolExecutor) {
+            return ((InstrumentedThreadPoolExecutor) executorService).getMetrics();
+        }
+        return null;
+    }
+
     /**
      * @return the global {@link ActivityLifecycleManager}.
      */
     public ActivityLifecycleManager getActivityLifecycleManager() {
+        if (lifecycleManager == null) {
+            createActivityLifecycleManager();
+        }
         return lifecycleManager;
     }
 
+    private synchronized void createActivityLifecycleManager() {
+        if (lifecycleManager == null) {
+            lifecycleManager = new ActivityLifecycleManager(context);
+        }
+    }
+
+    /**
+     * @return the global {@link StagedInitializer} that runs the initialization of the kits in
+     * the background. Its stage timings show what the initialization of each kit costs.
+     */
+    public StagedInitializer getInitializer() {
+        return initializer;
+    }
+
     /**
      * @return the global value for debug mode.
      */
@@ -199,6 +282,28 @@ public class Twitter {
         return instance.debug;
     }
 
+    /**
+     * @return true if API clients should be warmed up in the background during initialization.
+     */
+    static boolean isWarmUpEnabled() {
+        if (instance == null) {
+            return false;
+        }
+
+        return instance.warmUp;
+    }
+
+    /**
+     * @return true if the warm up should open a connection to the Twitter API.
+     */
+    static boolean isPreconnectEnabled() {
+        if (instance == null) {
+            return false;
+        }
+
+        return instance.preconnect;
+    }
+
     /**
      * @return the global {@link Logger}.
      */
@@ -20,6 +20,8 @@ package com.twitter.sdk.android.core;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.twitter.sdk.android.core.internal.TwitterApi;
+import com.twitter.sdk.android.core.internal.network.CoalescingCallAdapterFactory;
+import com.twitter.sdk.android.core.internal.network.NetworkMetricsConverterFactory;
 import com.twitter.sdk.android.core.internal.network.OkHttpClientHelper;
 import com.twitter.sdk.android.core.models.BindingValues;
 import com.twitter.sdk.android.core.models.BindingValuesAdapter;
@@ -34,9 +36,12 @@ import com.twitter.sdk.android.core.services.MediaService;
 import com.twitter.sdk.android.core.services.SearchService;
 import com.twitter.sdk.android.core.services.StatusesService;
 
+import java.io.IOException;
 import java.util.concurrent.ConcurrentHashMap;
 
+import okhttp3.Authenticator;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
@@ -47,14 +52,20 @@ import retrofit2.converter.gson.GsonConverterFactory;
  */
 public class TwitterApiClient {
     final ConcurrentHashMap<Class, Object> services;
+    final CoalescingCallAdapterFactory coalescingCallAdapterFactory;
     final Retrofit retrofit;
+    /*
+     * True if the http client was built for this API client alone, and is not sharing its
+     * connection pool and dispatcher with a client passed in by the app.
+     */
+    private final boolean ownsHttpClient;
 
     /**
      * Constructs Guest Session based TwitterApiClient.
      */
     public TwitterApiClient() {
         this(OkHttpClientHelper.getOkHttpClient(
-                TwitterCore.getInstance().getGuestSessionProvider()), new TwitterApi());
+                TwitterCore.getInstance().getGuestSessionProvider()), new TwitterApi(), true);
     }
 
     /**
@@ -77,7 +88,7 @@ public class TwitterApiClient {
         this(OkHttpClientHelper.getOkHttpClient(
                 session,
                 TwitterCore.getInstance().getAuthConfig()),
-            new TwitterApi());
+            new TwitterApi(), true);
     }
 
     /**
@@ -95,7 +106,13 @@ public class TwitterApiClient {
     }
 
     TwitterApiClient(OkHttpClient client, TwitterApi twitterApi) {
+        this(client, twitterApi, false);
+    }
+
+    TwitterApiClient(OkHttpClient client, TwitterApi twitterApi, boolean ownsHttpClient) {
+        this.ownsHttpClient = ownsHttpClient;
         this.services = buildConcurrentMap();
+        this.coalescingCallAdapterFactory = new CoalescingCallAdapterFactory();
         this.retrofit = buildRetrofit(client, twitterApi);
     }
 
@@ -103,7 +120,9 @@ public class TwitterApiClient {
         return new Retrofit.Builder()
                 .client(httpClient)
                 .baseUrl(twitterApi.getBaseHostUrl())
-                .addConverterFactory(GsonConverterFactory.create(buildGson()))
+                .addCallAdapterFactory(coalescingCallAdapterFactory)
+                .addConverterFactory(new NetworkMetricsConverterFactory(
+                        GsonConverterFactory.create(buildGson())))
                 .build();
     }
 
@@ -119,6 +138,16 @@ public class TwitterApiClient {
         return new ConcurrentHashMap<>();
     }
 
+    /**
+     * Enables merging of identical GET requests made through this client while one of them is in
+     * flight, so every caller receives the single response. Disabled by default.
+     *
+     * @param enabled true to merge identical GET requests
+     */
+    public void setRequestCoalescingEnabled(boolean enabled) {
+        coalescingCallAdapterFactory.setEnabled(enabled);
+    }
+
     /**
      * @return {@link com.twitter.sdk.android.core.services.AccountService} to access TwitterApi
      */
@@ -183,11 +212,77 @@ public class TwitterApiClient {
      * @param cls Retrofit style interface
      * @return instance of cls
      */
-    @SuppressWarnings("unchecked")
     protected <T> T getService(Class<T> cls) {
-        if (!services.contains(cls)) {
-            services.putIfAbsent(cls, retrofit.create(cls));
+        return getService(retrofit, cls);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getService(Retrofit retrofit, Class<T> cls) {
+        Object service = services.get(cls);
+        if (service == null) {
+            service = retrofit.create(cls);
+            final Object existing = services.putIfAbsent(cls, service);
+            if (existing != null) {
+                service = existing;
+            }
+        }
+        return (T) service;
+    }
+
+    /**
+     * Creates the API services ahead of their first use, which parses and validates every
+     * service method. Optionally opens a connection to the API host that later requests reuse.
+     * Blocks, call from a background thread.
+     *
+     * @param preconnect true to open a connection to the API host
+     */
+    void warmUp(boolean preconnect) {
+        // Services created through this Retrofit parse their methods in create() rather than on
+        // first use, and are kept for later calls to getService.
+        final Retrofit validatingRetrofit = retrofit.newBuilder().validateEagerly(true).build();
+        getService(validatingRetrofit, AccountService.class);
+        getService(validatingRetrofit, FavoriteService.class);
+        getService(validatingRetrofit, StatusesService.class);
+        getService(validatingRetrofit, SearchService.class);
+        getService(validatingRetrofit, ListService.class);
+        getService(validatingRetrofit, CollectionService.class);
+        getService(validatingRetrofit, ConfigurationService.class);
+        getService(validatingRetrofit, MediaService.class);
+
+        if (preconnect && retrofit.callFactory() instanceof OkHttpClient) {
+            preconnect((OkHttpClient) retrofit.callFactory());
+        }
+    }
+
+    private void preconnect(OkHttpClient httpClient) {
+        // Shares the connection pool of the API client, but skips auth which the request to the
+        // host root does not need.
+        final OkHttpClient.Builder builder = httpClient.newBuilder()
+                .authenticator(Authenticator.NONE);
+        builder.interceptors().clear();
+        builder.networkInterceptors().clear();
+
+        final Request request = new Request.Builder()
+                .url(retrofit.baseUrl())
+                .head()
+                .build();
+        try {
+            builder.build().newCall(request).execute().close();
+        } catch (IOException e) {
+            Twitter.getLogger().d(TwitterCore.TAG, "Failed to preconnect " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the idle connections of the http client and stops its threads once the calls in
+     * flight have completed. Does nothing if the http client is shared with a client passed in by
+     * the app. The client must not be used afterwards.
+     */
+    void shutdown() {
+        if (ownsHttpClient && retrofit.callFactory() instanceof OkHttpClient) {
+            final OkHttpClient httpClient = (OkHttpClient) retrofit.callFactory();
+            httpClient.dispatcher().executorService().shutdown();
+            httpClient.connectionPool().evictAll();
         }
-        return (T) services.get(cls);
     }
 }
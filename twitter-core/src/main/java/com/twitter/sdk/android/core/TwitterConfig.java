@@ -20,6 +20,7 @@ package com.twitter.sdk.android.core;
 import android.content.Context;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
 
 /**
  * Configurable Twitter options
@@ -30,14 +31,23 @@ public class TwitterConfig {
     final TwitterAuthConfig twitterAuthConfig;
     final ExecutorService executorService;
     final Boolean debug;
+    final Boolean warmUp;
+    final Boolean preconnect;
+    final Integer executorQueueCapacity;
+    final RejectedExecutionHandler executorRejectionPolicy;
 
     private TwitterConfig(Context context, Logger logger, TwitterAuthConfig twitterAuthConfig,
-            ExecutorService executorService, Boolean debug) {
+            ExecutorService executorService, Boolean debug, Boolean warmUp, Boolean preconnect,
+            Integer executorQueueCapacity, RejectedExecutionHandler executorRejectionPolicy) {
         this.context = context;
         this.logger = logger;
         this.twitterAuthConfig = twitterAuthConfig;
         this.executorService = executorService;
         this.debug = debug;
+        this.warmUp = warmUp;
+        this.preconnect = preconnect;
+        this.executorQueueCapacity = executorQueueCapacity;
+        this.executorRejectionPolicy = executorRejectionPolicy;
     }
 
     /**
@@ -49,6 +59,10 @@ public class TwitterConfig {
         private TwitterAuthConfig twitterAuthConfig;
         private ExecutorService executorService;
         private Boolean debug;
+        private Boolean warmUp;
+        private Boolean preconnect;
+        private Integer executorQueueCapacity;
+        private RejectedExecutionHandler executorRejectionPolicy;
 
         /**
          * Start building a new {@link TwitterConfig} instance.
@@ -109,11 +123,64 @@ public class TwitterConfig {
             return this;
         }
 
+        /**
+         * Build the guest API client and parse the API service interfaces in the background
+         * during initialization, so the first API request does not pay for it.
+         */
+        public Builder warmUp(boolean warmUp) {
+            this.warmUp = warmUp;
+
+            return this;
+        }
+
+        /**
+         * Open a connection to the Twitter API during the background warm up, so the first API
+         * request skips the TCP and TLS handshakes. Only applies when warm up is enabled.
+         */
+        public Builder preconnect(boolean preconnect) {
+            this.preconnect = preconnect;
+
+            return this;
+        }
+
+        /**
+         * Sets how many tasks each of the SDK executors queues before it rejects tasks. Does not
+         * apply when an {@link ExecutorService} is set.
+         */
+        public Builder executorQueueCapacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Capacity must be greater than zero.");
+            }
+
+            this.executorQueueCapacity = capacity;
+
+            return this;
+        }
+
+        /**
+         * Sets what the SDK executors do with tasks when their queue is full. By default the task
+         * runs on a separate overflow thread, which queues as many tasks as the executor, and
+         * tasks beyond that are rejected with a
+         * {@link java.util.concurrent.RejectedExecutionException}. Pass
+         * {@link java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy} to run it on the
+         * calling thread instead. Does not apply when an {@link ExecutorService} is set.
+         */
+        public Builder executorRejectionPolicy(RejectedExecutionHandler rejectionPolicy) {
+            if (rejectionPolicy == null) {
+                throw new IllegalArgumentException("RejectedExecutionHandler must not be null.");
+            }
+
+            this.executorRejectionPolicy = rejectionPolicy;
+
+            return this;
+        }
+
         /**
          * Build the {@link TwitterConfig} instance
          */
         public TwitterConfig build() {
-            return new TwitterConfig(context, logger, twitterAuthConfig, executorService, debug);
+            return new TwitterConfig(context, logger, twitterAuthConfig, executorService, debug,
+                    warmUp, preconnect, executorQueueCapacity, executorRejectionPolicy);
         }
     }
 }
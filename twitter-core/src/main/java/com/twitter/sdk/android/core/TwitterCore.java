@@ -21,14 +21,14 @@ import android.annotation.SuppressLint;
 import android.content.Context;
 
 import com.twitter.sdk.android.core.internal.SessionMonitor;
+import com.twitter.sdk.android.core.internal.StagedInitializer;
 import com.twitter.sdk.android.core.internal.TwitterApi;
 import com.twitter.sdk.android.core.internal.TwitterSessionVerifier;
 import com.twitter.sdk.android.core.internal.oauth.OAuth2Service;
-import com.twitter.sdk.android.core.internal.persistence.PreferenceStoreImpl;
+import com.twitter.sdk.android.core.internal.persistence.BatchingPreferenceStore;
+import com.twitter.sdk.android.core.internal.persistence.PreferenceStore;
 import com.twitter.sdk.android.core.internal.scribe.TwitterCoreScribeClientHolder;
 
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
  * The TwitterCore Kit provides Login with Twitter and the Twitter API.
  */
@@ -49,31 +49,35 @@ public class TwitterCore {
     SessionMonitor<TwitterSession> sessionMonitor;
 
     private final TwitterAuthConfig authConfig;
-    private final ConcurrentHashMap<Session, TwitterApiClient> apiClients;
+    private final ApiClientRegistry apiClients;
     private final Context context;
     private volatile TwitterApiClient guestClient;
     private volatile GuestSessionProvider guestSessionProvider;
 
     TwitterCore(TwitterAuthConfig authConfig) {
-        this(authConfig, new ConcurrentHashMap<>(), null);
+        this(authConfig, new ApiClientRegistry(), null);
     }
 
     // Testing only
-    TwitterCore(TwitterAuthConfig authConfig,
-                ConcurrentHashMap<Session, TwitterApiClient> apiClients,
+    TwitterCore(TwitterAuthConfig authConfig, ApiClientRegistry apiClients,
                 TwitterApiClient guestClient) {
         this.authConfig = authConfig;
         this.apiClients = apiClients;
         this.guestClient = guestClient;
         context = Twitter.getInstance().getContext(getIdentifier());
 
-        twitterSessionManager = new PersistedSessionManager<>(
-                new PreferenceStoreImpl(context, SESSION_PREF_FILE_NAME),
-                new TwitterSession.Serializer(), PREF_KEY_ACTIVE_TWITTER_SESSION,
-                PREF_KEY_TWITTER_SESSION);
+        // Both session managers share one store, so their writes end up in the same batch.
+        final PreferenceStore sessionStore =
+                new BatchingPreferenceStore(context, SESSION_PREF_FILE_NAME);
+
+        final PersistedSessionManager<TwitterSession> persistedSessionManager =
+                new PersistedSessionManager<>(sessionStore, new TwitterSession.Serializer(),
+                        PREF_KEY_ACTIVE_TWITTER_SESSION, PREF_KEY_TWITTER_SESSION);
+        // Logged out users do not need their API clients anymore.
+        persistedSessionManager.setOnSessionClearedListener(apiClients::release);
+        twitterSessionManager = persistedSessionManager;
 
-        guestSessionManager = new PersistedSessionManager<>(
-                new PreferenceStoreImpl(context, SESSION_PREF_FILE_NAME),
+        guestSessionManager = new PersistedSessionManager<>(sessionStore,
                 new GuestSession.Serializer(), PREF_KEY_ACTIVE_GUEST_SESSION,
                 PREF_KEY_GUEST_SESSION);
 
@@ -86,7 +90,7 @@ public class TwitterCore {
             synchronized (TwitterCore.class) {
                 if (instance == null) {
                     instance = new TwitterCore(Twitter.getInstance().getTwitterAuthConfig());
-                    Twitter.getInstance().getExecutorService().execute(() -> instance.doInBackground());
+                    instance.scheduleInitialization(Twitter.getInstance().getInitializer());
                 }
             }
         }
@@ -101,17 +105,39 @@ public class TwitterCore {
         return authConfig;
     }
 
-    void doInBackground() {
-        // Trigger restoration of session
-        twitterSessionManager.getActiveSession();
-        guestSessionManager.getActiveSession();
-        getGuestSessionProvider();
-        setUpScribeClient();
+    void scheduleInitialization(StagedInitializer initializer) {
+        // Trigger restoration of sessions, the two session managers do not depend on each other.
+        initializer.addCriticalStage("TwitterCore.restoreTwitterSessions",
+                () -> twitterSessionManager.getActiveSession());
+        initializer.addCriticalStage("TwitterCore.restoreGuestSessions", () -> {
+            guestSessionManager.getActiveSession();
+            getGuestSessionProvider();
+        });
+
+        if (Twitter.isWarmUpEnabled()) {
+            final boolean preconnect = Twitter.isPreconnectEnabled();
+            initializer.addDeferredStage("TwitterCore.warmUp",
+                    () -> warmUpApiClients(preconnect));
+        }
+        // The kits scribe through the client created here, so it is created before their
+        // deferred stages run, with the TwitterCore configuration.
+        initializer.addCriticalStage("TwitterCore.scribe", this::setUpScribeClient);
         // Monitor activity lifecycle after sessions have been restored. Otherwise we would not
         // have any sessions to monitor anyways.
+        initializer.addDeferredStage("TwitterCore.sessionMonitor",
+                () -> sessionMonitor.monitorActivityLifecycle(
+                        Twitter.getInstance().getActivityLifecycleManager()));
+    }
 
-        sessionMonitor.monitorActivityLifecycle(
-                Twitter.getInstance().getActivityLifecycleManager());
+    private void warmUpApiClients(boolean preconnect) {
+        final TwitterApiClient guestApiClient = getGuestApiClient();
+        guestApiClient.warmUp(preconnect);
+
+        final TwitterApiClient activeApiClient = getApiClient();
+        if (activeApiClient != guestApiClient) {
+            // User clients have their own connection pool, so warm them up separately.
+            activeApiClient.warmUp(preconnect);
+        }
     }
 
     public String getIdentifier() {
@@ -150,6 +176,15 @@ public class TwitterCore {
         }
     }
 
+    /**
+     * @return the {@link com.twitter.sdk.android.core.NetworkMetrics} recorded for requests made
+     * by the SDK. Collection is disabled until enabled with
+     * {@link NetworkMetrics#setEnabled(boolean)}.
+     */
+    public NetworkMetrics getNetworkMetrics() {
+        return NetworkMetrics.getInstance();
+    }
+
     /**
      * Creates {@link com.twitter.sdk.android.core.TwitterApiClient} from default
      * {@link com.twitter.sdk.android.core.Session}.
@@ -169,14 +204,14 @@ public class TwitterCore {
      * Creates {@link com.twitter.sdk.android.core.TwitterApiClient} from authenticated
      * {@link com.twitter.sdk.android.core.Session} provided.
      *
-     * Caches internally for efficient access.
+     * Caches internally for efficient access. The clients of the most recently used sessions
+     * are kept, and the client of a session is dropped from the cache when the session is cleared
+     * from the session manager or replaced by a newer session of the same user. Dropped clients
+     * keep working for as long as the app holds them.
      * @param session the session
      */
     public TwitterApiClient getApiClient(TwitterSession session) {
-        if (!apiClients.containsKey(session)) {
-            apiClients.putIfAbsent(session, new TwitterApiClient(session));
-        }
-        return apiClients.get(session);
+        return apiClients.get(session, TwitterApiClient::new);
     }
 
     /**
@@ -204,9 +239,7 @@ public class TwitterCore {
      * @param customTwitterApiClient the custom twitter api client
      */
     public void addApiClient(TwitterSession session, TwitterApiClient customTwitterApiClient) {
-        if (!apiClients.containsKey(session)) {
-            apiClients.putIfAbsent(session, customTwitterApiClient);
-        }
+        apiClients.putIfAbsent(session, customTwitterApiClient);
     }
 
     /**
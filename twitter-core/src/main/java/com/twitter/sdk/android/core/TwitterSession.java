@@ -17,11 +17,13 @@
 
 package com.twitter.sdk.android.core;
 
-import android.text.TextUtils;
-
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
-import com.twitter.sdk.android.core.internal.persistence.SerializationStrategy;
+import com.twitter.sdk.android.core.internal.persistence.CompactSerializationStrategy;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 
 /**
  * Represents a Twitter session that is associated with a {@link com.twitter.sdk.android.core.TwitterAuthToken}.
@@ -72,36 +74,60 @@ public class TwitterSession extends Session<TwitterAuthToken> {
         return result;
     }
 
-    static class Serializer implements SerializationStrategy<TwitterSession> {
+    static class Serializer extends CompactSerializationStrategy<TwitterSession> {
+        private static final int FORMAT_VERSION = 1;
 
-        private final Gson gson;
+        private Gson gson;
 
         Serializer() {
-            this.gson = new Gson();
+            super(FORMAT_VERSION);
         }
 
         @Override
-        public String serialize(TwitterSession session) {
-            if (session != null && session.getAuthToken() != null) {
-                try {
-                    return gson.toJson(session);
-                } catch (Exception e) {
-                    Twitter.getLogger().d(TwitterCore.TAG, e.getMessage());
-                }
-            }
-            return "";
+        protected boolean canWrite(TwitterSession session) {
+            return session.getAuthToken() != null;
+        }
+
+        @Override
+        protected void write(TwitterSession session, DataOutputStream out) throws IOException {
+            final TwitterAuthToken authToken = session.getAuthToken();
+            out.writeLong(session.getId());
+            writeString(out, session.getUserName());
+            writeString(out, authToken.getToken());
+            writeString(out, authToken.getSecret());
+            out.writeLong(authToken.getCreatedAt());
         }
 
         @Override
-        public TwitterSession deserialize(String serializedSession) {
-            if (!TextUtils.isEmpty(serializedSession)) {
-                try {
-                    return gson.fromJson(serializedSession, TwitterSession.class);
-                } catch (Exception e) {
-                    Twitter.getLogger().d(TwitterCore.TAG, e.getMessage());
-                }
+        protected TwitterSession read(DataInputStream in) throws IOException {
+            final long id = in.readLong();
+            final String userName = readString(in);
+            final String token = readString(in);
+            final String secret = readString(in);
+            final long createdAt = in.readLong();
+            return new TwitterSession(new TwitterAuthToken(token, secret, createdAt), id,
+                    userName);
+        }
+
+        @Override
+        protected TwitterSession deserializeJson(String serializedSession) {
+            try {
+                return getGson().fromJson(serializedSession, TwitterSession.class);
+            } catch (Exception e) {
+                Twitter.getLogger().d(TwitterCore.TAG, e.getMessage());
             }
             return null;
         }
+
+        /*
+         * Only sessions stored by earlier versions are read with Gson, so it is created on first
+         * use.
+         */
+        private synchronized Gson getGson() {
+            if (gson == null) {
+                gson = new Gson();
+            }
+            return gson;
+        }
     }
 }
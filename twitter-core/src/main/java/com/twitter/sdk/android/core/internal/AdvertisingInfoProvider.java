@@ -29,12 +29,25 @@ class AdvertisingInfoProvider {
     private static final String PREFKEY_ADVERTISING_ID = "advertising_id";
     private final Context context;
     private final PreferenceStore preferenceStore;
+    private volatile OnAdvertisingInfoChangedListener listener;
+
+    interface OnAdvertisingInfoChangedListener {
+        void onAdvertisingInfoChanged(AdvertisingInfo advertisingInfo);
+    }
 
     AdvertisingInfoProvider(Context context, PreferenceStore preferenceStore) {
         this.context = context.getApplicationContext();
         this.preferenceStore = preferenceStore;
     }
 
+    /**
+     * Sets the listener that is notified when a refresh finds that the stored advertising info
+     * is out of date.
+     */
+    void setOnAdvertisingInfoChangedListener(OnAdvertisingInfoChangedListener listener) {
+        this.listener = listener;
+    }
+
     /**
      * Returns an AdvertisingInfo using various Providers with different attempts to gain this data
      *
@@ -70,6 +83,10 @@ class AdvertisingInfoProvider {
                         .d(Twitter.TAG, "Asychronously getting Advertising Info and " +
                         "storing it to preferences");
                 storeInfoToPreferences(infoToStore);
+                final OnAdvertisingInfoChangedListener listener = this.listener;
+                if (listener != null) {
+                    listener.onAdvertisingInfoChanged(infoToStore);
+                }
             }
         }).start();
     }
@@ -2,10 +2,19 @@ package com.twitter.sdk.android.core.internal
 
 // see https://dev.twitter.com/overview/general/user-profile-images-and-banners
 // see also: https://confluence.twitter.biz/display/PLATFORM/Image+Types+and+Sizes
-enum class AvatarSize(val suffix: String) {
-    NORMAL("_normal"),
-    BIGGER("_bigger"),
-    MINI("_mini"),
-    ORIGINAL("_original"),
-    REASONABLY_SMALL("_reasonably_small")
+enum class AvatarSize(val suffix: String, val size: Int) {
+    NORMAL("_normal", 48),
+    BIGGER("_bigger", 73),
+    MINI("_mini", 24),
+    ORIGINAL("_original", Int.MAX_VALUE),
+    REASONABLY_SMALL("_reasonably_small", 128);
+
+    companion object {
+        /**
+         * @return the smallest size that is at least the given size in pixels
+         */
+        @JvmStatic
+        fun forPixelSize(pixels: Int): AvatarSize =
+                values().filter { it.size >= pixels }.minBy { it.size } ?: ORIGINAL
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal;
+
+import java.util.Locale;
+
+/**
+ * Snapshot of the load on an {@link InstrumentedThreadPoolExecutor}. Times are in milliseconds.
+ */
+public class ExecutorMetrics {
+    public final int queueDepth;
+    public final int activeThreads;
+    public final long completedTasks;
+    public final long rejectedTasks;
+    public final long totalWaitTimeMillis;
+    public final long maxWaitTimeMillis;
+    public final long totalRunTimeMillis;
+    public final long maxRunTimeMillis;
+    /**
+     * Tasks that did not fit in the queue and wait for the overflow thread of the executor.
+     */
+    public final int overflowQueueDepth;
+
+    public ExecutorMetrics(int queueDepth, int activeThreads, long completedTasks,
+            long rejectedTasks, long totalWaitTimeMillis, long maxWaitTimeMillis,
+            long totalRunTimeMillis, long maxRunTimeMillis, int overflowQueueDepth) {
+        this.queueDepth = queueDepth;
+        this.activeThreads = activeThreads;
+        this.completedTasks = completedTasks;
+        this.rejectedTasks = rejectedTasks;
+        this.totalWaitTimeMillis = totalWaitTimeMillis;
+        this.maxWaitTimeMillis = maxWaitTimeMillis;
+        this.totalRunTimeMillis = totalRunTimeMillis;
+        this.maxRunTimeMillis = maxRunTimeMillis;
+        this.overflowQueueDepth = overflowQueueDepth;
+    }
+
+    /**
+     * @return the average time a task waited in the queue before it ran.
+     */
+    public long getAverageWaitTimeMillis() {
+        return completedTasks == 0 ? 0 : totalWaitTimeMillis / completedTasks;
+    }
+
+    /**
+     * @return the average time a task ran.
+     */
+    public long getAverageRunTimeMillis() {
+        return completedTasks == 0 ? 0 : totalRunTimeMillis / completedTasks;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "queueDepth=%d,activeThreads=%d,completed=%d,"
+                        + "rejected=%d,averageWaitMs=%d,maxWaitMs=%d,averageRunMs=%d,maxRunMs=%d,"
+                        + "overflowQueueDepth=%d",
+                queueDepth, activeThreads, completedTasks, rejectedTasks,
+                getAverageWaitTimeMillis(), maxWaitTimeMillis, getAverageRunTimeMillis(),
+                maxRunTimeMillis, overflowQueueDepth);
+    }
+}
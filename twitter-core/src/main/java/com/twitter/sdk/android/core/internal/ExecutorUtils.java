@@ -23,10 +23,13 @@ import java.util.Locale;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -37,6 +40,10 @@ public final class ExecutorUtils {
     private static final int MAXIMUM_POOL_SIZE = CPU_COUNT * 2 + 1;
     private static final long KEEP_ALIVE = 1L;
     private static final long DEFAULT_TERMINATION_TIMEOUT = 1L;
+    private static final int COMPUTATION_POOL_SIZE = Math.max(CPU_COUNT, 2);
+    private static final int IO_POOL_SIZE = MAXIMUM_POOL_SIZE;
+    private static final long BOUNDED_KEEP_ALIVE = 30L;
+    public static final int DEFAULT_QUEUE_CAPACITY = 512;
 
     private ExecutorUtils() {
     }
@@ -50,6 +57,57 @@ public final class ExecutorUtils {
         return executor;
     }
 
+    /**
+     * Builds the lane for CPU-bound work, such as filtering, formatting and parsing. It runs
+     * one thread per core.
+     */
+    public static InstrumentedThreadPoolExecutor buildComputationExecutorService(String name,
+            int queueCapacity, RejectedExecutionHandler rejectedExecutionHandler) {
+        return buildBoundedThreadPoolExecutorService(name, COMPUTATION_POOL_SIZE, queueCapacity,
+                rejectedExecutionHandler);
+    }
+
+    /**
+     * Builds the lane for work that mostly waits on disk or network, such as restoring and
+     * verifying sessions. It runs more threads than there are cores.
+     */
+    public static InstrumentedThreadPoolExecutor buildIoExecutorService(String name,
+            int queueCapacity, RejectedExecutionHandler rejectedExecutionHandler) {
+        return buildBoundedThreadPoolExecutorService(name, IO_POOL_SIZE, queueCapacity,
+                rejectedExecutionHandler);
+    }
+
+    static InstrumentedThreadPoolExecutor buildBoundedThreadPoolExecutorService(String name,
+            int threads, int queueCapacity, RejectedExecutionHandler rejectedExecutionHandler) {
+        final ThreadFactory threadFactory = ExecutorUtils.getNamedThreadFactory(name);
+        final InstrumentedThreadPoolExecutor executor = new InstrumentedThreadPoolExecutor(
+                threads, BOUNDED_KEEP_ALIVE, SECONDS, queueCapacity, threadFactory,
+                rejectedExecutionHandler);
+        ExecutorUtils.addDelayedShutdownHook(name, executor);
+        return executor;
+    }
+
+    public static RejectedExecutionHandler buildOverflowRejectionPolicy(String name) {
+        return buildOverflowRejectionPolicy(name, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Builds the default rejection policy of the SDK executors. Tasks that do not fit in the
+     * queue run on a single overflow thread, so they are not run on the calling thread, which is
+     * often the main thread. The overflow thread queues up to {@code queueCapacity} tasks, tasks
+     * beyond that are rejected with a {@link RejectedExecutionException}.
+     */
+    public static RejectedExecutionHandler buildOverflowRejectionPolicy(String name,
+            int queueCapacity) {
+        final InstrumentedThreadPoolExecutor overflowExecutor =
+                buildBoundedThreadPoolExecutorService(name, 1, queueCapacity,
+                        (runnable, executor) -> {
+                            throw new RejectedExecutionException("Task " + runnable
+                                    + " rejected, the queue of " + name + " is full");
+                        });
+        return new OverflowPolicy(name, overflowExecutor);
+    }
+
     public static ScheduledExecutorService buildSingleThreadScheduledExecutorService(String name) {
         final ThreadFactory threadFactory = ExecutorUtils.getNamedThreadFactory(name);
         final ScheduledExecutorService executor =
@@ -58,6 +116,36 @@ public final class ExecutorUtils {
         return executor;
     }
 
+    static class OverflowPolicy implements RejectedExecutionHandler {
+        private final String name;
+        private final InstrumentedThreadPoolExecutor overflowExecutor;
+        private final AtomicBoolean logged = new AtomicBoolean();
+
+        OverflowPolicy(String name, InstrumentedThreadPoolExecutor overflowExecutor) {
+            this.name = name;
+            this.overflowExecutor = overflowExecutor;
+        }
+
+        /**
+         * @return the number of tasks waiting for the overflow thread
+         */
+        int getQueueDepth() {
+            return overflowExecutor.getQueue().size();
+        }
+
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                return;
+            }
+            if (logged.compareAndSet(false, true)) {
+                Twitter.getLogger().w(Twitter.TAG, "Executor queue is full, running tasks on "
+                        + name + ". Consider raising the executor queue capacity.");
+            }
+            overflowExecutor.execute(runnable);
+        }
+    }
+
     static ThreadFactory getNamedThreadFactory(final String threadNameTemplate) {
         final AtomicLong count = new AtomicLong(1);
 
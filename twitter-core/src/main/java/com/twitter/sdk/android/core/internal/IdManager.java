@@ -27,6 +27,10 @@ import com.twitter.sdk.android.core.internal.persistence.PreferenceStoreImpl;
 
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 
@@ -34,6 +38,7 @@ public class IdManager {
     static final String COLLECT_IDENTIFIERS_ENABLED = "com.twitter.sdk.android.COLLECT_IDENTIFIERS_ENABLED";
     static final String ADVERTISING_PREFERENCES = "com.twitter.sdk.android.AdvertisingPreferences";
     static final String PREFKEY_INSTALLATION_UUID = "installation_uuid";
+    static final long ADVERTISING_INFO_TIMEOUT_MS = 2000;
 
     /**
      * Regex for stripping all non-alphnumeric characters from ALL the identifier fields.
@@ -48,8 +53,11 @@ public class IdManager {
     private final PreferenceStore preferenceStore;
 
     AdvertisingInfoProvider advertisingInfoProvider;
-    AdvertisingInfo advertisingInfo;
-    boolean fetchedAdvertisingInfo;
+    volatile AdvertisingInfo advertisingInfo;
+    volatile boolean fetchedAdvertisingInfo;
+    volatile boolean advertisingInfoChanged;
+    long advertisingInfoTimeoutMillis = ADVERTISING_INFO_TIMEOUT_MS;
+    private FutureTask<AdvertisingInfo> advertisingInfoTask;
 
     /**
      * @param appContext Application {@link Context}
@@ -73,6 +81,8 @@ public class IdManager {
         this.appIdentifier = appContext.getPackageName();
         this.advertisingInfoProvider = advertisingInfoProvider;
         this.preferenceStore = preferenceStore;
+        advertisingInfoProvider.setOnAdvertisingInfoChangedListener(
+                this::onAdvertisingInfoChanged);
 
         collectHardwareIds = CommonUtils.getBooleanResourceValue(appContext,
                 COLLECT_IDENTIFIERS_ENABLED, true);
@@ -176,10 +186,69 @@ public class IdManager {
         }
     }
 
-    synchronized AdvertisingInfo getAdvertisingInfo() {
+    /**
+     * Starts resolving the advertising info on a background thread, unless that already happened.
+     * Resolving binds to Google Play Services, which can be slow, so callers should not wait on it.
+     */
+    public void resolveAdvertisingInfoAsync() {
+        getAdvertisingInfoTask();
+    }
+
+    private synchronized FutureTask<AdvertisingInfo> getAdvertisingInfoTask() {
+        if (advertisingInfoTask == null) {
+            advertisingInfoTask = new FutureTask<>(() -> {
+                final AdvertisingInfo info = advertisingInfoProvider.getAdvertisingInfo();
+                synchronized (IdManager.this) {
+                    // A change reported while resolving is newer than the resolved info.
+                    if (!fetchedAdvertisingInfo) {
+                        setAdvertisingInfo(info);
+                    }
+                }
+                return info;
+            });
+            final Thread thread = new Thread(advertisingInfoTask, "TwitterAdvertisingInfo");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return advertisingInfoTask;
+    }
+
+    private synchronized void setAdvertisingInfo(AdvertisingInfo advertisingInfo) {
+        this.advertisingInfo = advertisingInfo;
+        fetchedAdvertisingInfo = true;
+    }
+
+    private synchronized void onAdvertisingInfoChanged(AdvertisingInfo advertisingInfo) {
+        advertisingInfoChanged = true;
+        setAdvertisingInfo(advertisingInfo);
+    }
+
+    /**
+     * @return the advertising info, waiting at most {@link #ADVERTISING_INFO_TIMEOUT_MS} for it
+     * to be resolved, or null if it could not be resolved in time.
+     */
+    AdvertisingInfo getAdvertisingInfo() {
+        if (!fetchedAdvertisingInfo) {
+            try {
+                getAdvertisingInfoTask().get(advertisingInfoTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                Twitter.getLogger().d(Twitter.TAG, "Timed out resolving AdvertisingInfo");
+            } catch (ExecutionException e) {
+                Twitter.getLogger().e(Twitter.TAG, "Failed to resolve AdvertisingInfo", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return advertisingInfo;
+    }
+
+    /**
+     * @return the advertising info if it has been resolved already, otherwise starts resolving
+     * it and returns null without waiting.
+     */
+    AdvertisingInfo getResolvedAdvertisingInfo() {
         if (!fetchedAdvertisingInfo) {
-            advertisingInfo = advertisingInfoProvider.getAdvertisingInfo();
-            fetchedAdvertisingInfo = true;
+            resolveAdvertisingInfoAsync();
         }
         return advertisingInfo;
     }
@@ -209,4 +278,42 @@ public class IdManager {
 
         return toReturn;
     }
+
+    /**
+     * Returns the advertising id to fill into events that were recorded before it was resolved,
+     * without waiting. Returns null if it has not been resolved yet, if limit ad tracking is
+     * enabled, or if the advertising info changed after it was first resolved, as the events may
+     * then have been recorded under an earlier advertising id or tracking choice.
+     *
+     * The first resolution can return the advertising info stored by an earlier run while the
+     * current info is read in the background, so an id reset between the two runs is only
+     * noticed once that read completes.
+     */
+    public String getAdvertisingIdForEarlierEvents() {
+        if (!collectHardwareIds || advertisingInfoChanged) {
+            return null;
+        }
+        final AdvertisingInfo advertisingInfo = getResolvedAdvertisingInfo();
+        if (advertisingInfo == null || advertisingInfo.getLimitAdTrackingEnabled()) {
+            return null;
+        }
+        return advertisingInfo.getAdvertisingId();
+    }
+
+    /**
+     * Same as {@link #getAdvertisingId()}, but returns null instead of waiting if the advertising
+     * info has not been resolved yet.
+     */
+    public String getResolvedAdvertisingId() {
+        String toReturn = null;
+
+        if (collectHardwareIds) {
+            final AdvertisingInfo advertisingInfo = getResolvedAdvertisingInfo();
+            if (advertisingInfo != null) {
+                toReturn = advertisingInfo.getAdvertisingId();
+            }
+        }
+
+        return toReturn;
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ThreadPoolExecutor} with a fixed number of threads and a bounded queue, that records how
+ * long tasks wait and run, and how many tasks are rejected because the queue is full.
+ */
+public class InstrumentedThreadPoolExecutor extends ThreadPoolExecutor {
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong rejectedTasks = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+    private final ThreadLocal<Long> startNanos = new ThreadLocal<>();
+    private final RejectedExecutionHandler rejectedExecutionHandler;
+
+    public InstrumentedThreadPoolExecutor(int threads, long keepAlive, TimeUnit unit,
+            int queueCapacity, ThreadFactory threadFactory,
+            RejectedExecutionHandler rejectedExecutionHandler) {
+        super(threads, threads, keepAlive, unit, new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory);
+        // Idle threads are not kept around, the pool is sized for bursts.
+        allowCoreThreadTimeOut(true);
+        this.rejectedExecutionHandler = rejectedExecutionHandler;
+        setRejectedExecutionHandler((runnable, executor) -> {
+            rejectedTasks.incrementAndGet();
+            rejectedExecutionHandler.rejectedExecution(unwrap(runnable), executor);
+        });
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        super.execute(new QueuedRunnable(command, System.nanoTime()));
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable) {
+        super.beforeExecute(thread, runnable);
+        final long now = System.nanoTime();
+        if (runnable instanceof QueuedRunnable) {
+            record(now - ((QueuedRunnable) runnable).queuedNanos, totalWaitNanos, maxWaitNanos);
+        }
+        startNanos.set(now);
+    }
+
+    @Override
+    protected void afterExecute(Runnable runnable, Throwable throwable) {
+        final Long start = startNanos.get();
+        if (start != null) {
+            record(System.nanoTime() - start, totalRunNanos, maxRunNanos);
+            startNanos.remove();
+        }
+        completedTasks.incrementAndGet();
+        super.afterExecute(runnable, throwable);
+    }
+
+    /**
+     * @return the current queue depth, including tasks waiting for an overflow thread, and the
+     * task timings recorded so far.
+     */
+    public ExecutorMetrics getMetrics() {
+        final int overflowQueueDepth =
+                rejectedExecutionHandler instanceof ExecutorUtils.OverflowPolicy
+                        ? ((ExecutorUtils.OverflowPolicy) rejectedExecutionHandler).getQueueDepth()
+                        : 0;
+        return new ExecutorMetrics(getQueue().size(), getActiveCount(), completedTasks.get(),
+                rejectedTasks.get(), toMillis(totalWaitNanos), toMillis(maxWaitNanos),
+                toMillis(totalRunNanos), toMillis(maxRunNanos), overflowQueueDepth);
+    }
+
+    private static void record(long nanos, AtomicLong total, AtomicLong max) {
+        total.addAndGet(nanos);
+        long currentMax = max.get();
+        while (nanos > currentMax && !max.compareAndSet(currentMax, nanos)) {
+            currentMax = max.get();
+        }
+    }
+
+    private static long toMillis(AtomicLong nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos.get());
+    }
+
+    /*
+     * Rejection policies such as CallerRunsPolicy run the task themselves, so they are handed
+     * the task that was passed in.
+     */
+    private static Runnable unwrap(Runnable runnable) {
+        return runnable instanceof QueuedRunnable ? ((QueuedRunnable) runnable).runnable
+                : runnable;
+    }
+
+    static class QueuedRunnable implements Runnable {
+        final Runnable runnable;
+        final long queuedNanos;
+
+        QueuedRunnable(Runnable runnable, long queuedNanos) {
+            this.runnable = runnable;
+            this.queuedNanos = queuedNanos;
+        }
+
+        @Override
+        public void run() {
+            runnable.run();
+        }
+    }
+}
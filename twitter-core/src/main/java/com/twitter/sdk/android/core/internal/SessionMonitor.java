@@ -24,7 +24,11 @@ import com.twitter.sdk.android.core.Session;
 import com.twitter.sdk.android.core.SessionManager;
 
 import java.util.Calendar;
+import java.util.Map;
+import java.util.Queue;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -32,8 +36,17 @@ import java.util.concurrent.ExecutorService;
  * @param <T>
  */
 public class SessionMonitor<T extends Session> {
+    /*
+     * Sessions are verified at most this many at a time, so an app with many accounts does not
+     * open a burst of connections when it comes to the foreground.
+     */
+    static final int MAX_CONCURRENT_VERIFICATIONS = 2;
+
     protected final MonitorState monitorState;
 
+    // Time each session was last verified, keyed by session id.
+    private final Map<Long, Long> lastVerifications = new ConcurrentHashMap<>();
+
     private final SystemCurrentTimeProvider time;
     private final SessionManager<T> sessionManager;
     private final ExecutorService executorService;
@@ -88,18 +101,90 @@ public class SessionMonitor<T extends Session> {
     }
 
     protected void verifyAll() {
-        for (T session : sessionManager.getSessionMap().values()) {
-            sessionVerifier.verifySession(session);
+        final long currentTime = time.getCurrentTimeMillis();
+        final Map<Long, T> sessions = sessionManager.getSessionMap();
+        lastVerifications.keySet().retainAll(sessions.keySet());
+
+        final Queue<T> pending = new ConcurrentLinkedQueue<>();
+        for (T session : sessions.values()) {
+            if (!monitorState.isVerifiedRecently(lastVerifications.get(session.getId()),
+                    currentTime)) {
+                pending.add(session);
+            }
+        }
+
+        final VerificationBatch batch = new VerificationBatch(pending);
+        final int helpers = Math.min(pending.size(), MAX_CONCURRENT_VERIFICATIONS) - 1;
+        for (int i = 0; i < helpers; i++) {
+            executorService.submit(batch);
+        }
+        try {
+            batch.runAndAwait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
         monitorState.endVerification(time.getCurrentTimeMillis());
     }
 
+    private void verifySession(T session) {
+        if (sessionVerifier.verifySession(session)) {
+            lastVerifications.put(session.getId(), time.getCurrentTimeMillis());
+        }
+    }
+
+    /**
+     * Verifies the sessions of a queue. The thread that starts verification works through the
+     * queue, and helpers submitted to the executor take sessions from the same queue when they
+     * get to run.
+     */
+    class VerificationBatch implements Runnable {
+        private final Queue<T> pending;
+        private int activeWorkers;
+
+        VerificationBatch(Queue<T> pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                activeWorkers++;
+            }
+            try {
+                T session;
+                while ((session = pending.poll()) != null) {
+                    verifySession(session);
+                }
+            } finally {
+                synchronized (this) {
+                    activeWorkers--;
+                    notifyAll();
+                }
+            }
+        }
+
+        void runAndAwait() throws InterruptedException {
+            run();
+            synchronized (this) {
+                while (activeWorkers > 0) {
+                    wait();
+                }
+            }
+        }
+    }
+
     /**
      * Encapsulates time based state that rate limits our calls to the verification api.
      * Ensure we don't end up with racy parallel calls with beginVerification.
+     *
+     * Each session is verified again once {@link #TIME_THRESHOLD_IN_MILLIS} has passed or the
+     * day has changed. Passes over the sessions run at most every
+     * {@link #PASS_THRESHOLD_IN_MILLIS}, so sessions added since the previous pass and sessions
+     * that failed to verify do not wait for the full threshold.
      */
     protected static class MonitorState {
         private static final long TIME_THRESHOLD_IN_MILLIS = 6 * DateUtils.HOUR_IN_MILLIS;
+        private static final long PASS_THRESHOLD_IN_MILLIS = DateUtils.HOUR_IN_MILLIS;
 
         public boolean verifying;
         public long lastVerification;
@@ -112,7 +197,7 @@ public class SessionMonitor<T extends Session> {
 
         public synchronized boolean beginVerification(long currentTime) {
             final boolean isPastThreshold
-                    = currentTime - lastVerification > TIME_THRESHOLD_IN_MILLIS;
+                    = currentTime - lastVerification > PASS_THRESHOLD_IN_MILLIS;
             final boolean dayHasChanged = !isOnSameDate(currentTime, lastVerification);
 
             if (!verifying && (isPastThreshold || dayHasChanged)) {
@@ -121,12 +206,22 @@ public class SessionMonitor<T extends Session> {
             return false;
         }
 
+        /**
+         * @return true if a session last verified at the time does not need to be verified
+         * again yet.
+         */
+        public boolean isVerifiedRecently(Long lastSessionVerification, long currentTime) {
+            return lastSessionVerification != null
+                    && currentTime - lastSessionVerification <= TIME_THRESHOLD_IN_MILLIS
+                    && isOnSameDate(currentTime, lastSessionVerification);
+        }
+
         public synchronized void endVerification(long currentTime) {
             verifying = false;
             lastVerification = currentTime;
         }
 
-        private boolean isOnSameDate(long timeA, long timeB) {
+        private synchronized boolean isOnSameDate(long timeA, long timeB) {
             utcCalendar.setTimeInMillis(timeA);
             final int dayA = utcCalendar.get(Calendar.DAY_OF_YEAR);
             final int yearA = utcCalendar.get(Calendar.YEAR);
@@ -20,5 +20,9 @@ package com.twitter.sdk.android.core.internal;
 import com.twitter.sdk.android.core.Session;
 
 public interface SessionVerifier<T extends Session> {
-    void verifySession(T session);
+    /**
+     * @return true if the session was verified, false if verification failed and should be
+     * attempted again.
+     */
+    boolean verifySession(T session);
 }
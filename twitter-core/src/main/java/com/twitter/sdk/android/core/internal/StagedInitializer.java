@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal;
+
+import android.os.Build;
+import android.os.Trace;
+
+import com.twitter.sdk.android.core.Twitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the initialization work of the kits off the calling thread. Critical stages are started
+ * in parallel as soon as they are added. Deferred stages wait until no critical stage is pending,
+ * then also run in parallel. The duration of every stage is recorded, and is visible in systrace
+ * as a section named after the stage.
+ */
+public class StagedInitializer {
+    private final ExecutorService executorService;
+    private final Map<String, Long> stageTimings = new LinkedHashMap<>();
+    private final List<Stage> deferredStages = new ArrayList<>();
+    private int pendingCriticalStages;
+
+    public StagedInitializer(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Starts a stage that other kits or the first API calls are likely to depend on.
+     *
+     * @param name the name the stage is traced and timed under
+     * @param stage the work of the stage
+     */
+    public void addCriticalStage(String name, Runnable stage) {
+        synchronized (this) {
+            pendingCriticalStages++;
+        }
+        execute(new Stage(name, stage, true));
+    }
+
+    /**
+     * Adds a stage that can wait until the critical stages have completed.
+     *
+     * @param name the name the stage is traced and timed under
+     * @param stage the work of the stage
+     */
+    public void addDeferredStage(String name, Runnable stage) {
+        final Stage deferred = new Stage(name, stage, false);
+        synchronized (this) {
+            if (pendingCriticalStages > 0) {
+                deferredStages.add(deferred);
+                return;
+            }
+        }
+        execute(deferred);
+    }
+
+    /**
+     * @return the duration in milliseconds of each completed stage, in order of completion.
+     */
+    public synchronized Map<String, Long> getStageTimings() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(stageTimings));
+    }
+
+    private void execute(Stage stage) {
+        executorService.execute(stage);
+    }
+
+    void onStageCompleted(Stage stage, long durationMillis) {
+        final List<Stage> ready;
+        synchronized (this) {
+            stageTimings.put(stage.name, durationMillis);
+            if (!stage.critical || --pendingCriticalStages > 0) {
+                return;
+            }
+            ready = new ArrayList<>(deferredStages);
+            deferredStages.clear();
+        }
+
+        for (Stage deferred : ready) {
+            execute(deferred);
+        }
+    }
+
+    class Stage implements Runnable {
+        final String name;
+        final Runnable work;
+        final boolean critical;
+
+        Stage(String name, Runnable work, boolean critical) {
+            this.name = name;
+            this.work = work;
+            this.critical = critical;
+        }
+
+        @Override
+        public void run() {
+            final long start = System.nanoTime();
+            beginSection(name);
+            try {
+                work.run();
+            } catch (Exception e) {
+                Twitter.getLogger().e(Twitter.TAG, "Initialization stage " + name + " failed", e);
+            } finally {
+                endSection();
+                final long durationMillis =
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                Twitter.getLogger().d(Twitter.TAG, String.format(Locale.US,
+                        "Initialization stage %s took %d ms", name, durationMillis));
+                onStageCompleted(this, durationMillis);
+            }
+        }
+    }
+
+    private static void beginSection(String name) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.beginSection(name);
+        }
+    }
+
+    private static void endSection() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.endSection();
+        }
+    }
+}
@@ -26,6 +26,8 @@ import com.twitter.sdk.android.core.services.AccountService;
 
 import java.io.IOException;
 
+import okhttp3.OkHttpClient;
+
 public class TwitterSessionVerifier implements SessionVerifier<TwitterSession> {
     static final String SCRIBE_CLIENT = "android";
     static final String SCRIBE_PAGE = "credentials";
@@ -51,16 +53,20 @@ public class TwitterSessionVerifier implements SessionVerifier<TwitterSession> {
      * Verify session uses the synchronous api to simplify marking when verification is done.
      *
      * @param session
+     * @return true if the verification request got a response
      */
-    public void verifySession(final TwitterSession session) {
+    public boolean verifySession(final TwitterSession session) {
         final AccountService accountService = accountServiceProvider.getAccountService(session);
         try {
             scribeVerifySession();
-            accountService.verifyCredentials(true, false, false).execute();
+            // Only the status code matters, so ask for the smallest response.
+            accountService.verifyCredentials(false, true, false).execute();
+            return true;
         } catch (IOException | RuntimeException e) {
             // We ignore failures since we will attempt the verification again the next time
             // the verification period comes up. This has the potential to lose events, but we
             // are not aiming towards 100% capture rate.
+            return false;
         }
     }
 
@@ -84,8 +90,13 @@ public class TwitterSessionVerifier implements SessionVerifier<TwitterSession> {
      * SessionMonitor
      */
     protected static class AccountServiceProvider {
+        // Shared by the clients of all verified sessions, so they need not be shut down.
+        private final OkHttpClient httpClient = new OkHttpClient();
+
         public AccountService getAccountService(TwitterSession session) {
-            return new TwitterApiClient(session).getAccountService();
+            // Not taken from the cached clients of TwitterCore, so that verifying every session
+            // does not evict the clients the app is using.
+            return new TwitterApiClient(session, httpClient).getAccountService();
         }
     }
 }
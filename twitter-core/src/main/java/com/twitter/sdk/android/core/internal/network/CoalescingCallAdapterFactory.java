@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.network;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+/**
+ * Merges identical asynchronous GET calls while one of them is in flight. Every caller receives
+ * the same {@link Response}, including the same decoded body instance. Calls are only merged
+ * within the Retrofit instance the factory is installed on, which is bound to a single auth
+ * identity. Disabled by default.
+ */
+public class CoalescingCallAdapterFactory extends CallAdapter.Factory {
+    // Guarded by this
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+    private volatile boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class || !(returnType instanceof ParameterizedType)
+                || !isGet(annotations)) {
+            return null;
+        }
+
+        final Type responseType = getParameterUpperBound(0, (ParameterizedType) returnType);
+        if (getRawType(responseType) == ResponseBody.class) {
+            // Raw bodies are single use streams and cannot be shared.
+            return null;
+        }
+
+        final CallAdapter<Object, Call<Object>> delegate = (CallAdapter<Object, Call<Object>>)
+                retrofit.nextCallAdapter(this, returnType, annotations);
+        return new CallAdapter<Object, Call<Object>>() {
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+
+            @Override
+            public Call<Object> adapt(Call<Object> call) {
+                return new CoalescingCall<>(CoalescingCallAdapterFactory.this,
+                        responseType.toString(), delegate.adapt(call));
+            }
+        };
+    }
+
+    private static boolean isGet(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof GET) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of distinct requests currently in flight.
+     */
+    synchronized int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    <T> void enqueue(String key, Call<T> call, Waiter<T> waiter) {
+        final InFlight flight;
+        synchronized (this) {
+            final InFlight existing = inFlight.get(key);
+            if (existing != null && !existing.call.isCanceled()) {
+                existing.waiters.add(waiter);
+                waiter.flight = existing;
+                return;
+            }
+
+            flight = new InFlight(call);
+            flight.waiters.add(waiter);
+            waiter.flight = flight;
+            inFlight.put(key, flight);
+        }
+
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                final List<Waiter<T>> waiters = complete(key, flight);
+                for (Waiter<T> waiter : waiters) {
+                    if (waiter.canceled) {
+                        waiter.callback.onFailure(waiter.call, new IOException("Canceled"));
+                    } else {
+                        waiter.callback.onResponse(waiter.call, response);
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                final List<Waiter<T>> waiters = complete(key, flight);
+                for (Waiter<T> waiter : waiters) {
+                    waiter.callback.onFailure(waiter.call, t);
+                }
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized <T> List<Waiter<T>> complete(String key, InFlight flight) {
+        if (inFlight.get(key) == flight) {
+            inFlight.remove(key);
+        }
+
+        final List<Waiter<T>> waiters = new ArrayList<>();
+        for (Waiter<?> waiter : flight.waiters) {
+            waiters.add((Waiter<T>) waiter);
+        }
+        return waiters;
+    }
+
+    void cancel(Waiter<?> waiter) {
+        final Call<?> call;
+        synchronized (this) {
+            waiter.canceled = true;
+            final InFlight flight = waiter.flight;
+            if (flight == null) {
+                return;
+            }
+            for (Waiter<?> other : flight.waiters) {
+                if (!other.canceled) {
+                    return;
+                }
+            }
+            call = flight.call;
+        }
+        // Only cancel the shared request once every caller has canceled.
+        call.cancel();
+    }
+
+    static class InFlight {
+        final Call<?> call;
+        final List<Waiter<?>> waiters = new ArrayList<>();
+
+        InFlight(Call<?> call) {
+            this.call = call;
+        }
+    }
+
+    static class Waiter<T> {
+        final Call<T> call;
+        final Callback<T> callback;
+        // Guarded by the factory
+        InFlight flight;
+        volatile boolean canceled;
+
+        Waiter(Call<T> call, Callback<T> callback) {
+            this.call = call;
+            this.callback = callback;
+        }
+    }
+
+    static class CoalescingCall<T> implements Call<T> {
+        private final CoalescingCallAdapterFactory factory;
+        private final String responseType;
+        private final Call<T> delegate;
+        private volatile Waiter<T> waiter;
+        private boolean executed;
+
+        CoalescingCall(CoalescingCallAdapterFactory factory, String responseType,
+                Call<T> delegate) {
+            this.factory = factory;
+            this.responseType = responseType;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            markExecuted();
+            return delegate.execute();
+        }
+
+        @Override
+        public void enqueue(Callback<T> callback) {
+            markExecuted();
+            if (!factory.isEnabled()) {
+                delegate.enqueue(callback);
+                return;
+            }
+
+            final Request request = delegate.request();
+            waiter = new Waiter<>(this, callback);
+            factory.enqueue(responseType + " " + request.url(), delegate, waiter);
+        }
+
+        private synchronized void markExecuted() {
+            if (executed) {
+                throw new IllegalStateException("Already executed.");
+            }
+            executed = true;
+        }
+
+        @Override
+        public synchronized boolean isExecuted() {
+            return executed;
+        }
+
+        @Override
+        public void cancel() {
+            final Waiter<T> current = waiter;
+            if (current == null) {
+                delegate.cancel();
+            } else {
+                factory.cancel(current);
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            final Waiter<T> current = waiter;
+            return current == null ? delegate.isCanceled() : current.canceled;
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new CoalescingCall<>(factory, responseType, delegate.clone());
+        }
+
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.network;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * Compresses request bodies with gzip and sets the matching Content-Encoding header. Can be
+ * turned off at runtime, for example when the server rejects compressed bodies.
+ */
+public class GzipRequestInterceptor implements Interceptor {
+    static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+    static final String GZIP = "gzip";
+
+    private volatile boolean enabled;
+
+    public GzipRequestInterceptor(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        if (!enabled || request.body() == null
+                || request.header(HEADER_CONTENT_ENCODING) != null) {
+            return chain.proceed(request);
+        }
+
+        final Request compressedRequest = request.newBuilder()
+                .header(HEADER_CONTENT_ENCODING, GZIP)
+                .method(request.method(), gzip(request.body()))
+                .build();
+        return chain.proceed(compressedRequest);
+    }
+
+    static RequestBody gzip(final RequestBody body) {
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return body.contentType();
+            }
+
+            @Override
+            public long contentLength() {
+                // Compressed length is not known up front.
+                return -1;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                final BufferedSink gzipSink = Okio.buffer(new GzipSink(sink));
+                body.writeTo(gzipSink);
+                gzipSink.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.network;
+
+import com.twitter.sdk.android.core.NetworkMetrics;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+/**
+ * Wraps a converter factory to record response decode time into {@link NetworkMetrics}. Since
+ * converters read the body as they decode it, the recorded time includes reading the body.
+ */
+public class NetworkMetricsConverterFactory extends Converter.Factory {
+    private final NetworkMetrics metrics;
+    private final Converter.Factory delegate;
+
+    public NetworkMetricsConverterFactory(Converter.Factory delegate) {
+        this(NetworkMetrics.getInstance(), delegate);
+    }
+
+    NetworkMetricsConverterFactory(NetworkMetrics metrics, Converter.Factory delegate) {
+        this.metrics = metrics;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+            Retrofit retrofit) {
+        final Converter<ResponseBody, ?> converter =
+                delegate.responseBodyConverter(type, annotations, retrofit);
+        if (converter == null) {
+            return null;
+        }
+
+        final String endpoint = UrlUtils.getEndpointTemplate(getPath(annotations));
+        return (Converter<ResponseBody, Object>) value -> {
+            if (!metrics.isEnabled()) {
+                return converter.convert(value);
+            }
+
+            final long start = System.nanoTime();
+            try {
+                return converter.convert(value);
+            } finally {
+                metrics.record(endpoint, NetworkMetrics.Metric.DECODE,
+                        (System.nanoTime() - start) / 1000);
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type,
+            Annotation[] parameterAnnotations, Annotation[] methodAnnotations, Retrofit retrofit) {
+        return delegate.requestBodyConverter(type, parameterAnnotations, methodAnnotations,
+                retrofit);
+    }
+
+    @Override
+    public Converter<?, String> stringConverter(Type type, Annotation[] annotations,
+            Retrofit retrofit) {
+        return delegate.stringConverter(type, annotations, retrofit);
+    }
+
+    static String getPath(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof GET) {
+                return ((GET) annotation).value();
+            } else if (annotation instanceof POST) {
+                return ((POST) annotation).value();
+            } else if (annotation instanceof PUT) {
+                return ((PUT) annotation).value();
+            } else if (annotation instanceof DELETE) {
+                return ((DELETE) annotation).value();
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.network;
+
+import com.twitter.sdk.android.core.NetworkMetrics;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Records DNS, connect, TLS, time to first byte and body size of a call into
+ * {@link NetworkMetrics}. Events are forwarded to the listener the client was built with.
+ */
+public class NetworkMetricsEventListener extends EventListener {
+    private static final long NOT_STARTED = -1;
+
+    private final NetworkMetrics metrics;
+    private final EventListener delegate;
+
+    private long dnsStart = NOT_STARTED;
+    private long dnsMicros = NOT_STARTED;
+    private long connectStart = NOT_STARTED;
+    private long connectMicros = NOT_STARTED;
+    private long secureConnectStart = NOT_STARTED;
+    private long secureConnectMicros = NOT_STARTED;
+    private long requestStart = NOT_STARTED;
+    private long timeToFirstByteMicros = NOT_STARTED;
+    private long bodyBytes = NOT_STARTED;
+
+    NetworkMetricsEventListener(NetworkMetrics metrics, EventListener delegate) {
+        this.metrics = metrics;
+        this.delegate = delegate;
+    }
+
+    /**
+     * @param delegate the factory the client was built with, may be null.
+     * @return a factory which only creates recording listeners while metrics are enabled.
+     */
+    public static EventListener.Factory factory(EventListener.Factory delegate) {
+        return new Factory(NetworkMetrics.getInstance(), delegate);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        delegate.callStart(call);
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+        delegate.dnsStart(call, domainName);
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        dnsMicros = elapsedMicros(dnsStart);
+        delegate.dnsEnd(call, domainName, inetAddressList);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+        delegate.connectStart(call, inetSocketAddress, proxy);
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+        delegate.secureConnectStart(call);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        secureConnectMicros = elapsedMicros(secureConnectStart);
+        delegate.secureConnectEnd(call, handshake);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+            Protocol protocol) {
+        connectMicros = elapsedMicros(connectStart);
+        delegate.connectEnd(call, inetSocketAddress, proxy, protocol);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+            Protocol protocol, IOException ioe) {
+        delegate.connectFailed(call, inetSocketAddress, proxy, protocol, ioe);
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        delegate.connectionAcquired(call, connection);
+    }
+
+    @Override
+    public void connectionReleased(Call call, Connection connection) {
+        delegate.connectionReleased(call, connection);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = System.nanoTime();
+        delegate.requestHeadersStart(call);
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        delegate.requestHeadersEnd(call, request);
+    }
+
+    @Override
+    public void requestBodyStart(Call call) {
+        delegate.requestBodyStart(call);
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        delegate.requestBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        timeToFirstByteMicros = elapsedMicros(requestStart);
+        delegate.responseHeadersStart(call);
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        delegate.responseHeadersEnd(call, response);
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        delegate.responseBodyStart(call);
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        bodyBytes = byteCount;
+        delegate.responseBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        final String endpoint = UrlUtils.getEndpointTemplate(call.request().url().encodedPath());
+        recordIfMeasured(endpoint, NetworkMetrics.Metric.DNS, dnsMicros);
+        recordIfMeasured(endpoint, NetworkMetrics.Metric.CONNECT, connectMicros);
+        recordIfMeasured(endpoint, NetworkMetrics.Metric.TLS, secureConnectMicros);
+        recordIfMeasured(endpoint, NetworkMetrics.Metric.TIME_TO_FIRST_BYTE,
+                timeToFirstByteMicros);
+        recordIfMeasured(endpoint, NetworkMetrics.Metric.BODY_BYTES, bodyBytes);
+        delegate.callEnd(call);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        delegate.callFailed(call, ioe);
+    }
+
+    private void recordIfMeasured(String endpoint, NetworkMetrics.Metric metric, long value) {
+        if (value != NOT_STARTED) {
+            metrics.record(endpoint, metric, value);
+        }
+    }
+
+    private static long elapsedMicros(long startNanos) {
+        return startNanos == NOT_STARTED ? NOT_STARTED : (System.nanoTime() - startNanos) / 1000;
+    }
+
+    static class Factory implements EventListener.Factory {
+        private final NetworkMetrics metrics;
+        private final EventListener.Factory delegate;
+
+        Factory(NetworkMetrics metrics, EventListener.Factory delegate) {
+            this.metrics = metrics;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public EventListener create(Call call) {
+            final EventListener listener = delegate == null ? EventListener.NONE
+                    : delegate.create(call);
+            return metrics.isEnabled() ? new NetworkMetricsEventListener(metrics, listener)
+                    : listener;
+        }
+    }
+}
@@ -23,11 +23,13 @@ import com.twitter.sdk.android.core.TwitterAuthConfig;
 import com.twitter.sdk.android.core.TwitterAuthToken;
 
 import okhttp3.CertificatePinner;
+import okhttp3.EventListener;
 import okhttp3.OkHttpClient;
 
 public class OkHttpClientHelper {
     public static OkHttpClient getOkHttpClient(GuestSessionProvider guestSessionProvider) {
-        return addGuestAuth(new OkHttpClient.Builder(), guestSessionProvider).build();
+        return addGuestAuth(addMetrics(new OkHttpClient.Builder(), null), guestSessionProvider)
+                .build();
     }
 
     public static OkHttpClient getOkHttpClient(Session<? extends TwitterAuthToken> session,
@@ -36,7 +38,8 @@ public class OkHttpClientHelper {
             throw new IllegalArgumentException("Session must not be null.");
         }
 
-        return addSessionAuth(new OkHttpClient.Builder(), session, authConfig).build();
+        return addSessionAuth(addMetrics(new OkHttpClient.Builder(), null), session, authConfig)
+                .build();
     }
 
     public static OkHttpClient getCustomOkHttpClient(OkHttpClient httpClient,
@@ -45,8 +48,8 @@ public class OkHttpClientHelper {
             throw new IllegalArgumentException("HttpClient must not be null.");
         }
 
-        return addGuestAuth(httpClient.newBuilder(), guestSessionProvider)
-                .build();
+        return addGuestAuth(addMetrics(httpClient.newBuilder(), httpClient.eventListenerFactory()),
+                guestSessionProvider).build();
     }
 
     public static OkHttpClient getCustomOkHttpClient(
@@ -61,8 +64,8 @@ public class OkHttpClientHelper {
             throw new IllegalArgumentException("HttpClient must not be null.");
         }
 
-        return addSessionAuth(httpClient.newBuilder(), session, authConfig)
-                .build();
+        return addSessionAuth(addMetrics(httpClient.newBuilder(),
+                httpClient.eventListenerFactory()), session, authConfig).build();
     }
 
     static OkHttpClient.Builder addGuestAuth(OkHttpClient.Builder builder,
@@ -82,6 +85,16 @@ public class OkHttpClientHelper {
                 .addInterceptor(new OAuth1aInterceptor(session, authConfig));
     }
 
+    /**
+     * Installs the {@link NetworkMetricsEventListener} factory, wrapping the given factory so
+     * events are still delivered to it.
+     */
+    public static OkHttpClient.Builder addMetrics(OkHttpClient.Builder builder,
+            EventListener.Factory eventListenerFactory) {
+        return builder.eventListenerFactory(
+                NetworkMetricsEventListener.factory(eventListenerFactory));
+    }
+
     public static CertificatePinner getCertificatePinner() {
         return new CertificatePinner.Builder()
                 .add("*.twitter.com", "sha1/I0PRSKJViZuUfUYaeX7ATP7RcLc=") //VERISIGN_CLASS1
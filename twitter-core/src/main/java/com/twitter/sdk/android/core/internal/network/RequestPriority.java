@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.network;
+
+/**
+ * Priority of an SDK request, used by {@link RequestScheduler} to order requests to the same host.
+ * Declared from most to least urgent.
+ */
+public enum RequestPriority {
+    /**
+     * Direct result of a user action, such as liking a Tweet.
+     */
+    IMMEDIATE(5),
+    /**
+     * Content that is about to be displayed.
+     */
+    VISIBLE(4),
+    /**
+     * Speculative loads, such as the next page of a timeline.
+     */
+    PREFETCH(3),
+    /**
+     * Work the user never waits on, such as scribe uploads.
+     */
+    BACKGROUND(2);
+
+    /*
+     * A request only starts while fewer than this many requests to its host are in flight, so
+     * every priority keeps slots in reserve for the more urgent ones.
+     */
+    final int maxRequestsPerHost;
+
+    RequestPriority(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+}
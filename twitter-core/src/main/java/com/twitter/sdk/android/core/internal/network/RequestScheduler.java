@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.network;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Orders SDK requests by {@link RequestPriority} and caps how many requests to the same host are in
+ * flight, so user visible work never waits behind background work in the OkHttp dispatcher.
+ */
+public class RequestScheduler {
+    private static final RequestScheduler INSTANCE = new RequestScheduler();
+
+    // Guarded by this
+    private final Map<String, HostQueue> hosts = new HashMap<>();
+    private long sequence;
+
+    public static RequestScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    // Testing only
+    RequestScheduler() {
+    }
+
+    /**
+     * Asynchronously sends the request once the host has capacity for its priority.
+     *
+     * @param call the request to send.
+     * @param priority the priority of the request.
+     * @param callback the callback to notify when the request completes.
+     */
+    public <T> void enqueue(final Call<T> call, RequestPriority priority,
+            final Callback<T> callback) {
+        final String host = getHost(call);
+        schedule(new ScheduledRequest(host, priority, () -> {
+            try {
+                call.enqueue(new Callback<T>() {
+                    @Override
+                    public void onResponse(Call<T> call, Response<T> response) {
+                        finish(host);
+                        callback.onResponse(call, response);
+                    }
+
+                    @Override
+                    public void onFailure(Call<T> call, Throwable t) {
+                        finish(host);
+                        callback.onFailure(call, t);
+                    }
+                });
+            } catch (RuntimeException e) {
+                finish(host);
+                callback.onFailure(call, e);
+            }
+        }));
+    }
+
+    /**
+     * Synchronously sends the request, blocking until the host has capacity for its priority.
+     *
+     * @param call the request to send.
+     * @param priority the priority of the request.
+     * @return the response.
+     * @throws IOException if the request fails or the calling thread is interrupted while waiting.
+     */
+    public <T> Response<T> execute(Call<T> call, RequestPriority priority) throws IOException {
+        final String host = getHost(call);
+        final CountDownLatch started = new CountDownLatch(1);
+        final ScheduledRequest request = new ScheduledRequest(host, priority, started::countDown);
+        schedule(request);
+
+        try {
+            started.await();
+        } catch (InterruptedException e) {
+            if (!remove(request)) {
+                finish(host);
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to send request");
+        }
+
+        try {
+            return call.execute();
+        } finally {
+            finish(host);
+        }
+    }
+
+    /**
+     * @return the number of requests to the host waiting for capacity.
+     */
+    synchronized int getPendingCount(String host) {
+        final HostQueue queue = hosts.get(host);
+        return queue == null ? 0 : queue.pending.size();
+    }
+
+    /**
+     * @return the number of requests to the host that have been started and not yet finished.
+     */
+    synchronized int getRunningCount(String host) {
+        final HostQueue queue = hosts.get(host);
+        return queue == null ? 0 : queue.running;
+    }
+
+    static String getHost(Call<?> call) {
+        final Request request = call.request();
+        return request == null ? "" : request.url().host();
+    }
+
+    private void schedule(ScheduledRequest request) {
+        synchronized (this) {
+            HostQueue queue = hosts.get(request.host);
+            if (queue == null) {
+                queue = new HostQueue();
+                hosts.put(request.host, queue);
+            }
+            request.sequence = sequence++;
+            queue.pending.add(request);
+        }
+        promote(request.host);
+    }
+
+    private synchronized boolean remove(ScheduledRequest request) {
+        final HostQueue queue = hosts.get(request.host);
+        return queue != null && queue.pending.remove(request);
+    }
+
+    void finish(String host) {
+        synchronized (this) {
+            final HostQueue queue = hosts.get(host);
+            if (queue != null) {
+                queue.running--;
+            }
+        }
+        promote(host);
+    }
+
+    private void promote(String host) {
+        final List<ScheduledRequest> ready = new ArrayList<>();
+        synchronized (this) {
+            final HostQueue queue = hosts.get(host);
+            if (queue == null) {
+                return;
+            }
+
+            ScheduledRequest next;
+            while ((next = queue.pending.peek()) != null
+                    && queue.running < next.priority.maxRequestsPerHost) {
+                queue.pending.poll();
+                queue.running++;
+                ready.add(next);
+            }
+
+            if (queue.running == 0 && queue.pending.isEmpty()) {
+                hosts.remove(host);
+            }
+        }
+
+        // Start requests outside of the lock, OkHttp may call back on this thread.
+        for (ScheduledRequest request : ready) {
+            request.start.run();
+        }
+    }
+
+    static class HostQueue {
+        final PriorityQueue<ScheduledRequest> pending = new PriorityQueue<>();
+        int running;
+    }
+
+    static class ScheduledRequest implements Comparable<ScheduledRequest> {
+        final String host;
+        final RequestPriority priority;
+        final Runnable start;
+        long sequence;
+
+        ScheduledRequest(String host, RequestPriority priority, Runnable start) {
+            this.host = host;
+            this.priority = priority;
+            this.start = start;
+        }
+
+        @Override
+        public int compareTo(ScheduledRequest other) {
+            final int result = priority.compareTo(other.priority);
+            if (result != 0) {
+                return result;
+            }
+            return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+        }
+    }
+}
@@ -118,4 +118,56 @@ public final class UrlUtils {
         }
         return sb.toString();
     }
+
+    /**
+     * Reduces a request path to an endpoint template suitable for grouping requests, for example
+     * "/1.1/statuses/lookup.json" becomes "statuses/lookup". The API version prefix and ".json"
+     * suffix are removed and numeric path segments are replaced with ":id". Both request paths and
+     * Retrofit path declarations are accepted, so any query string is dropped and "{param}"
+     * segments are replaced with ":id" as well.
+     *
+     * @param path the request path
+     * @return the endpoint template
+     */
+    public static String getEndpointTemplate(String path) {
+        if (path == null) {
+            return "";
+        }
+        final int queryIndex = path.indexOf('?');
+        if (queryIndex >= 0) {
+            path = path.substring(0, queryIndex);
+        }
+        final StringBuilder sb = new StringBuilder();
+        final String[] segments = path.split("/");
+        boolean first = true;
+        for (String segment : segments) {
+            if (segment.isEmpty() || (first && isVersionSegment(segment))) {
+                continue;
+            }
+            if (!first) {
+                sb.append('/');
+            }
+            first = false;
+            if (isNumericSegment(segment) || isParameterSegment(segment)) {
+                sb.append(":id");
+            } else if (segment.endsWith(".json")) {
+                sb.append(segment, 0, segment.length() - ".json".length());
+            } else {
+                sb.append(segment);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isVersionSegment(String segment) {
+        return segment.matches("\\d+(\\.\\d+)?") || "{version}".equals(segment);
+    }
+
+    private static boolean isParameterSegment(String segment) {
+        return segment.matches("\\{[^}]+\\}(\\.json)?");
+    }
+
+    private static boolean isNumericSegment(String segment) {
+        return segment.matches("\\d+(\\.json)?");
+    }
 }
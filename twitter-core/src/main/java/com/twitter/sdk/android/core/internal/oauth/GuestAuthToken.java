@@ -29,6 +29,11 @@ public class GuestAuthToken extends OAuth2Token {
      * https://cgit.twitter.biz/birdcage/tree/passbird/server/src/main/scala/com/twitter/passbird/profile/PassbirdServerProfile.scala#n186
      */
     private static final long EXPIRES_IN_MS = DateUtils.HOUR_IN_MILLIS * 3;
+    /*
+     * Tokens are renewed in the background once they enter the last part of their known
+     * lifetime, so requests rarely have to wait on a refresh.
+     */
+    private static final long REFRESH_AHEAD_MS = DateUtils.MINUTE_IN_MILLIS * 15;
 
     @SerializedName("guest_token")
     private final String guestToken;
@@ -54,6 +59,13 @@ public class GuestAuthToken extends OAuth2Token {
         return System.currentTimeMillis() >= this.getCreatedAt() + EXPIRES_IN_MS;
     }
 
+    /**
+     * @return true if the token will be known to have expired soon and should be renewed.
+     */
+    public boolean isExpiringSoon() {
+        return System.currentTimeMillis() >= this.getCreatedAt() + EXPIRES_IN_MS - REFRESH_AHEAD_MS;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -43,7 +43,7 @@ abstract class OAuthService {
         this.api = api;
         userAgent = TwitterApi.buildUserAgent(CLIENT_NAME, twitterCore.getVersion());
 
-        final OkHttpClient client = new OkHttpClient.Builder()
+        final OkHttpClient client = OkHttpClientHelper.addMetrics(new OkHttpClient.Builder(), null)
                 .addInterceptor(chain -> {
                     final Request request = chain.request().newBuilder()
                             .header("User-Agent", getUserAgent())
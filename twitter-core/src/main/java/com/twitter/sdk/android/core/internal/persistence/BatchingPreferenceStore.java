@@ -0,0 +1,363 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.persistence;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.twitter.sdk.android.core.internal.ExecutorUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PreferenceStore} that holds saved changes in memory and writes them to the
+ * {@link SharedPreferences} file in a single batch shortly afterwards, on a background thread.
+ * Reads through {@link #get()} see the pending changes. Call {@link #flush()} where the changes
+ * have to be written right away, e.g. after logging in or out.
+ */
+public class BatchingPreferenceStore implements PreferenceStore {
+    static final long DEFAULT_BATCH_DELAY_MS = 100;
+
+    private static volatile ScheduledExecutorService executor;
+
+    /*
+     * Marks a key that is removed in the pending batch.
+     */
+    private static final Object REMOVED = new Object();
+
+    private final SharedPreferences sharedPreferences;
+    private final ScheduledExecutorService executorService;
+    private final long batchDelayMillis;
+    private final SharedPreferences pendingPreferences;
+    private final Map<String, Object> pendingChanges = new HashMap<>();
+    private boolean pendingClear;
+    private boolean flushScheduled;
+
+    public BatchingPreferenceStore(Context context, String name) {
+        this(getContextPreferences(context, name), getExecutor(), DEFAULT_BATCH_DELAY_MS);
+    }
+
+    BatchingPreferenceStore(SharedPreferences sharedPreferences,
+            ScheduledExecutorService executorService, long batchDelayMillis) {
+        this.sharedPreferences = sharedPreferences;
+        this.executorService = executorService;
+        this.batchDelayMillis = batchDelayMillis;
+        this.pendingPreferences = new PendingPreferences();
+    }
+
+    /**
+     * @return {@link android.content.SharedPreferences} that include the changes not yet written
+     */
+    @Override
+    public SharedPreferences get() {
+        return pendingPreferences;
+    }
+
+    /**
+     * @return an editor that records changes for {@link #save(SharedPreferences.Editor)}
+     */
+    @Override
+    public SharedPreferences.Editor edit() {
+        return new BatchEditor();
+    }
+
+    /**
+     * Adds the changes of the editor to the pending batch.
+     * @param editor
+     * @return boolean success
+     */
+    @Override
+    public boolean save(SharedPreferences.Editor editor) {
+        if (!(editor instanceof BatchEditor)) {
+            editor.apply();
+            return true;
+        }
+
+        final BatchEditor batchEditor = (BatchEditor) editor;
+        synchronized (this) {
+            if (batchEditor.clear) {
+                pendingClear = true;
+                pendingChanges.clear();
+            }
+            pendingChanges.putAll(batchEditor.changes);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                executorService.schedule(this::flush, batchDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the pending batch now. The changes are in the {@link SharedPreferences} when this
+     * returns, and are written to disk in the background.
+     */
+    @Override
+    public void flush() {
+        synchronized (this) {
+            flushScheduled = false;
+            if (pendingClear || !pendingChanges.isEmpty()) {
+                writePendingChanges(sharedPreferences.edit()).apply();
+                pendingClear = false;
+                pendingChanges.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes the pending batch and waits for it to be written to disk.
+     */
+    synchronized boolean commit() {
+        flushScheduled = false;
+        final boolean committed = writePendingChanges(sharedPreferences.edit()).commit();
+        pendingClear = false;
+        pendingChanges.clear();
+        return committed;
+    }
+
+    private SharedPreferences.Editor writePendingChanges(SharedPreferences.Editor editor) {
+        if (pendingClear) {
+            editor.clear();
+        }
+        for (Map.Entry<String, Object> change : pendingChanges.entrySet()) {
+            putValue(editor, change.getKey(), change.getValue());
+        }
+        return editor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void putValue(SharedPreferences.Editor editor, String key, Object value) {
+        if (value == REMOVED) {
+            editor.remove(key);
+        } else if (value instanceof String) {
+            editor.putString(key, (String) value);
+        } else if (value instanceof Set) {
+            editor.putStringSet(key, (Set<String>) value);
+        } else if (value instanceof Integer) {
+            editor.putInt(key, (Integer) value);
+        } else if (value instanceof Long) {
+            editor.putLong(key, (Long) value);
+        } else if (value instanceof Float) {
+            editor.putFloat(key, (Float) value);
+        } else if (value instanceof Boolean) {
+            editor.putBoolean(key, (Boolean) value);
+        }
+    }
+
+    /*
+     * Looks up a key in the pending batch. Returns null if the batch does not change the key,
+     * REMOVED if it removes the key or if the preferences are cleared.
+     */
+    private synchronized Object getPendingValue(String key) {
+        final Object value = pendingChanges.get(key);
+        if (value == null && pendingClear) {
+            return REMOVED;
+        }
+        return value;
+    }
+
+    private synchronized Map<String, ?> getAllWithPendingChanges() {
+        final Map<String, Object> all = new HashMap<>();
+        if (!pendingClear) {
+            all.putAll(sharedPreferences.getAll());
+        }
+        for (Map.Entry<String, Object> change : pendingChanges.entrySet()) {
+            if (change.getValue() == REMOVED) {
+                all.remove(change.getKey());
+            } else {
+                all.put(change.getKey(), change.getValue());
+            }
+        }
+        return all;
+    }
+
+    private static SharedPreferences getContextPreferences(Context context, String name) {
+        if (context == null) {
+            throw new IllegalArgumentException("Context must not be null");
+        }
+        return context.getSharedPreferences(name, Context.MODE_PRIVATE);
+    }
+
+    private static ScheduledExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (BatchingPreferenceStore.class) {
+                if (executor == null) {
+                    executor = ExecutorUtils.buildSingleThreadScheduledExecutorService(
+                            "twitter-preferences");
+                }
+            }
+        }
+        return executor;
+    }
+
+    class BatchEditor implements SharedPreferences.Editor {
+        final Map<String, Object> changes = new HashMap<>();
+        boolean clear;
+
+        @Override
+        public SharedPreferences.Editor putString(String key, String value) {
+            return put(key, value);
+        }
+
+        @Override
+        public SharedPreferences.Editor putStringSet(String key, Set<String> values) {
+            return put(key, values != null ? new HashSet<>(values) : null);
+        }
+
+        @Override
+        public SharedPreferences.Editor putInt(String key, int value) {
+            return put(key, value);
+        }
+
+        @Override
+        public SharedPreferences.Editor putLong(String key, long value) {
+            return put(key, value);
+        }
+
+        @Override
+        public SharedPreferences.Editor putFloat(String key, float value) {
+            return put(key, value);
+        }
+
+        @Override
+        public SharedPreferences.Editor putBoolean(String key, boolean value) {
+            return put(key, value);
+        }
+
+        @Override
+        public SharedPreferences.Editor remove(String key) {
+            return put(key, null);
+        }
+
+        @Override
+        public SharedPreferences.Editor clear() {
+            clear = true;
+            return this;
+        }
+
+        @Override
+        public boolean commit() {
+            save(this);
+            return BatchingPreferenceStore.this.commit();
+        }
+
+        @Override
+        public void apply() {
+            save(this);
+        }
+
+        private SharedPreferences.Editor put(String key, Object value) {
+            // Like SharedPreferences, putting null removes the key.
+            changes.put(key, value != null ? value : REMOVED);
+            return this;
+        }
+    }
+
+    class PendingPreferences implements SharedPreferences {
+        @Override
+        public Map<String, ?> getAll() {
+            return getAllWithPendingChanges();
+        }
+
+        @Override
+        public String getString(String key, String defValue) {
+            final Object value = getPendingValue(key);
+            if (value == null) {
+                return sharedPreferences.getString(key, defValue);
+            }
+            return value == REMOVED ? defValue : (String) value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Set<String> getStringSet(String key, Set<String> defValues) {
+            final Object value = getPendingValue(key);
+            if (value == null) {
+                return sharedPreferences.getStringSet(key, defValues);
+            }
+            return value == REMOVED ? defValues : (Set<String>) value;
+        }
+
+        @Override
+        public int getInt(String key, int defValue) {
+            final Object value = getPendingValue(key);
+            if (value == null) {
+                return sharedPreferences.getInt(key, defValue);
+            }
+            return value == REMOVED ? defValue : (Integer) value;
+        }
+
+        @Override
+        public long getLong(String key, long defValue) {
+            final Object value = getPendingValue(key);
+            if (value == null) {
+                return sharedPreferences.getLong(key, defValue);
+            }
+            return value == REMOVED ? defValue : (Long) value;
+        }
+
+        @Override
+        public float getFloat(String key, float defValue) {
+            final Object value = getPendingValue(key);
+            if (value == null) {
+                return sharedPreferences.getFloat(key, defValue);
+            }
+            return value == REMOVED ? defValue : (Float) value;
+        }
+
+        @Override
+        public boolean getBoolean(String key, boolean defValue) {
+            final Object value = getPendingValue(key);
+            if (value == null) {
+                return sharedPreferences.getBoolean(key, defValue);
+            }
+            return value == REMOVED ? defValue : (Boolean) value;
+        }
+
+        @Override
+        public boolean contains(String key) {
+            final Object value = getPendingValue(key);
+            if (value == null) {
+                return sharedPreferences.contains(key);
+            }
+            return value != REMOVED;
+        }
+
+        @Override
+        public Editor edit() {
+            return BatchingPreferenceStore.this.edit();
+        }
+
+        @Override
+        public void registerOnSharedPreferenceChangeListener(
+                OnSharedPreferenceChangeListener listener) {
+            sharedPreferences.registerOnSharedPreferenceChangeListener(listener);
+        }
+
+        @Override
+        public void unregisterOnSharedPreferenceChangeListener(
+                OnSharedPreferenceChangeListener listener) {
+            sharedPreferences.unregisterOnSharedPreferenceChangeListener(listener);
+        }
+    }
+}
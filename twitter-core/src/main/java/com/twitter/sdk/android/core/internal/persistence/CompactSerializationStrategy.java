@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.persistence;
+
+import android.text.TextUtils;
+import android.util.Base64;
+
+import com.twitter.sdk.android.core.Twitter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Serializes objects to a versioned binary record, stored as a Base64 string. Objects stored as
+ * JSON by earlier versions are still read, and {@link PreferenceStoreStrategy} writes them again
+ * in the binary format when it restores them.
+ */
+public abstract class CompactSerializationStrategy<T> implements SerializationStrategy<T> {
+    private static final char JSON_OBJECT_START = '{';
+
+    private final int formatVersion;
+
+    /**
+     * @param formatVersion the version written as the first byte of every record. Records with
+     *                      a different version are not read.
+     */
+    protected CompactSerializationStrategy(int formatVersion) {
+        this.formatVersion = formatVersion;
+    }
+
+    @Override
+    public String serialize(T object) {
+        if (object == null || !canWrite(object)) {
+            return "";
+        }
+
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(formatVersion);
+            write(object, out);
+            out.flush();
+            return Base64.encodeToString(bytes.toByteArray(), Base64.NO_WRAP);
+        } catch (IOException e) {
+            Twitter.getLogger().d(Twitter.TAG, "Failed to serialize " + e.getMessage());
+            return "";
+        }
+    }
+
+    @Override
+    public T deserialize(String serializedObject) {
+        if (TextUtils.isEmpty(serializedObject)) {
+            return null;
+        }
+        if (isOutdated(serializedObject)) {
+            return deserializeJson(serializedObject);
+        }
+
+        try {
+            final byte[] bytes = Base64.decode(serializedObject, Base64.NO_WRAP);
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            final int version = in.readUnsignedByte();
+            if (version != formatVersion) {
+                Twitter.getLogger().d(Twitter.TAG, "Unknown serialization format " + version);
+                return null;
+            }
+            return read(in);
+        } catch (IOException | IllegalArgumentException e) {
+            Twitter.getLogger().d(Twitter.TAG, "Failed to deserialize " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the serialized object is in the JSON format of earlier versions, and
+     * should be written again.
+     */
+    public boolean isOutdated(String serializedObject) {
+        return !TextUtils.isEmpty(serializedObject)
+                && serializedObject.charAt(0) == JSON_OBJECT_START;
+    }
+
+    /**
+     * @return true if the object holds everything that is needed to write it.
+     */
+    protected abstract boolean canWrite(T object);
+
+    protected abstract void write(T object, DataOutputStream out) throws IOException;
+
+    protected abstract T read(DataInputStream in) throws IOException;
+
+    /**
+     * Reads an object stored in the JSON format of earlier versions.
+     */
+    protected abstract T deserializeJson(String serializedObject);
+
+    protected static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    protected static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
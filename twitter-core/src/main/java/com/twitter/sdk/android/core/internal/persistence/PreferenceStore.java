@@ -40,4 +40,9 @@ public interface PreferenceStore {
      */
     boolean save(SharedPreferences.Editor editor);
 
+    /**
+     * Writes saved changes that are still held back, e.g. when a session is logged out.
+     */
+    void flush();
+
 }
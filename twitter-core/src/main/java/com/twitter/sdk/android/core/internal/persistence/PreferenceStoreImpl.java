@@ -56,4 +56,11 @@ public class PreferenceStoreImpl implements PreferenceStore {
         editor.apply();
         return true;
     }
+
+    /**
+     * Saves are applied right away, so there is nothing to flush.
+     */
+    @Override
+    public void flush() {
+    }
 }
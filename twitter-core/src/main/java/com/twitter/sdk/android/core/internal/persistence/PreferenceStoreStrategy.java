@@ -43,13 +43,22 @@ public class PreferenceStoreStrategy<T> implements PersistenceStrategy<T> {
     @Override
     public T restore() {
         final SharedPreferences store = this.store.get();
-        return serializer.deserialize(store.getString(key, null));
+        final String serializedObject = store.getString(key, null);
+        final T object = serializer.deserialize(serializedObject);
+        if (object != null && isOutdated(serializedObject)) {
+            // Write objects stored in an older format again, so they are cheaper to restore.
+            save(object);
+        }
+        return object;
+    }
+
+    private boolean isOutdated(String serializedObject) {
+        return serializer instanceof CompactSerializationStrategy
+                && ((CompactSerializationStrategy<?>) serializer).isOutdated(serializedObject);
     }
 
-    @SuppressLint("CommitPrefEdits")
     @Override
     public void clear() {
-        //TODO create a remove on the PreferenceStore
-        store.edit().remove(key).commit();
+        store.save(store.edit().remove(key));
     }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.twitter.sdk.android.core.internal.scribe;
+
+import android.Manifest;
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+import android.os.Build;
+
+/**
+ * {@link ConnectivityProbe} backed by {@link ConnectivityManager}. Network state is only read if
+ * the app holds {@link Manifest.permission#ACCESS_NETWORK_STATE}, otherwise the network is assumed
+ * to be connected and unmetered. The radio state is only available on Lollipop and newer, before
+ * that the radio is assumed to be active so sends are never held back waiting for it.
+ */
+class AndroidConnectivityProbe implements ConnectivityProbe {
+    private final Context context;
+    private final ConnectivityManager connectivityManager;
+    // Typed as Object, OnNetworkActiveListener does not exist before Lollipop.
+    private Object networkActiveListener;
+
+    AndroidConnectivityProbe(Context context) {
+        this.context = context;
+        this.connectivityManager =
+                (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+    }
+
+    @Override
+    public boolean isConnected() {
+        if (!canReadNetworkState()) {
+            return true;
+        }
+        final NetworkInfo networkInfo = connectivityManager.getActiveNetworkInfo();
+        return networkInfo != null && networkInfo.isConnected();
+    }
+
+    @Override
+    public boolean isMetered() {
+        if (!canReadNetworkState()) {
+            return false;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            return connectivityManager.isActiveNetworkMetered();
+        }
+        // Before Jelly Bean, treat mobile data as metered.
+        final NetworkInfo networkInfo = connectivityManager.getActiveNetworkInfo();
+        return networkInfo != null && networkInfo.getType() == ConnectivityManager.TYPE_MOBILE;
+    }
+
+    @Override
+    public boolean isRadioActive() {
+        if (connectivityManager == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            // The radio state is unknown, assume it is active.
+            return true;
+        }
+        return connectivityManager.isDefaultNetworkActive();
+    }
+
+    @Override
+    public synchronized void setRadioActiveListener(Runnable listener) {
+        if (connectivityManager == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return;
+        }
+        setNetworkActiveListener(listener);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    private void setNetworkActiveListener(Runnable listener) {
+        if (networkActiveListener != null) {
+            connectivityManager.removeDefaultNetworkActiveListener(
+                    (ConnectivityManager.OnNetworkActiveListener) networkActiveListener);
+            networkActiveListener = null;
+        }
+        if (listener != null) {
+            final ConnectivityManager.OnNetworkActiveListener networkActive = listener::run;
+            connectivityManager.addDefaultNetworkActiveListener(networkActive);
+            networkActiveListener = networkActive;
+        }
+    }
+
+    private boolean canReadNetworkState() {
+        return connectivityManager != null && context.checkCallingOrSelfPermission(
+                Manifest.permission.ACCESS_NETWORK_STATE) == PackageManager.PERMISSION_GRANTED;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.scribe;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded, non-blocking FIFO queue used to buffer events before they are written in batches.
+ * What happens when the queue is full is decided by its {@link OverflowPolicy}.
+ */
+public class BoundedEventsQueue<T> {
+
+    /**
+     * What to do with an event offered to a full queue.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Drop the oldest queued event to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * Drop the new event.
+         */
+        DROP_NEWEST,
+        /**
+         * Block the caller until there is room. Should not be used for events recorded on the
+         * main thread.
+         */
+        BLOCK
+    }
+
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+    private final Semaphore capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicInteger droppedCount = new AtomicInteger();
+
+    public BoundedEventsQueue(int maxSize, OverflowPolicy overflowPolicy) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.capacity = new Semaphore(maxSize);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Adds an event to the queue, applying the overflow policy if the queue is full.
+     *
+     * @return false if the given event was dropped
+     */
+    public boolean offer(T event) {
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    capacity.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedCount.incrementAndGet();
+                    return false;
+                }
+                break;
+            case DROP_OLDEST:
+                while (!capacity.tryAcquire()) {
+                    if (queue.poll() != null) {
+                        // Hand the dropped event's slot back, it is reacquired by the next attempt.
+                        capacity.release();
+                        droppedCount.incrementAndGet();
+                    } else {
+                        // Every slot is held by an event that is being added, let it land.
+                        Thread.yield();
+                    }
+                }
+                break;
+            default:
+                if (!capacity.tryAcquire()) {
+                    droppedCount.incrementAndGet();
+                    return false;
+                }
+        }
+
+        queue.offer(event);
+        return true;
+    }
+
+    /**
+     * Removes up to {@code maxEvents} events from the head of the queue into {@code events}.
+     *
+     * @return the number of events removed
+     */
+    public int drainTo(Collection<? super T> events, int maxEvents) {
+        int count = 0;
+        T event;
+        while (count < maxEvents && (event = queue.poll()) != null) {
+            capacity.release();
+            events.add(event);
+            count++;
+        }
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * @return the number of events dropped because the queue was full
+     */
+    public int getDroppedCount() {
+        return droppedCount.get();
+    }
+}
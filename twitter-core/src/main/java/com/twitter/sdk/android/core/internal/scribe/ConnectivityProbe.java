@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.twitter.sdk.android.core.internal.scribe;
+
+/**
+ * Reports the network conditions used to decide when scribe files are sent. Implementations must
+ * be safe to call from any thread.
+ */
+public interface ConnectivityProbe {
+
+    /**
+     * @return true if there is a network to send on, or if connectivity can not be determined
+     */
+    boolean isConnected();
+
+    /**
+     * @return true if the active network is metered, e.g. cellular data
+     */
+    boolean isMetered();
+
+    /**
+     * @return true if the radio of the default network is in a high power state, so sending now
+     * will not wake it up, or if the radio state can not be determined
+     */
+    boolean isRadioActive();
+
+    /**
+     * Sets a listener to be called when the radio of the default network becomes active, or null
+     * to remove it. Implementations that can not observe the radio never call the listener.
+     */
+    void setRadioActiveListener(Runnable listener);
+}
@@ -29,6 +29,7 @@ import com.twitter.sdk.android.core.GuestSession;
 import com.twitter.sdk.android.core.GuestSessionProvider;
 import com.twitter.sdk.android.core.Session;
 import com.twitter.sdk.android.core.SessionManager;
+import com.twitter.sdk.android.core.Twitter;
 import com.twitter.sdk.android.core.TwitterAuthConfig;
 import com.twitter.sdk.android.core.TwitterAuthToken;
 import com.twitter.sdk.android.core.TwitterCore;
@@ -37,6 +38,7 @@ import com.twitter.sdk.android.core.internal.IdManager;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
@@ -56,27 +58,72 @@ public class DefaultScribeClient extends ScribeClient {
     private static volatile ScheduledExecutorService executor;
 
     private final SessionManager<? extends Session<TwitterAuthToken>> sessionManager;
-    private final String advertisingId;
+    private final IdManager idManager;
     private final Context context;
+    private final ScribeImpressionAggregator impressionAggregator;
+    private final String kit;
 
     public DefaultScribeClient(Context context,
                                SessionManager<? extends Session<TwitterAuthToken>> sessionManager,
                                GuestSessionProvider guestSessionProvider, IdManager idManager,
                                ScribeConfig scribeConfig) {
-        this(context, TwitterCore.getInstance().getAuthConfig(), sessionManager,
-                guestSessionProvider, idManager, scribeConfig);
+        this(context, getExecutor(), TwitterCore.getInstance().getAuthConfig(), sessionManager,
+                guestSessionProvider, idManager, scribeConfig,
+                Twitter.getInstance().getExecutorService());
     }
 
     DefaultScribeClient(Context context, TwitterAuthConfig authConfig,
                         SessionManager<? extends Session<TwitterAuthToken>> sessionManager,
                         GuestSessionProvider guestSessionProvider, IdManager idManager,
                         ScribeConfig scribeConfig) {
-        super(context, getExecutor(), scribeConfig, new ScribeEvent.Transform(getGson()),
-                authConfig, sessionManager, guestSessionProvider, idManager);
+        this(context, getExecutor(), authConfig, sessionManager, guestSessionProvider, idManager,
+                scribeConfig);
+    }
+
+    // visible for tests
+    DefaultScribeClient(Context context, ScheduledExecutorService executor,
+                        TwitterAuthConfig authConfig,
+                        SessionManager<? extends Session<TwitterAuthToken>> sessionManager,
+                        GuestSessionProvider guestSessionProvider, IdManager idManager,
+                        ScribeConfig scribeConfig) {
+        this(context, executor, authConfig, sessionManager, guestSessionProvider, idManager,
+                scribeConfig, null);
+    }
+
+    private DefaultScribeClient(Context context, ScheduledExecutorService executor,
+                                TwitterAuthConfig authConfig,
+                                SessionManager<? extends Session<TwitterAuthToken>> sessionManager,
+                                GuestSessionProvider guestSessionProvider, IdManager idManager,
+                                ScribeConfig scribeConfig, Executor ioExecutor) {
+        super(context, executor, scribeConfig, new ScribeEvent.Transform(getGson(),
+                idManager::getAdvertisingIdForEarlierEvents),
+                authConfig, sessionManager, guestSessionProvider, idManager, ioExecutor);
 
         this.context = context;
         this.sessionManager = sessionManager;
-        this.advertisingId = idManager.getAdvertisingId();
+        this.idManager = idManager;
+        this.kit = null;
+        idManager.resolveAdvertisingInfoAsync();
+        this.impressionAggregator = new ScribeImpressionAggregator(executor,
+                this::scribeAggregated);
+    }
+
+    private DefaultScribeClient(DefaultScribeClient sharedClient, String kit) {
+        super(sharedClient);
+        this.context = sharedClient.context;
+        this.sessionManager = sharedClient.sessionManager;
+        this.idManager = sharedClient.idManager;
+        this.kit = kit;
+        this.impressionAggregator = new ScribeImpressionAggregator(getExecutorService(),
+                this::scribeAggregated);
+    }
+
+    /**
+     * @return a client that stores and uploads its events through this client, and stores each of
+     * them with the kit. The kit is not part of the uploaded events.
+     */
+    public DefaultScribeClient forKit(String kitName, String kitVersion) {
+        return new DefaultScribeClient(this, kitName + "/" + kitVersion);
     }
 
     public void scribe(EventNamespace... namespaces) {
@@ -85,32 +132,65 @@ public class DefaultScribeClient extends ScribeClient {
         }
     }
 
+    /**
+     * Scribes an event for the items. Impressions are aggregated with other impressions of the
+     * same namespace, and repeat impressions of an item are dropped, see
+     * {@link ScribeImpressionAggregator}.
+     */
     public void scribe(EventNamespace namespace, List<ScribeItem> items) {
+        scribe(namespace, items, System.currentTimeMillis());
+    }
+
+    /**
+     * Scribes an event for the items that happened at the given time.
+     */
+    public void scribe(EventNamespace namespace, List<ScribeItem> items, long timestamp) {
+        if (ScribeImpressionAggregator.canAggregate(namespace, items)) {
+            impressionAggregator.add(getScribeSessionId(getActiveSession()), namespace, timestamp,
+                    items);
+            return;
+        }
+
         final String language = getLanguage();
-        final long timestamp = System.currentTimeMillis();
-        /*
-         * The advertising ID may be null if this method is called before doInBackground completes.
-         * It also may be null depending on the users preferences and if Google Play Services has
-         * been installed on the device.
-         */
-        scribe(ScribeEventFactory.newScribeEvent(namespace, "", timestamp, language, advertisingId,
-                items));
+        scribe(ScribeEventFactory.newScribeEvent(namespace, "", timestamp, language,
+                getAdvertisingId(), items));
     }
 
     public void scribe(ScribeEvent event) {
-        super.scribe(event, getScribeSessionId(getActiveSession()));
+        super.scribe(tagKit(event), getScribeSessionId(getActiveSession()));
+    }
+
+    /**
+     * Scribes the impressions that are waiting to be aggregated right away.
+     */
+    public void flushAggregatedImpressions() {
+        impressionAggregator.flush();
+    }
+
+    private void scribeAggregated(long ownerId, EventNamespace namespace, long timestamp,
+            List<ScribeItem> items) {
+        super.scribe(tagKit(ScribeEventFactory.newScribeEvent(namespace, "", timestamp,
+                getLanguage(), getAdvertisingId(), items)), ownerId);
+    }
+
+    private ScribeEvent tagKit(ScribeEvent event) {
+        return kit != null ? ScribeEventCodec.withKit(event, kit) : event;
     }
 
     public void scribe(EventNamespace namespace, String eventInfo) {
         final String language = getLanguage();
         final long timestamp = System.currentTimeMillis();
-        /*
-         * The advertising ID may be null if this method is called before doInBackground completes.
-         * It also may be null depending on the users preferences and if Google Play Services has
-         * been installed on the device.
-         */
         scribe(ScribeEventFactory.newScribeEvent(namespace, eventInfo, timestamp, language,
-                advertisingId, Collections.emptyList()));
+                getAdvertisingId(), Collections.emptyList()));
+    }
+
+    /*
+     * The advertising ID is null until it has been resolved in the background, in which case it is
+     * filled in when the event is uploaded. It also may be null depending on the users preferences
+     * and if Google Play Services has been installed on the device.
+     */
+    private String getAdvertisingId() {
+        return idManager.getResolvedAdvertisingId();
     }
 
     // visible for tests
@@ -155,9 +235,15 @@ public class DefaultScribeClient extends ScribeClient {
 
     public static ScribeConfig getScribeConfig(String kitName, String kitVersion) {
         final String scribeUrl = getScribeUrl(SCRIBE_URL, BuildConfig.SCRIBE_ENDPOINT_OVERRIDE);
-        return new ScribeConfig(isEnabled(), scribeUrl, SCRIBE_PATH_VERSION,
-                SCRIBE_PATH_TYPE, BuildConfig.SCRIBE_SEQUENCE, getUserAgent(kitName, kitVersion),
-                ScribeConfig.DEFAULT_MAX_FILES_TO_KEEP, ScribeConfig.DEFAULT_SEND_INTERVAL_SECONDS);
+        return new ScribeConfig.Builder()
+                .enabled(isEnabled())
+                .baseUrl(scribeUrl)
+                .pathVersion(SCRIBE_PATH_VERSION)
+                .pathType(SCRIBE_PATH_TYPE)
+                .sequence(BuildConfig.SCRIBE_SEQUENCE)
+                .userAgent(getUserAgent(kitName, kitVersion))
+                .durability(QueueFile.Durability.GROUP_COMMIT)
+                .build();
     }
 
     /*
@@ -17,6 +17,8 @@
 
 package com.twitter.sdk.android.core.internal.scribe;
 
+import java.util.List;
+
 public class DisabledEventsStrategy<T> implements EventsStrategy<T> {
 
     @Override
@@ -34,6 +36,11 @@ public class DisabledEventsStrategy<T> implements EventsStrategy<T> {
         // Does nothing
     }
 
+    @Override
+    public void recordEvents(List<T> events) {
+        // Does nothing
+    }
+
     @Override
     public void cancelTimeBasedFileRollOver() {
         // Does nothing
@@ -53,4 +60,9 @@ public class DisabledEventsStrategy<T> implements EventsStrategy<T> {
     public FilesSender getFilesSender() {
         return null;
     }
+
+    @Override
+    public void release() {
+        // Does nothing
+    }
 }
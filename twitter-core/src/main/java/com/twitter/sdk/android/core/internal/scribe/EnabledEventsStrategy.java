@@ -20,11 +20,13 @@ package com.twitter.sdk.android.core.internal.scribe;
 import android.content.Context;
 
 import com.twitter.sdk.android.core.internal.CommonUtils;
+import com.twitter.sdk.android.core.internal.SystemCurrentTimeProvider;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import java.util.Locale;
+import java.util.Random;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -43,14 +45,35 @@ public abstract class EnabledEventsStrategy<T> implements EventsStrategy<T> {
 
     final ScheduledExecutorService executorService;
     final AtomicReference<ScheduledFuture<?>> scheduledRolloverFutureRef;
+    final AtomicReference<ScheduledFuture<?>> scheduledRetryFutureRef;
+    final EventsSendScheduler sendScheduler;
+    private final ConnectivityProbe connectivityProbe;
     volatile int rolloverIntervalSeconds = UNDEFINED_ROLLOVER_INTERVAL_SECONDS;
 
     public EnabledEventsStrategy(Context context, ScheduledExecutorService executorService,
             EventsFilesManager<T> filesManager) {
+        this(context, executorService, filesManager, new AndroidConnectivityProbe(context));
+    }
+
+    public EnabledEventsStrategy(Context context, ScheduledExecutorService executorService,
+            EventsFilesManager<T> filesManager, ConnectivityProbe connectivityProbe) {
+        this(context, executorService, filesManager, connectivityProbe,
+                new EventsSendScheduler(connectivityProbe, new SystemCurrentTimeProvider(),
+                        new Random()));
+    }
+
+    EnabledEventsStrategy(Context context, ScheduledExecutorService executorService,
+            EventsFilesManager<T> filesManager, ConnectivityProbe connectivityProbe,
+            EventsSendScheduler sendScheduler) {
         this.context = context;
         this.executorService = executorService;
         this.filesManager = filesManager;
         this.scheduledRolloverFutureRef = new AtomicReference<>();
+        this.scheduledRetryFutureRef = new AtomicReference<>();
+        this.sendScheduler = sendScheduler;
+        this.connectivityProbe = connectivityProbe;
+
+        connectivityProbe.setRadioActiveListener(this::onRadioActive);
     }
 
     @Override
@@ -62,9 +85,37 @@ public abstract class EnabledEventsStrategy<T> implements EventsStrategy<T> {
         }
     }
 
+    /**
+     * Sends the rolled over files unless the {@link EventsSendScheduler} holds the send back.
+     */
     @Override
     public void sendEvents() {
-        sendAndCleanUpIfSuccess();
+        final EventsSendScheduler.Decision decision = sendScheduler.checkSend();
+        if (decision == EventsSendScheduler.Decision.SEND) {
+            sendAndCleanUpIfSuccess();
+        } else {
+            CommonUtils.logControlled(context, "Holding back files send: " + decision);
+        }
+    }
+
+    /**
+     * @return the number of files waiting to be sent and the state of the send backoff
+     */
+    EventsSendScheduler.QueueState getSendQueueState() {
+        return sendScheduler.getQueueState(filesManager.getPendingFileCount());
+    }
+
+    /**
+     * Sends held back files while the radio is up anyway, rather than waking it up later.
+     */
+    void onRadioActive() {
+        if (sendScheduler.isWaitingForNetwork()) {
+            try {
+                executorService.submit(this::sendEvents);
+            } catch (RejectedExecutionException e) {
+                CommonUtils.logControlledError(context, "Failed to submit files send", e);
+            }
+        }
     }
 
     @Override
@@ -78,6 +129,15 @@ public abstract class EnabledEventsStrategy<T> implements EventsStrategy<T> {
         }
     }
 
+    @Override
+    public void release() {
+        connectivityProbe.setRadioActiveListener(null);
+        final ScheduledFuture<?> retry = scheduledRetryFutureRef.getAndSet(null);
+        if (retry != null) {
+            retry.cancel(false);
+        }
+    }
+
     @Override
     public void deleteAllEvents() {
         filesManager.deleteAllEventsFiles();
@@ -94,6 +154,16 @@ public abstract class EnabledEventsStrategy<T> implements EventsStrategy<T> {
         scheduleTimeBasedRollOverIfNeeded();
     }
 
+    @Override
+    public void recordEvents(List<T> events) {
+        try {
+            filesManager.writeEvents(events);
+        } catch (IOException e) {
+            CommonUtils.logControlledError(context, "Failed to write events.", e);
+        }
+        scheduleTimeBasedRollOverIfNeeded();
+    }
+
     @Override
     public boolean rollFileOver() {
         try {
@@ -129,11 +199,27 @@ public abstract class EnabledEventsStrategy<T> implements EventsStrategy<T> {
         }
     }
 
+    void scheduleRetry(long delayMillis) {
+        final ScheduledFuture<?> previousRetry = scheduledRetryFutureRef.getAndSet(null);
+        if (previousRetry != null) {
+            previousRetry.cancel(false);
+        }
+        CommonUtils.logControlled(context,
+                "Retrying files send in " + delayMillis + " milliseconds");
+        try {
+            scheduledRetryFutureRef.set(executorService.schedule(this::sendEvents, delayMillis,
+                    TimeUnit.MILLISECONDS));
+        } catch (RejectedExecutionException e) {
+            CommonUtils.logControlledError(context, "Failed to schedule files send retry", e);
+        }
+    }
+
     /**
      * Guarantees "at least once" semantics for sending events files over to the server. Due to the
      * over-the-wire nature, this (at least once) is the best we can do. At least once is guaranteed
      * by sending all pending, rolled-over files in a single multi-part POST. Files are sent in
-     * batches and are deleted only after the batch succeeds.
+     * batches and are deleted only after the batch succeeds. A failed batch backs off further
+     * sends, see {@link EventsSendScheduler}; the files stay in place for the retry.
      *
      * Note that this method is package private (as opposed to private) for testing purposes. It's
      * not thread safe and not intended to be executed by anything other than the
@@ -149,6 +235,7 @@ public abstract class EnabledEventsStrategy<T> implements EventsStrategy<T> {
         CommonUtils.logControlled(context, "Sending all files");
 
         int filesSent = 0;
+        boolean failed = false;
         List<File> batch = filesManager.getBatchOfFilesToSend();
 
         try {
@@ -163,18 +250,22 @@ public abstract class EnabledEventsStrategy<T> implements EventsStrategy<T> {
                 }
 
                 if (!cleanup) {
+                    failed = true;
                     break;
                 }
 
                 batch = filesManager.getBatchOfFilesToSend();
             }
         } catch (Exception e) {
+            failed = true;
             CommonUtils.logControlledError(context,
                     "Failed to send batch of analytics files to server: " + e.getMessage(), e);
         }
 
-        if (filesSent == 0) {
-            filesManager.deleteOldestInRollOverIfOverMax();
+        if (failed) {
+            scheduleRetry(sendScheduler.onSendFailed());
+        } else if (filesSent > 0) {
+            sendScheduler.onSendSucceeded();
         }
     }
 }
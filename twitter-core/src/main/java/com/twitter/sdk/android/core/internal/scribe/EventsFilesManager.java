@@ -40,6 +40,7 @@ public abstract class EventsFilesManager<T> {
     public static final String ROLL_OVER_FILE_NAME_SEPARATOR = "_";
     public static final int MAX_BYTE_SIZE_PER_FILE = 8000;
     public static final int MAX_FILES_IN_BATCH = 1;
+    public static final long MAX_BATCH_SIZE_BYTES = Long.MAX_VALUE;
     public static final int MAX_FILES_TO_KEEP = 100;
 
     protected final Context context;
@@ -83,6 +84,36 @@ public abstract class EventsFilesManager<T> {
         eventStorage.add(eventBytes);
     }
 
+    /**
+     * Writes the events in order. Events that fit in the working file together are added in one
+     * commit, the working file is rolled over between events as needed.
+     */
+    public void writeEvents(List<T> events) throws IOException {
+        final List<byte[]> group = new ArrayList<>(events.size());
+        // Size of the group as if it were one event, element headers between events included.
+        int groupSize = -QueueFile.Element.HEADER_LENGTH;
+        for (T event : events) {
+            final byte[] eventBytes = transform.toBytes(event);
+            final int newGroupSize = groupSize + QueueFile.Element.HEADER_LENGTH
+                    + eventBytes.length;
+            if (!group.isEmpty()
+                    && !eventStorage.canWorkingFileStore(newGroupSize, getMaxByteSizePerFile())) {
+                eventStorage.add(group);
+                group.clear();
+                groupSize = -QueueFile.Element.HEADER_LENGTH;
+            }
+            if (group.isEmpty()) {
+                rollFileOverIfNeeded(eventBytes.length);
+            }
+            group.add(eventBytes);
+            groupSize += QueueFile.Element.HEADER_LENGTH + eventBytes.length;
+        }
+
+        if (!group.isEmpty()) {
+            eventStorage.add(group);
+        }
+    }
+
     /**
      * Register a listener for session analytics file roll over events that may get triggered
      * due to the file reaching threshold size.
@@ -115,6 +146,10 @@ public abstract class EventsFilesManager<T> {
 
             lastRollOverTime = currentTimeProvider.getCurrentTimeMillis();
             fileRolledOver = true;
+
+            // Enforce the cap when a file is added rather than when a send fails, so files are not
+            // dropped just because the network was down.
+            deleteOldestInRollOverIfOverMax();
         }
 
         triggerRollOverOnListeners(targetFileName);
@@ -154,6 +189,20 @@ public abstract class EventsFilesManager<T> {
         return MAX_BYTE_SIZE_PER_FILE;
     }
 
+    /**
+     * This method can be overridden by subclasses to send more than one file per request.
+     */
+    protected int getMaxFilesInBatch() {
+        return MAX_FILES_IN_BATCH;
+    }
+
+    /**
+     * This method can be overridden by subclasses to cap the combined size of a batch.
+     */
+    protected long getMaxBatchSizeInBytes() {
+        return MAX_BATCH_SIZE_BYTES;
+    }
+
     public long getLastRollOverTime() {
         return lastRollOverTime;
     }
@@ -169,8 +218,29 @@ public abstract class EventsFilesManager<T> {
         }
     }
 
+    /**
+     * Returns up to {@link #getMaxFilesInBatch()} files whose combined size fits in
+     * {@link #getMaxBatchSizeInBytes()}. The first file is always included, so a file larger than
+     * the byte budget is still sent on its own.
+     */
     public List<File> getBatchOfFilesToSend(){
-        return eventStorage.getBatchOfFilesToSend(MAX_FILES_IN_BATCH);
+        final List<File> files = eventStorage.getBatchOfFilesToSend(getMaxFilesInBatch());
+        final long maxBatchSize = getMaxBatchSizeInBytes();
+
+        final List<File> batch = new ArrayList<>(files.size());
+        long batchSize = 0;
+        for (File file : files) {
+            batchSize += file.length();
+            if (!batch.isEmpty() && batchSize > maxBatchSize) {
+                break;
+            }
+            batch.add(file);
+        }
+        return batch;
+    }
+
+    public int getPendingFileCount() {
+        return eventStorage.getAllFilesInRollOverDirectory().size();
     }
 
     public void deleteSentFiles(List<File> files){
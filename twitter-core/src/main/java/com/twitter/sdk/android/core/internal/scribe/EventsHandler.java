@@ -21,13 +21,28 @@ import android.content.Context;
 
 import com.twitter.sdk.android.core.internal.CommonUtils;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Records events through an {@link EventsStrategy} on a single executor thread. Events recorded
+ * asynchronously are buffered in a {@link BoundedEventsQueue} and written in batches by one drain
+ * task, instead of one executor task per event.
+ */
 public abstract class EventsHandler<T> implements EventsStorageListener {
 
+    public static final int DEFAULT_MAX_PENDING_EVENTS = 1000;
+    static final int MAX_EVENTS_PER_BATCH = 100;
+
     protected final Context context;
     protected final ScheduledExecutorService executor;
 
+    private final BoundedEventsQueue<PendingEvent<T>> pendingEvents;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final Runnable drainTask = this::drainPendingEvents;
+
     /**
      * Thread safety guaranteed by accessing through executor.
      */
@@ -35,31 +50,86 @@ public abstract class EventsHandler<T> implements EventsStorageListener {
 
     public EventsHandler(Context context, EventsStrategy<T> strategy,
             EventsFilesManager filesManager, ScheduledExecutorService executor) {
+        this(context, strategy, filesManager, executor, DEFAULT_MAX_PENDING_EVENTS,
+                BoundedEventsQueue.OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * @param maxPendingEvents maximum number of events waiting to be written
+     * @param overflowPolicy what to do with events recorded while maxPendingEvents are waiting
+     */
+    public EventsHandler(Context context, EventsStrategy<T> strategy,
+            EventsFilesManager filesManager, ScheduledExecutorService executor,
+            int maxPendingEvents, BoundedEventsQueue.OverflowPolicy overflowPolicy) {
         this.context = context.getApplicationContext();
         this.executor = executor;
         this.strategy = strategy;
+        this.pendingEvents = new BoundedEventsQueue<>(maxPendingEvents, overflowPolicy);
 
         filesManager.registerRollOverListener(this);
     }
 
     public void recordEventAsync(final T event, final boolean sendImmediately) {
-        executeAsync(() -> {
+        if (!pendingEvents.offer(new PendingEvent<>(event, sendImmediately))) {
+            CommonUtils.logControlled(context, "Dropped event, too many events pending.");
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
             try {
-                strategy.recordEvent(event);
+                executor.submit(drainTask);
+            } catch (Exception e) {
+                drainScheduled.set(false);
+                CommonUtils.logControlledError(context, "Failed to submit events task", e);
+            }
+        }
+    }
 
-                if (sendImmediately) {
-                    // this triggers call to onRollover()
-                    strategy.rollFileOver();
+    /**
+     * Writes the pending events in batches. Runs on the executor.
+     */
+    void drainPendingEvents() {
+        // Cleared first so events offered while draining schedule another drain.
+        drainScheduled.set(false);
+
+        final List<PendingEvent<T>> batch = new ArrayList<>();
+        while (pendingEvents.drainTo(batch, MAX_EVENTS_PER_BATCH) > 0) {
+            recordBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void recordBatch(List<PendingEvent<T>> batch) {
+        try {
+            boolean sendImmediately = false;
+            if (batch.size() == 1) {
+                strategy.recordEvent(batch.get(0).event);
+                sendImmediately = batch.get(0).sendImmediately;
+            } else {
+                final List<T> events = new ArrayList<>(batch.size());
+                for (PendingEvent<T> pendingEvent : batch) {
+                    events.add(pendingEvent.event);
+                    sendImmediately |= pendingEvent.sendImmediately;
                 }
-            } catch (Exception e) {
-                CommonUtils.logControlledError(context, "Failed to record event.", e);
+                strategy.recordEvents(events);
             }
-        });
+
+            if (sendImmediately) {
+                // this triggers call to onRollover()
+                strategy.rollFileOver();
+            }
+        } catch (Exception e) {
+            CommonUtils.logControlledError(context, "Failed to record event.", e);
+        }
     }
 
     public void recordEventSync(final T event) {
         executeSync(() -> {
             try {
+                // Keep events in the order they were recorded.
+                drainPendingEvents();
                 strategy.recordEvent(event);
             } catch (Exception e) {
                 CommonUtils.logControlledError(context,
@@ -84,6 +154,7 @@ public abstract class EventsHandler<T> implements EventsStorageListener {
             try {
                 final EventsStrategy<T> prevStrategy = strategy;
                 strategy = getDisabledEventsStrategy();
+                prevStrategy.release();
                 prevStrategy.deleteAllEvents();
             } catch (Exception e) {
                 CommonUtils.logControlledError(context, "Failed to disable events.", e);
@@ -108,4 +179,14 @@ public abstract class EventsHandler<T> implements EventsStorageListener {
             CommonUtils.logControlledError(context, "Failed to submit events task", e);
         }
     }
+
+    static class PendingEvent<T> {
+        final T event;
+        final boolean sendImmediately;
+
+        PendingEvent(T event, boolean sendImmediately) {
+            this.event = event;
+            this.sendImmediately = sendImmediately;
+        }
+    }
 }
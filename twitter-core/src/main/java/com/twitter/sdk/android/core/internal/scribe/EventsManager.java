@@ -17,6 +17,8 @@
 
 package com.twitter.sdk.android.core.internal.scribe;
 
+import java.util.List;
+
 public interface EventsManager<T> {
     /**
      * Sends all of the events to the server.
@@ -32,4 +34,9 @@ public interface EventsManager<T> {
      * Records an event
      */
     void recordEvent(T event);
+
+    /**
+     * Records a batch of events, in order
+     */
+    void recordEvents(List<T> events);
 }
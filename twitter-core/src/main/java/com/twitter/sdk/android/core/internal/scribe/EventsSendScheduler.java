@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.twitter.sdk.android.core.internal.scribe;
+
+import com.twitter.sdk.android.core.internal.CurrentTimeProvider;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when events files may be sent. After a failed send, sends are held back with an
+ * exponential backoff with jitter so a failing endpoint does not wake the radio on every send
+ * interval. Sends are also held back while there is no connectivity, and on metered networks
+ * until the radio is already active, for at most {@link #MAX_RADIO_DEFERRAL_MS}.
+ *
+ * Files are never deleted because a send was held back or failed.
+ */
+class EventsSendScheduler {
+    static final long INITIAL_BACKOFF_MS = TimeUnit.SECONDS.toMillis(30);
+    static final long MAX_BACKOFF_MS = TimeUnit.MINUTES.toMillis(30);
+    static final long MAX_RADIO_DEFERRAL_MS = TimeUnit.MINUTES.toMillis(15);
+
+    enum Decision {
+        SEND,
+        WAIT_FOR_BACKOFF,
+        WAIT_FOR_CONNECTIVITY,
+        WAIT_FOR_RADIO
+    }
+
+    private final ConnectivityProbe probe;
+    private final CurrentTimeProvider currentTimeProvider;
+    private final Random random;
+
+    private int consecutiveFailures;
+    private long nextAttemptAtMillis;
+    private long radioDeferralStartMillis;
+    private long lastSuccessAtMillis;
+    private Decision lastDecision;
+
+    EventsSendScheduler(ConnectivityProbe probe, CurrentTimeProvider currentTimeProvider,
+            Random random) {
+        this.probe = probe;
+        this.currentTimeProvider = currentTimeProvider;
+        this.random = random;
+    }
+
+    /**
+     * @return whether files should be sent now, and if not, what the send is waiting for
+     */
+    synchronized Decision checkSend() {
+        final long now = currentTimeProvider.getCurrentTimeMillis();
+        if (now < nextAttemptAtMillis) {
+            lastDecision = Decision.WAIT_FOR_BACKOFF;
+        } else if (!probe.isConnected()) {
+            lastDecision = Decision.WAIT_FOR_CONNECTIVITY;
+        } else if (probe.isMetered() && !probe.isRadioActive() && !isRadioDeferralOver(now)) {
+            lastDecision = Decision.WAIT_FOR_RADIO;
+        } else {
+            radioDeferralStartMillis = 0;
+            lastDecision = Decision.SEND;
+        }
+        return lastDecision;
+    }
+
+    /**
+     * @return true if the last send was held back until the network is connected or the radio is
+     * active, so it can go out as soon as that happens
+     */
+    synchronized boolean isWaitingForNetwork() {
+        return lastDecision == Decision.WAIT_FOR_CONNECTIVITY
+                || lastDecision == Decision.WAIT_FOR_RADIO;
+    }
+
+    synchronized void onSendSucceeded() {
+        consecutiveFailures = 0;
+        nextAttemptAtMillis = 0;
+        lastSuccessAtMillis = currentTimeProvider.getCurrentTimeMillis();
+    }
+
+    /**
+     * @return the delay in milliseconds before the next send may be attempted
+     */
+    synchronized long onSendFailed() {
+        consecutiveFailures++;
+        final long delay = getBackoffDelayMillis(consecutiveFailures);
+        nextAttemptAtMillis = currentTimeProvider.getCurrentTimeMillis() + delay;
+        return delay;
+    }
+
+    synchronized QueueState getQueueState(int pendingFiles) {
+        return new QueueState(pendingFiles, consecutiveFailures, nextAttemptAtMillis,
+                lastSuccessAtMillis, lastDecision);
+    }
+
+    /**
+     * Returns a delay between half and all of the exponential backoff, so that clients that
+     * failed together do not retry together.
+     */
+    long getBackoffDelayMillis(int failures) {
+        final int shift = Math.min(failures - 1, 20);
+        final long backoff = Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS << shift);
+        final long half = backoff / 2;
+        return half + (long) (random.nextDouble() * half);
+    }
+
+    private boolean isRadioDeferralOver(long now) {
+        if (radioDeferralStartMillis == 0) {
+            radioDeferralStartMillis = now;
+        }
+        return now - radioDeferralStartMillis >= MAX_RADIO_DEFERRAL_MS;
+    }
+
+    /**
+     * Snapshot of the send state of an events strategy.
+     */
+    static class QueueState {
+        /**
+         * Number of rolled over files waiting to be sent.
+         */
+        final int pendingFiles;
+        final int consecutiveFailures;
+        /**
+         * Time before which no send will be attempted, 0 if sends are not backed off.
+         */
+        final long nextAttemptAtMillis;
+        /**
+         * Time of the last successful send, 0 if nothing was sent yet.
+         */
+        final long lastSuccessAtMillis;
+        /**
+         * Outcome of the last send check, null if no send was checked yet.
+         */
+        final Decision lastDecision;
+
+        QueueState(int pendingFiles, int consecutiveFailures, long nextAttemptAtMillis,
+                long lastSuccessAtMillis, Decision lastDecision) {
+            this.pendingFiles = pendingFiles;
+            this.consecutiveFailures = consecutiveFailures;
+            this.nextAttemptAtMillis = nextAttemptAtMillis;
+            this.lastSuccessAtMillis = lastSuccessAtMillis;
+            this.lastDecision = lastDecision;
+        }
+
+        @Override
+        public String toString() {
+            return "QueueState{pendingFiles=" + pendingFiles
+                    + ", consecutiveFailures=" + consecutiveFailures
+                    + ", nextAttemptAtMillis=" + nextAttemptAtMillis
+                    + ", lastSuccessAtMillis=" + lastSuccessAtMillis
+                    + ", lastDecision=" + lastDecision + "}";
+        }
+    }
+}
@@ -33,6 +33,11 @@ public interface EventsStorage {
      */
     void add(byte[] data)  throws IOException;
 
+    /**
+     * Add events represented as byte arrays to the working file, committed together
+     */
+    void add(List<byte[]> data) throws IOException;
+
     /**
      * @return size in bytes of the current working file
      */
@@ -20,4 +20,10 @@ package com.twitter.sdk.android.core.internal.scribe;
 public interface EventsStrategy<T> extends FileRollOverManager, EventsManager<T> {
 
     FilesSender getFilesSender();
+
+    /**
+     * Stops listening for network changes. Called when the strategy is replaced, it must not be
+     * used afterwards.
+     */
+    void release();
 }
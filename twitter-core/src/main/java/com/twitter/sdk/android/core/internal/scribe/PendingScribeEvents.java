@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.twitter.sdk.android.core.internal.scribe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the events a kit scribes before its scribe client has been created in a deferred
+ * initialization stage, such as the impressions of the first Tweets shown, and scribes them with
+ * their original time once the client is set.
+ */
+public class PendingScribeEvents {
+    static final int MAX_PENDING_EVENTS = 100;
+
+    private final List<PendingEvent> pendingEvents = new ArrayList<>();
+    private volatile DefaultScribeClient scribeClient;
+
+    /**
+     * Scribes an event for the items, or keeps it until the client is set.
+     */
+    public void scribe(EventNamespace namespace, List<ScribeItem> items) {
+        final long timestamp = System.currentTimeMillis();
+        if (scribeClient == null) {
+            synchronized (this) {
+                if (scribeClient == null) {
+                    // Past the limit the client has likely failed to initialize.
+                    if (pendingEvents.size() < MAX_PENDING_EVENTS) {
+                        pendingEvents.add(new PendingEvent(namespace, items, timestamp));
+                    }
+                    return;
+                }
+            }
+        }
+        scribeClient.scribe(namespace, items, timestamp);
+    }
+
+    /**
+     * Sets the client and scribes the events kept so far through it.
+     */
+    public void setScribeClient(DefaultScribeClient scribeClient) {
+        final List<PendingEvent> events;
+        synchronized (this) {
+            this.scribeClient = scribeClient;
+            events = new ArrayList<>(pendingEvents);
+            pendingEvents.clear();
+        }
+
+        for (PendingEvent event : events) {
+            scribeClient.scribe(event.namespace, event.items, event.timestamp);
+        }
+    }
+
+    static class PendingEvent {
+        final EventNamespace namespace;
+        final List<ScribeItem> items;
+        final long timestamp;
+
+        PendingEvent(EventNamespace namespace, List<ScribeItem> items, long timestamp) {
+            this.namespace = namespace;
+            this.items = items;
+            this.timestamp = timestamp;
+        }
+    }
+}
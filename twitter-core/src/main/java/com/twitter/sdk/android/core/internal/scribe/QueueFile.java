@@ -44,16 +44,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.nio.channels.FileChannel;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * A reliable, efficient, file-based, FIFO queue. Additions and removals are O(1). All operations are atomic.
- * Writes are synchronous; data will be written to disk before an operation returns. The underlying file is
- * structured to survive process and even system crashes. If an I/O exception is thrown during a mutating
- * change, the change is aborted. It is safe to continue to use a {@code QueueFile} instance after an
- * exception.
+ * By default writes are synchronous; data will be written to disk before an operation returns. The underlying
+ * file is structured to survive process and even system crashes. If an I/O exception is thrown during a
+ * mutating change, the change is aborted. It is safe to continue to use a {@code QueueFile} instance after an
+ * exception. See {@link Durability#GROUP_COMMIT} for trading crash safety for write throughput.
  * <p/>
  * <p>
  * All operations are synchronized. In a traditional queue, the remove operation returns an element. In this
@@ -80,6 +82,27 @@ public class QueueFile implements Closeable {
     /** Length of header in bytes. */
     static final int HEADER_LENGTH = 16;
 
+    /** Maximum number of changes to group into one device write. */
+    static final int GROUP_COMMIT_MAX_WRITES = 32;
+
+    /** Maximum time a change waits for its device write. */
+    static final long GROUP_COMMIT_MAX_DELAY_MS = 2000;
+
+    /** How changes are written to the device. */
+    public enum Durability {
+        /** Every change is written to the device before the operation returns. */
+        SYNC,
+        /**
+         * Changes are handed to the file system without waiting for the device, and are forced to
+         * the device in groups: after {@link QueueFile#GROUP_COMMIT_MAX_WRITES} changes, on the
+         * first change after {@link QueueFile#GROUP_COMMIT_MAX_DELAY_MS}, or on
+         * {@link QueueFile#flush()} and {@link QueueFile#close()}. A crash of the process loses
+         * nothing, but a power loss may lose or corrupt the changes made since the last device
+         * write.
+         */
+        GROUP_COMMIT
+    }
+
     /**
      * The underlying file. Uses a ring buffer to store entries. Designed so that a modification isn't
      * committed or visible until we write the header. The header is much smaller than a segment. So long as
@@ -106,6 +129,15 @@ public class QueueFile implements Closeable {
      */
     private final RandomAccessFile raf;
 
+    /** How changes are written to the device. */
+    private final Durability durability;
+
+    /** Number of changes not yet forced to the device. Only used with group commit. */
+    private int pendingWrites;
+
+    /** Time in nanoseconds of the oldest change not yet forced to the device. */
+    private long firstPendingWriteNanos;
+
     /** Cached file length. Always a power of 2. */
     int fileLength;
 
@@ -126,16 +158,26 @@ public class QueueFile implements Closeable {
      * given file at a time.
      */
     public QueueFile(File file) throws IOException {
+        this(file, Durability.SYNC);
+    }
+
+    /**
+     * Constructs a new queue backed by the given file, writing changes with the given durability. Only one
+     * {@code QueueFile} instance should access a given file at a time.
+     */
+    public QueueFile(File file, Durability durability) throws IOException {
         if (!file.exists()) {
             initialize(file);
         }
-        raf = open(file);
+        this.durability = durability;
+        raf = open(file, durability);
         readHeader();
     }
 
     /** For testing. */
     QueueFile(RandomAccessFile raf) throws IOException {
         this.raf = raf;
+        this.durability = Durability.SYNC;
         readHeader();
     }
 
@@ -193,6 +235,25 @@ public class QueueFile implements Closeable {
         writeInts(buffer, fileLength, elementCount, firstPosition, lastPosition);
         raf.seek(0);
         raf.write(buffer);
+        onChangeCommitted();
+    }
+
+    /** Forces grouped changes to the device once the group is full or its oldest change is due. */
+    private void onChangeCommitted() throws IOException {
+        if (durability != Durability.GROUP_COMMIT) {
+            return;
+        }
+
+        final long now = System.nanoTime();
+        if (pendingWrites == 0) {
+            firstPendingWriteNanos = now;
+        }
+        pendingWrites++;
+
+        if (pendingWrites >= GROUP_COMMIT_MAX_WRITES || now - firstPendingWriteNanos
+                >= TimeUnit.MILLISECONDS.toNanos(GROUP_COMMIT_MAX_DELAY_MS)) {
+            flush();
+        }
     }
 
     /** Returns the Element for the given offset. */
@@ -227,6 +288,15 @@ public class QueueFile implements Closeable {
         return new RandomAccessFile(file, "rwd");
     }
 
+    /** Opens a random access file that writes synchronously unless changes are grouped. */
+    private static RandomAccessFile open(File file, Durability durability)
+            throws FileNotFoundException {
+        if (durability == Durability.GROUP_COMMIT) {
+            return new RandomAccessFile(file, "rw");
+        }
+        return open(file);
+    }
+
     /** Wraps the position if it exceeds the end of the file. */
     private int wrapPosition(int position) {
         return position < fileLength ? position : HEADER_LENGTH + position - fileLength;
@@ -327,6 +397,49 @@ public class QueueFile implements Closeable {
         }
     }
 
+    /**
+     * Adds elements to the end of the queue, committing them with a single header write.
+     *
+     * @param elements data of the elements to add, in order
+     */
+    public synchronized void addAll(List<byte[]> elements) throws IOException {
+        if (elements.isEmpty()) {
+            return;
+        }
+
+        int totalLength = 0;
+        for (byte[] data : elements) {
+            nonNull(data, "buffer");
+            totalLength += Element.HEADER_LENGTH + data.length;
+        }
+        // expandIfNecessary() adds the header of a single element itself.
+        expandIfNecessary(totalLength - Element.HEADER_LENGTH);
+
+        boolean wasEmpty = isEmpty();
+        int position = wasEmpty ? HEADER_LENGTH : wrapPosition(last.position + Element.HEADER_LENGTH + last.length);
+        Element newFirst = wasEmpty ? null : first;
+        Element newLast = last;
+        for (byte[] data : elements) {
+            newLast = new Element(position, data.length);
+
+            // Write length and data.
+            writeInt(buffer, 0, data.length);
+            ringWrite(newLast.position, buffer, 0, Element.HEADER_LENGTH);
+            ringWrite(newLast.position + Element.HEADER_LENGTH, data, 0, data.length);
+
+            if (newFirst == null) {
+                newFirst = newLast;
+            }
+            position = wrapPosition(newLast.position + Element.HEADER_LENGTH + data.length);
+        }
+
+        // Commit all of the additions at once.
+        writeHeader(fileLength, elementCount + elements.size(), newFirst.position, newLast.position);
+        first = newFirst;
+        last = newLast;
+        elementCount += elements.size();
+    }
+
     /** Returns the number of used bytes. */
     public int usedBytes() {
         if (elementCount == 0) {
@@ -536,7 +649,24 @@ public class QueueFile implements Closeable {
 
     /** Closes the underlying file. */
     public synchronized void close() throws IOException {
-        raf.close();
+        try {
+            flush();
+        } finally {
+            raf.close();
+        }
+    }
+
+    /** Returns whether changes are waiting to be forced to the device. */
+    public synchronized boolean hasPendingWrites() {
+        return pendingWrites > 0;
+    }
+
+    /** Forces changes waiting for a group commit to the device. */
+    public synchronized void flush() throws IOException {
+        if (pendingWrites > 0) {
+            raf.getFD().sync();
+            pendingWrites = 0;
+        }
     }
 
     /**
@@ -29,34 +29,87 @@ import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * An implementation of {@link EventsStorage} backed by a {@link QueueFile}.
  *
  * Note that this class is not thread safe and relies on upstream collaborators
  * to ensure thread safe access.
+ *
+ * Roll over renames the working file into the target directory. When an I/O executor is provided,
+ * the next working file is created ahead of time on it, so roll over does not have to initialize
+ * a new file on the thread that writes events.
+ *
+ * With {@link QueueFile.Durability#GROUP_COMMIT} the working file is also flushed on a timer, when
+ * the executor is a {@link ScheduledExecutorService}, so events written in a quiet period do not
+ * wait for the next write or roll over to reach the device.
  */
 public class QueueFileEventStorage implements EventsStorage {
+    private static final String NEXT_WORKING_FILE_SUFFIX = ".next";
 
     private final Context context;
     private final File workingDirectory;
     private final String targetDirectoryName;
     private final File workingFile;
+    private final File nextWorkingFile;
+    private final Executor executor;
+    private final QueueFile.Durability durability;
+    private final Executor ioExecutor;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean nextWorkingFileReady = new AtomicBoolean();
+    private final AtomicBoolean preparingNextWorkingFile = new AtomicBoolean();
 
     private QueueFile queueFile;
     private File targetDirectory;
 
     public QueueFileEventStorage(Context context, File workingDirectory, String workingFileName,
             String targetDirectoryName) throws IOException {
+        this(context, workingDirectory, workingFileName, targetDirectoryName, null);
+    }
+
+    public QueueFileEventStorage(Context context, File workingDirectory, String workingFileName,
+            String targetDirectoryName, Executor executor) throws IOException {
+        this(context, workingDirectory, workingFileName, targetDirectoryName, executor,
+                QueueFile.Durability.SYNC);
+    }
+
+    public QueueFileEventStorage(Context context, File workingDirectory, String workingFileName,
+            String targetDirectoryName, Executor executor, QueueFile.Durability durability)
+            throws IOException {
+        this(context, workingDirectory, workingFileName, targetDirectoryName, executor, durability,
+                null);
+    }
+
+    /**
+     * @param executor executor that writes to this storage, used to schedule group commit
+     *                 flushes of the working file
+     * @param durability how writes to the working file reach the device
+     * @param ioExecutor executor used to create the next working file ahead of roll over, or
+     *                   {@code null} to create it during roll over
+     */
+    public QueueFileEventStorage(Context context, File workingDirectory, String workingFileName,
+            String targetDirectoryName, Executor executor, QueueFile.Durability durability,
+            Executor ioExecutor) throws IOException {
         this.context = context;
         this.workingDirectory = workingDirectory;
         this.targetDirectoryName = targetDirectoryName;
+        this.executor = executor;
+        this.durability = durability;
+        this.ioExecutor = ioExecutor;
 
         workingFile = new File(this.workingDirectory, workingFileName);
+        nextWorkingFile = new File(this.workingDirectory,
+                workingFileName + NEXT_WORKING_FILE_SUFFIX);
 
-        queueFile = new QueueFile(workingFile);
+        queueFile = new QueueFile(workingFile, durability);
 
         createTargetDirectory();
+        prepareNextWorkingFile();
     }
 
     private void createTargetDirectory(){
@@ -69,6 +122,36 @@ public class QueueFileEventStorage implements EventsStorage {
     @Override
     public void add(byte[] data) throws IOException {
         queueFile.add(data);
+        scheduleFlushIfNeeded();
+    }
+
+    @Override
+    public void add(List<byte[]> data) throws IOException {
+        queueFile.addAll(data);
+        scheduleFlushIfNeeded();
+    }
+
+    /**
+     * Schedules a flush of the working file if it has writes waiting for a group commit.
+     */
+    private void scheduleFlushIfNeeded() {
+        if (!(executor instanceof ScheduledExecutorService) || !queueFile.hasPendingWrites()
+                || !flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            ((ScheduledExecutorService) executor).schedule(() -> {
+                flushScheduled.set(false);
+                try {
+                    queueFile.flush();
+                } catch (IOException e) {
+                    CommonUtils.logControlledError(context, "Failed to flush working file", e);
+                }
+            }, QueueFile.GROUP_COMMIT_MAX_DELAY_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            flushScheduled.set(false);
+        }
     }
 
     @Override
@@ -80,9 +163,69 @@ public class QueueFileEventStorage implements EventsStorage {
     public void rollOver(String targetName) throws IOException {
         queueFile.close();
 
-        move(workingFile, new File(targetDirectory, targetName));
+        final File targetFile = new File(targetDirectory, targetName);
+        if (!workingFile.renameTo(targetFile)) {
+            // Rename only works within a file system, fall back to copying the content.
+            move(workingFile, targetFile);
+        }
+
+        if (nextWorkingFileReady.getAndSet(false)) {
+            // If the rename fails the QueueFile below initializes a new working file instead.
+            nextWorkingFile.renameTo(workingFile);
+        }
+        queueFile = new QueueFile(workingFile, durability);
+
+        prepareNextWorkingFile();
+    }
+
+    /**
+     * Creates an empty queue file on the I/O executor for the next roll over to use as its working
+     * file. Does nothing without an I/O executor or if the file is already being created.
+     */
+    private void prepareNextWorkingFile() {
+        if (ioExecutor == null || nextWorkingFileReady.get()
+                || !preparingNextWorkingFile.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            ioExecutor.execute(() -> {
+                try {
+                    if (!isEmptyQueueFile(nextWorkingFile)) {
+                        // Left over by an earlier process, and possibly corrupt.
+                        nextWorkingFile.delete();
+                        new QueueFile(nextWorkingFile).close();
+                    }
+                    nextWorkingFileReady.set(true);
+                } catch (IOException e) {
+                    CommonUtils.logControlledError(context,
+                            "Failed to create next working file", e);
+                } finally {
+                    preparingNextWorkingFile.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            preparingNextWorkingFile.set(false);
+        }
+    }
 
-        queueFile = new QueueFile(workingFile);
+    /**
+     * @return true if the file exists and is a readable queue file without elements
+     */
+    static boolean isEmptyQueueFile(File file) {
+        if (!file.exists()) {
+            return false;
+        }
+
+        QueueFile queueFile = null;
+        try {
+            queueFile = new QueueFile(file);
+            return queueFile.isEmpty();
+        } catch (IOException | RuntimeException e) {
+            return false;
+        } finally {
+            CommonUtils.closeQuietly(queueFile);
+        }
     }
 
     /**
@@ -165,6 +308,8 @@ public class QueueFileEventStorage implements EventsStorage {
         } catch (IOException ignore) {
         }
         workingFile.delete();
+        nextWorkingFileReady.set(false);
+        nextWorkingFile.delete();
     }
 
     @Override
@@ -29,8 +29,11 @@ import com.twitter.sdk.android.core.internal.IdManager;
 import com.twitter.sdk.android.core.internal.SystemCurrentTimeProvider;
 import com.twitter.sdk.android.core.internal.persistence.FileStoreImpl;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
@@ -48,6 +51,7 @@ public class ScribeClient {
 
     private static final String WORKING_FILENAME_BASE = "_se.tap";
     private static final String STORAGE_DIR_BASE = "_se_to_send";
+    private static final String NEXT_WORKING_FILENAME_SUFFIX = ".next";
 
     /**
      * Map of user ids to ScribeHandlers so that scribe events are stored and uploaded on per user
@@ -62,6 +66,10 @@ public class ScribeClient {
      * The scheduled executor service for performing background operations and scheduling uploads.
      */
     private final ScheduledExecutorService executor;
+    /**
+     * The executor for preparing storage files ahead of time, or {@code null}.
+     */
+    private final Executor ioExecutor;
     /**
      * The scribe configuration.
      */
@@ -93,8 +101,24 @@ public class ScribeClient {
             TwitterAuthConfig authConfig,
             SessionManager<? extends Session<TwitterAuthToken>> sessionManager,
             GuestSessionProvider guestSessionProvider, IdManager idManager) {
+        this(context, executor, scribeConfig, transform, authConfig, sessionManager,
+                guestSessionProvider, idManager, null);
+    }
+
+    /**
+     * @param ioExecutor executor for creating the next working file of each owner ahead of roll
+     *                   over, off the scribe executor, or {@code null} to create it during roll
+     *                   over
+     */
+    public ScribeClient(Context context, ScheduledExecutorService executor,
+            ScribeConfig scribeConfig, ScribeEvent.Transform transform,
+            TwitterAuthConfig authConfig,
+            SessionManager<? extends Session<TwitterAuthToken>> sessionManager,
+            GuestSessionProvider guestSessionProvider, IdManager idManager,
+            Executor ioExecutor) {
         this.context = context;
         this.executor = executor;
+        this.ioExecutor = ioExecutor;
         this.scribeConfig = scribeConfig;
         this.transform = transform;
         this.authConfig = authConfig;
@@ -106,6 +130,23 @@ public class ScribeClient {
         scribeHandlers = new ConcurrentHashMap<>(2);
     }
 
+    /**
+     * Creates a client that stores and uploads its events through the handlers of
+     * {@code sharedClient}.
+     */
+    protected ScribeClient(ScribeClient sharedClient) {
+        this.context = sharedClient.context;
+        this.executor = sharedClient.executor;
+        this.ioExecutor = sharedClient.ioExecutor;
+        this.scribeConfig = sharedClient.scribeConfig;
+        this.transform = sharedClient.transform;
+        this.authConfig = sharedClient.authConfig;
+        this.sessionManager = sharedClient.sessionManager;
+        this.guestSessionProvider = sharedClient.guestSessionProvider;
+        this.idManager = sharedClient.idManager;
+        this.scribeHandlers = sharedClient.scribeHandlers;
+    }
+
     /**
      * Scribes an event.
      */
@@ -142,11 +183,12 @@ public class ScribeClient {
     private ScribeHandler newScribeHandler(long ownerId) throws IOException {
         final QueueFileEventStorage storage = new QueueFileEventStorage(context,
                 new FileStoreImpl(context).getFilesDir(), getWorkingFileNameForOwner(ownerId),
-                getStorageDirForOwner(ownerId));
+                getStorageDirForOwner(ownerId), executor, scribeConfig.durability, ioExecutor);
         final ScribeFilesManager filesManager = new ScribeFilesManager(context,
-                transform, new SystemCurrentTimeProvider(), storage, scribeConfig.maxFilesToKeep);
+                transform, new SystemCurrentTimeProvider(), storage, scribeConfig.maxFilesToKeep,
+                scribeConfig.maxFilesInBatch, scribeConfig.maxBatchSizeBytes);
         return new ScribeHandler(context, getScribeStrategy(ownerId, filesManager), filesManager,
-                executor);
+                executor, scribeConfig.maxPendingEvents, scribeConfig.overflowPolicy);
     }
 
     EventsStrategy<ScribeEvent> getScribeStrategy(long ownerId, ScribeFilesManager filesManager) {
@@ -154,13 +196,92 @@ public class ScribeClient {
             CommonUtils.logControlled(context, "Scribe enabled");
             return new EnabledScribeStrategy(context, executor, filesManager, scribeConfig,
                     new ScribeFilesSender(context, scribeConfig, ownerId, authConfig,
-                            sessionManager, guestSessionProvider, executor,  idManager));
+                            sessionManager, guestSessionProvider, executor, idManager,
+                            transform, this::getUserAgent));
         } else {
             CommonUtils.logControlled(context, "Scribe disabled");
             return new DisabledEventsStrategy<>();
         }
     }
 
+    ScheduledExecutorService getExecutorService() {
+        return executor;
+    }
+
+    /**
+     * Moves the event files that a kit stored in its own files directory, from when each kit had
+     * its own scribe client, into the storage of this client so they are uploaded. Working files
+     * that were never rolled over are moved in as rolled over files. Files that can not be moved
+     * are deleted. Must be called on a background thread.
+     */
+    public void migrateEventFiles(Context kitContext) {
+        final File kitFilesDir = kitContext.getFilesDir();
+        final File filesDir = new FileStoreImpl(context).getFilesDir();
+        final File[] kitFiles = kitFilesDir != null ? kitFilesDir.listFiles() : null;
+        if (kitFiles == null || kitFilesDir.equals(filesDir)) {
+            return;
+        }
+
+        for (File file : kitFiles) {
+            final String name = file.getName();
+            if (file.isDirectory() && name.endsWith(STORAGE_DIR_BASE)) {
+                final File targetDir = new File(filesDir, name);
+                final File[] rolledOverFiles = file.listFiles();
+                if (rolledOverFiles != null) {
+                    for (File rolledOverFile : rolledOverFiles) {
+                        moveEventFile(rolledOverFile, new File(targetDir,
+                                rolledOverFile.getName()));
+                    }
+                }
+                file.delete();
+            } else if (name.endsWith(WORKING_FILENAME_BASE)) {
+                final String ownerPrefix =
+                        name.substring(0, name.length() - WORKING_FILENAME_BASE.length());
+                if (isEmptyQueueFile(file)) {
+                    file.delete();
+                } else {
+                    moveEventFile(file, new File(new File(filesDir,
+                            ownerPrefix + STORAGE_DIR_BASE), newRolledOverFileName()));
+                }
+            } else if (name.endsWith(WORKING_FILENAME_BASE + NEXT_WORKING_FILENAME_SUFFIX)) {
+                file.delete();
+            }
+        }
+    }
+
+    private void moveEventFile(File file, File target) {
+        target.getParentFile().mkdirs();
+        if (target.exists() || !file.renameTo(target)) {
+            CommonUtils.logControlled(context, "Dropping scribe file " + file.getName());
+            file.delete();
+        }
+    }
+
+    private static boolean isEmptyQueueFile(File file) {
+        QueueFile queueFile = null;
+        try {
+            queueFile = new QueueFile(file);
+            return queueFile.isEmpty();
+        } catch (IOException e) {
+            return true;
+        } finally {
+            CommonUtils.closeQuietly(queueFile);
+        }
+    }
+
+    private static String newRolledOverFileName() {
+        return ScribeFilesManager.FILE_PREFIX + EventsFilesManager.ROLL_OVER_FILE_NAME_SEPARATOR
+                + UUID.randomUUID() + EventsFilesManager.ROLL_OVER_FILE_NAME_SEPARATOR
+                + System.currentTimeMillis() + ScribeFilesManager.FILE_EXTENSION;
+    }
+
+    /**
+     * @return the user agent of scribe upload requests, read for every request
+     */
+    protected String getUserAgent() {
+        return scribeConfig.userAgent;
+    }
+
     String getWorkingFileNameForOwner(long ownerId) {
         return ownerId + WORKING_FILENAME_BASE;
     }
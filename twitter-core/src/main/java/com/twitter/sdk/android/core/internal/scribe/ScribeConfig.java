@@ -22,6 +22,8 @@ public class ScribeConfig {
     public static final String BASE_URL = "https://api.twitter.com";
     public static final int DEFAULT_MAX_FILES_TO_KEEP = 100;
     public static final int DEFAULT_SEND_INTERVAL_SECONDS = 10 * 60; // 10 minutes
+    public static final int DEFAULT_MAX_FILES_IN_BATCH = 16;
+    public static final long DEFAULT_MAX_BATCH_SIZE_BYTES = 64 * 1024; // 64 KB
 
     /**
      * Whether scribe is enabled.
@@ -55,17 +57,225 @@ public class ScribeConfig {
      * The send interval in seconds.
      */
     public final int sendIntervalSeconds;
+    /**
+     * The maximum number of files to upload in a single request.
+     */
+    public final int maxFilesInBatch;
+    /**
+     * The maximum combined size in bytes of the files uploaded in a single request. A single file
+     * larger than this is still sent on its own.
+     */
+    public final long maxBatchSizeBytes;
+    /**
+     * Whether to gzip the upload request body. Only enable this for an endpoint known to accept
+     * compressed bodies. Turned off for the session if the endpoint rejects a compressed request
+     * with 400 or 415, and the files of that request are kept for the next, uncompressed,
+     * attempt.
+     */
+    public final boolean isGzipEnabled;
+    /**
+     * How scribe events written to storage reach the device.
+     */
+    public final QueueFile.Durability durability;
+    /**
+     * The maximum number of events waiting to be written to storage.
+     */
+    public final int maxPendingEvents;
+    /**
+     * What to do with events scribed while maxPendingEvents are waiting.
+     */
+    public final BoundedEventsQueue.OverflowPolicy overflowPolicy;
 
     public ScribeConfig(boolean isEnabled, String baseUrl, String pathVersion, String pathType,
                         String sequence, String userAgent, int maxFilesToKeep,
                         int sendIntervalSeconds) {
-        this.isEnabled = isEnabled;
-        this.baseUrl = baseUrl;
-        this.pathVersion = pathVersion;
-        this.pathType = pathType;
-        this.sequence = sequence;
-        this.userAgent = userAgent;
-        this.maxFilesToKeep = maxFilesToKeep;
-        this.sendIntervalSeconds = sendIntervalSeconds;
+        this(new Builder()
+                .enabled(isEnabled)
+                .baseUrl(baseUrl)
+                .pathVersion(pathVersion)
+                .pathType(pathType)
+                .sequence(sequence)
+                .userAgent(userAgent)
+                .maxFilesToKeep(maxFilesToKeep)
+                .sendIntervalSeconds(sendIntervalSeconds));
+    }
+
+    private ScribeConfig(Builder builder) {
+        this.isEnabled = builder.isEnabled;
+        this.baseUrl = builder.baseUrl;
+        this.pathVersion = builder.pathVersion;
+        this.pathType = builder.pathType;
+        this.sequence = builder.sequence;
+        this.userAgent = builder.userAgent;
+        this.maxFilesToKeep = builder.maxFilesToKeep;
+        this.sendIntervalSeconds = builder.sendIntervalSeconds;
+        this.maxFilesInBatch = builder.maxFilesInBatch;
+        this.maxBatchSizeBytes = builder.maxBatchSizeBytes;
+        this.isGzipEnabled = builder.isGzipEnabled;
+        this.durability = builder.durability;
+        this.maxPendingEvents = builder.maxPendingEvents;
+        this.overflowPolicy = builder.overflowPolicy;
+    }
+
+    /**
+     * Builder for {@link ScribeConfig}. Settings that are not set keep the defaults of the
+     * {@link ScribeConfig} constants: files are sent in batches of up to
+     * {@link #DEFAULT_MAX_FILES_IN_BATCH} files and {@link #DEFAULT_MAX_BATCH_SIZE_BYTES} bytes,
+     * without gzip, events are written with {@link QueueFile.Durability#SYNC}, and the oldest
+     * waiting event is dropped once {@link EventsHandler#DEFAULT_MAX_PENDING_EVENTS} are waiting.
+     */
+    public static class Builder {
+        private boolean isEnabled = true;
+        private String baseUrl = BASE_URL;
+        private String pathVersion;
+        private String pathType;
+        private String sequence;
+        private String userAgent;
+        private int maxFilesToKeep = DEFAULT_MAX_FILES_TO_KEEP;
+        private int sendIntervalSeconds = DEFAULT_SEND_INTERVAL_SECONDS;
+        private int maxFilesInBatch = DEFAULT_MAX_FILES_IN_BATCH;
+        private long maxBatchSizeBytes = DEFAULT_MAX_BATCH_SIZE_BYTES;
+        private boolean isGzipEnabled;
+        private QueueFile.Durability durability = QueueFile.Durability.SYNC;
+        private int maxPendingEvents = EventsHandler.DEFAULT_MAX_PENDING_EVENTS;
+        private BoundedEventsQueue.OverflowPolicy overflowPolicy =
+                BoundedEventsQueue.OverflowPolicy.DROP_OLDEST;
+
+        /**
+         * Sets whether scribe is enabled. Enabled by default.
+         */
+        public Builder enabled(boolean isEnabled) {
+            this.isEnabled = isEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the scribe url scheme and host. {@link #BASE_URL} by default.
+         */
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        /**
+         * Sets the scribe path version component "/{version}/jot/{type}."
+         */
+        public Builder pathVersion(String pathVersion) {
+            this.pathVersion = pathVersion;
+            return this;
+        }
+
+        /**
+         * Sets the scribe path type component "/{version}/jot/{type}."
+         */
+        public Builder pathType(String pathType) {
+            this.pathType = pathType;
+            return this;
+        }
+
+        /**
+         * Sets the scribe sequence. Used for echidna testing.
+         */
+        public Builder sequence(String sequence) {
+            this.sequence = sequence;
+            return this;
+        }
+
+        /**
+         * Sets the user agent string to include in scribe requests.
+         */
+        public Builder userAgent(String userAgent) {
+            this.userAgent = userAgent;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of files to keep in storage.
+         */
+        public Builder maxFilesToKeep(int maxFilesToKeep) {
+            this.maxFilesToKeep = maxFilesToKeep;
+            return this;
+        }
+
+        /**
+         * Sets the send interval in seconds.
+         */
+        public Builder sendIntervalSeconds(int sendIntervalSeconds) {
+            this.sendIntervalSeconds = sendIntervalSeconds;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of files to upload in a single request.
+         */
+        public Builder maxFilesInBatch(int maxFilesInBatch) {
+            if (maxFilesInBatch < 1) {
+                throw new IllegalArgumentException("maxFilesInBatch must be positive.");
+            }
+
+            this.maxFilesInBatch = maxFilesInBatch;
+            return this;
+        }
+
+        /**
+         * Sets the maximum combined size in bytes of the files uploaded in a single request.
+         */
+        public Builder maxBatchSizeBytes(long maxBatchSizeBytes) {
+            if (maxBatchSizeBytes < 1) {
+                throw new IllegalArgumentException("maxBatchSizeBytes must be positive.");
+            }
+
+            this.maxBatchSizeBytes = maxBatchSizeBytes;
+            return this;
+        }
+
+        /**
+         * Sets whether to gzip the upload request body. Only enable this for an endpoint known
+         * to accept compressed bodies.
+         */
+        public Builder gzipEnabled(boolean isGzipEnabled) {
+            this.isGzipEnabled = isGzipEnabled;
+            return this;
+        }
+
+        /**
+         * Sets how scribe events written to storage reach the device.
+         */
+        public Builder durability(QueueFile.Durability durability) {
+            if (durability == null) {
+                throw new IllegalArgumentException("Durability must not be null.");
+            }
+
+            this.durability = durability;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of events waiting to be written to storage.
+         */
+        public Builder maxPendingEvents(int maxPendingEvents) {
+            if (maxPendingEvents < 1) {
+                throw new IllegalArgumentException("maxPendingEvents must be positive.");
+            }
+
+            this.maxPendingEvents = maxPendingEvents;
+            return this;
+        }
+
+        /**
+         * Sets what to do with events scribed while maxPendingEvents are waiting.
+         */
+        public Builder overflowPolicy(BoundedEventsQueue.OverflowPolicy overflowPolicy) {
+            if (overflowPolicy == null) {
+                throw new IllegalArgumentException("OverflowPolicy must not be null.");
+            }
+
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        public ScribeConfig build() {
+            return new ScribeConfig(this);
+        }
     }
 }
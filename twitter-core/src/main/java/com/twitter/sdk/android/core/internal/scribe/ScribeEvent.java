@@ -22,6 +22,7 @@ import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -59,17 +60,29 @@ public class ScribeEvent {
     @SerializedName("items")
     final List<ScribeItem> items;
 
+    /**
+     * The kit that recorded the event, e.g. "TweetUi/3.3.0", or null for events recorded by
+     * TwitterCore. Only kept in the binary storage record, it is not part of the uploaded event.
+     */
+    final transient String kit;
+
     public ScribeEvent(String category, EventNamespace eventNamespace, long timestamp) {
         this(category, eventNamespace, timestamp, Collections.emptyList());
     }
 
     public ScribeEvent(String category, EventNamespace eventNamespace, long timestamp,
             List<ScribeItem> items) {
+        this(category, eventNamespace, timestamp, items, null);
+    }
+
+    ScribeEvent(String category, EventNamespace eventNamespace, long timestamp,
+            List<ScribeItem> items, String kit) {
         this.category = category;
         this.eventNamespace = eventNamespace;
         this.timestamp = String.valueOf(timestamp);
         this.formatVersion =  CURRENT_FORMAT_VERSION;
         this.items = Collections.unmodifiableList(items);
+        this.kit = kit;
     }
 
     @Override
@@ -80,6 +93,7 @@ public class ScribeEvent {
                 .append(", format_version=").append(formatVersion)
                 .append(", _category_=").append(category)
                 .append(", items=").append("[" + TextUtils.join(", ", items) + "]")
+                .append(", kit=").append(kit)
                 .toString();
     }
 
@@ -105,6 +119,9 @@ public class ScribeEvent {
         if (timestamp != null ? !timestamp.equals(that.timestamp) : that.timestamp != null) {
             return false;
         }
+        if (kit != null ? !kit.equals(that.kit) : that.kit != null) {
+            return false;
+        }
 
         return items != null ? items.equals(that.items) : that.items == null;
     }
@@ -116,19 +133,87 @@ public class ScribeEvent {
         result = 31 * result + (formatVersion != null ? formatVersion.hashCode() : 0);
         result = 31 * result + (category != null ? category.hashCode() : 0);
         result = 31 * result + (items != null ? items.hashCode() : 0);
+        result = 31 * result + (kit != null ? kit.hashCode() : 0);
         return result;
     }
 
+    /**
+     * Stores events in the compact {@link ScribeEventCodec} format, or as JSON for event types the
+     * codec does not support, and converts stored records to JSON for upload.
+     */
     public static class Transform implements EventTransform<ScribeEvent> {
         private final Gson gson;
+        private final AdvertisingIdProvider advertisingIdProvider;
 
         public Transform(Gson gson) {
+            this(gson, () -> null);
+        }
+
+        /**
+         * @param advertisingIdProvider provides the advertising id for events that were recorded
+         *                              before it was resolved, called at most once per upload and
+         *                              only if a record has no advertising id. It must not block.
+         */
+        public Transform(Gson gson, AdvertisingIdProvider advertisingIdProvider) {
             this.gson = gson;
+            this.advertisingIdProvider = advertisingIdProvider;
         }
 
         @Override
         public byte[] toBytes(ScribeEvent event) throws IOException {
+            final byte[] record = ScribeEventCodec.encode(event);
+            return record != null ? record : toJsonBytes(event);
+        }
+
+        /**
+         * @return the JSON for a stored record, which may be the record itself
+         */
+        public byte[] toJsonBytes(byte[] record, int length) throws IOException {
+            return newRecordConverter().toJsonBytes(record, length);
+        }
+
+        /**
+         * @return a converter for the records of one upload
+         */
+        public RecordConverter newRecordConverter() {
+            return new RecordConverter();
+        }
+
+        private byte[] toJsonBytes(ScribeEvent event) throws IOException {
             return gson.toJson(event).getBytes("UTF-8");
         }
+
+        /**
+         * Converts the records of one upload to JSON, asking for the advertising id at most once.
+         * Not thread safe.
+         */
+        public class RecordConverter implements AdvertisingIdProvider {
+            private boolean fetchedAdvertisingId;
+            private String advertisingId;
+
+            /**
+             * @return the JSON for a stored record, which may be the record itself
+             */
+            public byte[] toJsonBytes(byte[] record, int length) throws IOException {
+                if (ScribeEventCodec.isBinary(record, length)) {
+                    return Transform.this.toJsonBytes(ScribeEventCodec.decode(record, length,
+                            this));
+                }
+                return length == record.length ? record : Arrays.copyOf(record, length);
+            }
+
+            @Override
+            public String getAdvertisingId() {
+                if (!fetchedAdvertisingId) {
+                    advertisingId = advertisingIdProvider.getAdvertisingId();
+                    fetchedAdvertisingId = true;
+                }
+                return advertisingId;
+            }
+        }
+    }
+
+    public interface AdvertisingIdProvider {
+        String getAdvertisingId();
     }
 }
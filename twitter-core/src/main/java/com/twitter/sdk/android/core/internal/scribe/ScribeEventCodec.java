@@ -0,0 +1,369 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.scribe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary record format for the {@link ScribeEvent}s created by this SDK. Namespace
+ * components and other common strings are dictionary encoded, numbers are written as varints.
+ * Records are converted back to events, and from there to JSON, only when they are uploaded.
+ *
+ * <pre>
+ *   Record:
+ *     Format          (1 byte, {@link #FORMAT_BINARY_V2})
+ *     Event type      (1 byte)
+ *     Kit             (string, not in {@link #FORMAT_BINARY_V1} records)
+ *     Namespace       (6 strings: client, page, section, component, element, action)
+ *     Timestamp       (varint)
+ *     Language        (string)
+ *     Advertising id  (string)
+ *     Event info      (string, client events only)
+ *     Item count      (varint)
+ *     Items           (flags byte, then each field present in flags)
+ *
+ *   String:
+ *     0 for null, 1 followed by a varint length and UTF-8 bytes, or 2 + dictionary index
+ * </pre>
+ *
+ * JSON records always start with '{', which is never a valid format byte, so files written
+ * before this format existed can still be read.
+ */
+class ScribeEventCodec {
+    static final int FORMAT_BINARY_V1 = 1;
+    static final int FORMAT_BINARY_V2 = 2;
+
+    static final int TYPE_SYNDICATION_CLIENT_EVENT = 0;
+    static final int TYPE_SYNDICATED_SDK_IMPRESSION = 1;
+
+    private static final int STRING_NULL = 0;
+    private static final int STRING_LITERAL = 1;
+    private static final int STRING_DICTIONARY_OFFSET = 2;
+
+    private static final int ITEM_HAS_TYPE = 1;
+    private static final int ITEM_HAS_ID = 1 << 1;
+    private static final int ITEM_HAS_DESCRIPTION = 1 << 2;
+    private static final int ITEM_HAS_CARD_EVENT = 1 << 3;
+    private static final int ITEM_HAS_MEDIA_DETAILS = 1 << 4;
+    private static final int ITEM_HAS_PUBLISHER_ID = 1 << 5;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * Common strings. Records refer to entries by index, so entries may only ever be appended.
+     */
+    static final List<String> DICTIONARY = Arrays.asList(
+            "", "tfw", "android", "tweet", "timeline", "impression", "click", "favorite",
+            "unfavorite", "share", "actions", "compact", "default", "quote", "gallery", "video",
+            "play", "show", "navigate", "dismiss", "composer", "cancel", "user", "search",
+            "collection", "list", "filter", "fixed", "initial", "login", "shareemail", "en");
+
+    private static final Map<String, Integer> DICTIONARY_INDEX = new HashMap<>();
+
+    static {
+        for (int i = 0; i < DICTIONARY.size(); i++) {
+            DICTIONARY_INDEX.put(DICTIONARY.get(i), i);
+        }
+    }
+
+    private ScribeEventCodec() {
+    }
+
+    /**
+     * @return true if the record is in the binary format, false if it is JSON
+     */
+    static boolean isBinary(byte[] record, int length) {
+        return length > 0 && (record[0] == FORMAT_BINARY_V1 || record[0] == FORMAT_BINARY_V2);
+    }
+
+    /**
+     * @return the binary record for the event, or null if the event type is not supported
+     */
+    static byte[] encode(ScribeEvent event) {
+        final int type;
+        if (event.getClass() == SyndicationClientEvent.class) {
+            type = TYPE_SYNDICATION_CLIENT_EVENT;
+        } else if (event.getClass() == SyndicatedSdkImpressionEvent.class) {
+            type = TYPE_SYNDICATED_SDK_IMPRESSION;
+        } else {
+            return null;
+        }
+
+        final long timestamp;
+        try {
+            timestamp = Long.parseLong(event.timestamp);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(FORMAT_BINARY_V2);
+        out.write(type);
+        writeString(out, event.kit);
+        writeNamespace(out, event.eventNamespace);
+        writeVarint(out, timestamp);
+        if (type == TYPE_SYNDICATION_CLIENT_EVENT) {
+            final SyndicationClientEvent clientEvent = (SyndicationClientEvent) event;
+            writeString(out, clientEvent.language);
+            writeString(out, clientEvent.externalIds.adId);
+            writeString(out, clientEvent.eventInfo);
+        } else {
+            final SyndicatedSdkImpressionEvent impression = (SyndicatedSdkImpressionEvent) event;
+            writeString(out, impression.language);
+            writeString(out, impression.externalIds.adId);
+        }
+
+        writeVarint(out, event.items.size());
+        for (ScribeItem item : event.items) {
+            writeItem(out, item);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a binary record created by {@link #encode(ScribeEvent)}.
+     *
+     * @throws IOException if the record is malformed
+     */
+    static ScribeEvent decode(byte[] record, int length) throws IOException {
+        return decode(record, length, null);
+    }
+
+    /**
+     * Decodes a binary record created by {@link #encode(ScribeEvent)}, asking the provider for the
+     * advertising id if the event was recorded before the advertising id was resolved.
+     *
+     * @param fallbackAdIdProvider provider of the advertising id for records without one, or null
+     * @throws IOException if the record is malformed
+     */
+    static ScribeEvent decode(byte[] record, int length,
+            ScribeEvent.AdvertisingIdProvider fallbackAdIdProvider) throws IOException {
+        final Reader in = new Reader(record, length);
+        final int format = in.readByte();
+        if (format != FORMAT_BINARY_V1 && format != FORMAT_BINARY_V2) {
+            throw new IOException("Unknown scribe record format");
+        }
+
+        final int type = in.readByte();
+        final String kit = format == FORMAT_BINARY_V2 ? readString(in) : null;
+        final EventNamespace namespace = new EventNamespace(readString(in), readString(in),
+                readString(in), readString(in), readString(in), readString(in));
+        final long timestamp = in.readVarint();
+        final String language = readString(in);
+        final String recordedAdId = readString(in);
+        final String adId;
+        if ((recordedAdId == null || recordedAdId.isEmpty()) && fallbackAdIdProvider != null) {
+            adId = fallbackAdIdProvider.getAdvertisingId();
+        } else {
+            adId = recordedAdId;
+        }
+        final String eventInfo = type == TYPE_SYNDICATION_CLIENT_EVENT ? readString(in) : null;
+
+        final int itemCount = (int) in.readVarint();
+        final List<ScribeItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(readItem(in));
+        }
+
+        final ScribeEvent event;
+        switch (type) {
+            case TYPE_SYNDICATION_CLIENT_EVENT:
+                event = new SyndicationClientEvent(namespace, eventInfo, timestamp, language, adId,
+                        items, kit);
+                break;
+            case TYPE_SYNDICATED_SDK_IMPRESSION:
+                event = new SyndicatedSdkImpressionEvent(namespace, timestamp, language, adId,
+                        items, kit);
+                break;
+            default:
+                throw new IOException("Unknown scribe event type " + type);
+        }
+        return event;
+    }
+
+    /**
+     * @return a copy of the event that is stored with the kit, or the event itself if its type is
+     * stored as JSON, which does not keep the kit
+     */
+    static ScribeEvent withKit(ScribeEvent event, String kit) {
+        final long timestamp;
+        try {
+            timestamp = Long.parseLong(event.timestamp);
+        } catch (NumberFormatException e) {
+            return event;
+        }
+
+        if (event.getClass() == SyndicationClientEvent.class) {
+            final SyndicationClientEvent clientEvent = (SyndicationClientEvent) event;
+            return new SyndicationClientEvent(event.eventNamespace, clientEvent.eventInfo,
+                    timestamp, clientEvent.language, clientEvent.externalIds.adId, event.items,
+                    kit);
+        } else if (event.getClass() == SyndicatedSdkImpressionEvent.class) {
+            final SyndicatedSdkImpressionEvent impression = (SyndicatedSdkImpressionEvent) event;
+            return new SyndicatedSdkImpressionEvent(event.eventNamespace, timestamp,
+                    impression.language, impression.externalIds.adId, event.items, kit);
+        }
+        return event;
+    }
+
+    private static void writeNamespace(ByteArrayOutputStream out, EventNamespace namespace) {
+        writeString(out, namespace.client);
+        writeString(out, namespace.page);
+        writeString(out, namespace.section);
+        writeString(out, namespace.component);
+        writeString(out, namespace.element);
+        writeString(out, namespace.action);
+    }
+
+    private static void writeItem(ByteArrayOutputStream out, ScribeItem item) {
+        final ScribeItem.MediaDetails mediaDetails = item.getMediaDetails();
+        int flags = 0;
+        if (item.getItemType() != null) flags |= ITEM_HAS_TYPE;
+        if (item.getId() != null) flags |= ITEM_HAS_ID;
+        if (item.getDescription() != null) flags |= ITEM_HAS_DESCRIPTION;
+        if (item.getCardEvent() != null) flags |= ITEM_HAS_CARD_EVENT;
+        if (mediaDetails != null) flags |= ITEM_HAS_MEDIA_DETAILS;
+        if (mediaDetails != null && mediaDetails.getPublisherId() != null) {
+            flags |= ITEM_HAS_PUBLISHER_ID;
+        }
+        out.write(flags);
+
+        if (item.getItemType() != null) writeVarint(out, item.getItemType());
+        if (item.getId() != null) writeVarint(out, item.getId());
+        if (item.getDescription() != null) writeString(out, item.getDescription());
+        if (item.getCardEvent() != null) {
+            writeVarint(out, item.getCardEvent().getPromotionCardType());
+        }
+        if (mediaDetails != null) {
+            writeVarint(out, mediaDetails.getContentId());
+            writeVarint(out, mediaDetails.getMediaType());
+            if (mediaDetails.getPublisherId() != null) {
+                writeVarint(out, mediaDetails.getPublisherId());
+            }
+        }
+    }
+
+    private static ScribeItem readItem(Reader in) throws IOException {
+        final int flags = in.readByte();
+        final Integer itemType = (flags & ITEM_HAS_TYPE) != 0 ? (int) in.readVarint() : null;
+        final Long id = (flags & ITEM_HAS_ID) != 0 ? in.readVarint() : null;
+        final String description = (flags & ITEM_HAS_DESCRIPTION) != 0 ? readString(in) : null;
+        final ScribeItem.CardEvent cardEvent = (flags & ITEM_HAS_CARD_EVENT) != 0
+                ? new ScribeItem.CardEvent((int) in.readVarint()) : null;
+        ScribeItem.MediaDetails mediaDetails = null;
+        if ((flags & ITEM_HAS_MEDIA_DETAILS) != 0) {
+            final long contentId = in.readVarint();
+            final int mediaType = (int) in.readVarint();
+            final Long publisherId = (flags & ITEM_HAS_PUBLISHER_ID) != 0
+                    ? in.readVarint() : null;
+            mediaDetails = new ScribeItem.MediaDetails(contentId, mediaType, publisherId);
+        }
+        return new ScribeItem(itemType, id, description, cardEvent, mediaDetails);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeVarint(out, STRING_NULL);
+            return;
+        }
+
+        final Integer index = DICTIONARY_INDEX.get(value);
+        if (index != null) {
+            writeVarint(out, STRING_DICTIONARY_OFFSET + index);
+        } else {
+            final byte[] bytes = value.getBytes(UTF8);
+            writeVarint(out, STRING_LITERAL);
+            writeVarint(out, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static String readString(Reader in) throws IOException {
+        final int tag = (int) in.readVarint();
+        switch (tag) {
+            case STRING_NULL:
+                return null;
+            case STRING_LITERAL:
+                final int length = (int) in.readVarint();
+                return in.readUtf8(length);
+            default:
+                final int index = tag - STRING_DICTIONARY_OFFSET;
+                if (index >= DICTIONARY.size()) {
+                    throw new IOException("Unknown scribe dictionary entry " + index);
+                }
+                return DICTIONARY.get(index);
+        }
+    }
+
+    /**
+     * Writes the value as an unsigned LEB128 varint, 7 bits per byte.
+     */
+    static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static class Reader {
+        private final byte[] data;
+        private final int length;
+        private int position;
+
+        Reader(byte[] data, int length) {
+            this.data = data;
+            this.length = length;
+        }
+
+        int readByte() throws IOException {
+            if (position >= length) {
+                throw new IOException("Truncated scribe record");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in scribe record");
+        }
+
+        String readUtf8(int count) throws IOException {
+            if (count < 0 || count > length - position) {
+                throw new IOException("Truncated scribe record");
+            }
+            final String value = new String(data, position, count, UTF8);
+            position += count;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.scribe;
+
+import com.twitter.sdk.android.core.Twitter;
+import com.twitter.sdk.android.core.internal.CommonUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * Form encoded "log[]" request body that streams the scribe events of the given
+ * {@link QueueFile}s as a JSON array. Each stored record is read into a single reused buffer,
+ * converted to JSON if needed and percent-encoded, so memory use does not grow with the size of
+ * the batch. Records that cannot be decoded are left out, so they do not fail the whole upload.
+ */
+class ScribeEventsRequestBody extends RequestBody {
+    private static final MediaType CONTENT_TYPE =
+            MediaType.parse("application/x-www-form-urlencoded;charset=UTF-8");
+    private static final String LOG_PARAM_PREFIX = "log%5B%5D=";
+    private static final String START_JSON_ARRAY = "%5B";
+    private static final String COMMA = "%2C";
+    private static final String END_JSON_ARRAY = "%5D";
+    private static final int BUFFER_SIZE = 4096;
+    private static final byte[] HEX_DIGITS = {
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'
+    };
+
+    private final List<File> files;
+    private final ScribeEvent.Transform transform;
+
+    ScribeEventsRequestBody(List<File> files, ScribeEvent.Transform transform) {
+        this.files = files;
+        this.transform = transform;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        final byte[][] buffer = {new byte[BUFFER_SIZE]};
+        final boolean[] appendComma = new boolean[1];
+        final ScribeEvent.Transform.RecordConverter converter = transform.newRecordConverter();
+
+        sink.writeUtf8(LOG_PARAM_PREFIX);
+        sink.writeUtf8(START_JSON_ARRAY);
+        for (File f : files) {
+            QueueFile qf = null;
+            try {
+                qf = new QueueFile(f);
+                qf.forEach((in, length) -> {
+                    buffer[0] = readRecord(in, length, buffer[0]);
+                    byte[] json = buffer[0];
+                    int jsonLength = length;
+                    if (ScribeEventCodec.isBinary(buffer[0], length)) {
+                        try {
+                            json = converter.toJsonBytes(buffer[0], length);
+                            jsonLength = json.length;
+                        } catch (IOException | RuntimeException e) {
+                            Twitter.getLogger().w(Twitter.TAG,
+                                    ScribeFilesSender.MALFORMED_RECORD_ERROR, e);
+                            return;
+                        }
+                    }
+
+                    if (appendComma[0]) {
+                        sink.writeUtf8(COMMA);
+                    } else {
+                        // First time through we don't append comma, but subsequent times we do
+                        appendComma[0] = true;
+                    }
+                    writeEncoded(json, jsonLength, sink);
+                });
+            } finally {
+                CommonUtils.closeQuietly(qf);
+            }
+        }
+        sink.writeUtf8(END_JSON_ARRAY);
+    }
+
+    /**
+     * Reads a record of {@code length} bytes into {@code buffer}, or into a larger buffer that is
+     * returned if the record does not fit.
+     */
+    static byte[] readRecord(InputStream in, int length, byte[] buffer) throws IOException {
+        final byte[] record = length > buffer.length ? new byte[length] : buffer;
+        int offset = 0;
+        while (offset < length) {
+            final int count = in.read(record, offset, length - offset);
+            if (count == -1) {
+                throw new IOException("Truncated scribe record");
+            }
+            offset += count;
+        }
+        return record;
+    }
+
+    /**
+     * Writes the first {@code count} bytes of {@code data} to {@code sink}, percent-encoding every
+     * byte outside of the unreserved form characters.
+     */
+    static void writeEncoded(byte[] data, int count, BufferedSink sink) throws IOException {
+        for (int i = 0; i < count; i++) {
+            final int b = data[i] & 0xff;
+            if (isUnreserved(b)) {
+                sink.writeByte(b);
+            } else {
+                sink.writeByte('%');
+                sink.writeByte(HEX_DIGITS[b >> 4]);
+                sink.writeByte(HEX_DIGITS[b & 0xf]);
+            }
+        }
+    }
+
+    private static boolean isUnreserved(int b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9')
+                || b == '-' || b == '.' || b == '_' || b == '*';
+    }
+}
@@ -28,11 +28,33 @@ class ScribeFilesManager extends EventsFilesManager<ScribeEvent> {
     static final String FILE_PREFIX = "se";
     static final String FILE_EXTENSION = ".tap";
 
+    private final int maxFilesInBatch;
+    private final long maxBatchSizeInBytes;
+
     ScribeFilesManager(Context context, EventTransform<ScribeEvent> transform,
                               CurrentTimeProvider currentTimeProvider,
                               QueueFileEventStorage eventsStorage, int defaultMaxFilesToKeep
     ) {
+        this(context, transform, currentTimeProvider, eventsStorage, defaultMaxFilesToKeep,
+                MAX_FILES_IN_BATCH, MAX_BATCH_SIZE_BYTES);
+    }
+
+    ScribeFilesManager(Context context, EventTransform<ScribeEvent> transform,
+            CurrentTimeProvider currentTimeProvider, QueueFileEventStorage eventsStorage,
+            int defaultMaxFilesToKeep, int maxFilesInBatch, long maxBatchSizeInBytes) {
         super(context, transform, currentTimeProvider, eventsStorage, defaultMaxFilesToKeep);
+        this.maxFilesInBatch = maxFilesInBatch;
+        this.maxBatchSizeInBytes = maxBatchSizeInBytes;
+    }
+
+    @Override
+    protected int getMaxFilesInBatch() {
+        return maxFilesInBatch;
+    }
+
+    @Override
+    protected long getMaxBatchSizeInBytes() {
+        return maxBatchSizeInBytes;
     }
 
     @Override
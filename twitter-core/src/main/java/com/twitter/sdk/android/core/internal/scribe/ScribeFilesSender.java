@@ -20,6 +20,7 @@ package com.twitter.sdk.android.core.internal.scribe;
 import android.content.Context;
 import android.text.TextUtils;
 
+import com.google.gson.Gson;
 import com.twitter.sdk.android.core.GuestSessionProvider;
 import com.twitter.sdk.android.core.Session;
 import com.twitter.sdk.android.core.SessionManager;
@@ -28,8 +29,11 @@ import com.twitter.sdk.android.core.TwitterAuthToken;
 import com.twitter.sdk.android.core.internal.CommonUtils;
 import com.twitter.sdk.android.core.internal.IdManager;
 import com.twitter.sdk.android.core.internal.network.GuestAuthInterceptor;
+import com.twitter.sdk.android.core.internal.network.GzipRequestInterceptor;
 import com.twitter.sdk.android.core.internal.network.OAuth1aInterceptor;
 import com.twitter.sdk.android.core.internal.network.OkHttpClientHelper;
+import com.twitter.sdk.android.core.internal.network.RequestPriority;
+import com.twitter.sdk.android.core.internal.network.RequestScheduler;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -42,10 +46,12 @@ import java.util.concurrent.atomic.AtomicReference;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
+import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Response;
 import retrofit2.Retrofit;
+import retrofit2.http.Body;
 import retrofit2.http.Field;
 import retrofit2.http.FormUrlEncoded;
 import retrofit2.http.Headers;
@@ -55,6 +61,7 @@ import retrofit2.http.Path;
 class ScribeFilesSender implements FilesSender {
 
     private static final String SEND_FILE_FAILURE_ERROR = "Failed sending files";
+    static final String MALFORMED_RECORD_ERROR = "Skipping malformed scribe record";
     /**
      * The string "[" as a byte array.
      */
@@ -68,6 +75,8 @@ class ScribeFilesSender implements FilesSender {
      */
     private static final byte[] END_JSON_ARRAY = {']'};
 
+    private static volatile OkHttpClient baseClient;
+
     private final Context context;
     private final ScribeConfig scribeConfig;
     private final long ownerId;
@@ -76,12 +85,40 @@ class ScribeFilesSender implements FilesSender {
     private final GuestSessionProvider guestSessionProvider;
     private final AtomicReference<ScribeService> scribeService;
     private final IdManager idManager;
+    private final GzipRequestInterceptor gzipInterceptor;
+    private final ScribeEvent.Transform transform;
+    private final UserAgentProvider userAgentProvider;
 
     ScribeFilesSender(Context context, ScribeConfig scribeConfig, long ownerId,
             TwitterAuthConfig authConfig,
             SessionManager<? extends Session<TwitterAuthToken>> sessionManager,
             GuestSessionProvider guestSessionProvider, ExecutorService executorService,
             IdManager idManager) {
+        this(context, scribeConfig, ownerId, authConfig, sessionManager, guestSessionProvider,
+                executorService, idManager, new ScribeEvent.Transform(new Gson()));
+    }
+
+    /**
+     * @param transform converts stored scribe records to JSON for upload
+     */
+    ScribeFilesSender(Context context, ScribeConfig scribeConfig, long ownerId,
+            TwitterAuthConfig authConfig,
+            SessionManager<? extends Session<TwitterAuthToken>> sessionManager,
+            GuestSessionProvider guestSessionProvider, ExecutorService executorService,
+            IdManager idManager, ScribeEvent.Transform transform) {
+        this(context, scribeConfig, ownerId, authConfig, sessionManager, guestSessionProvider,
+                executorService, idManager, transform, () -> scribeConfig.userAgent);
+    }
+
+    /**
+     * @param userAgentProvider provides the user agent of each upload request
+     */
+    ScribeFilesSender(Context context, ScribeConfig scribeConfig, long ownerId,
+            TwitterAuthConfig authConfig,
+            SessionManager<? extends Session<TwitterAuthToken>> sessionManager,
+            GuestSessionProvider guestSessionProvider, ExecutorService executorService,
+            IdManager idManager, ScribeEvent.Transform transform,
+            UserAgentProvider userAgentProvider) {
         this.context = context;
         this.scribeConfig = scribeConfig;
         this.ownerId = ownerId;
@@ -91,18 +128,34 @@ class ScribeFilesSender implements FilesSender {
         ExecutorService executorService1 = executorService;
         this.idManager = idManager;
         this.scribeService = new AtomicReference<>();
+        this.gzipInterceptor = new GzipRequestInterceptor(scribeConfig.isGzipEnabled);
+        this.transform = transform;
+        this.userAgentProvider = userAgentProvider;
     }
 
     @Override
     public boolean send(List<File> files) {
         if (hasApiAdapter()) {
             try {
-                final String scribeEvents = getScribeEventsAsJsonArrayString(files);
-                CommonUtils.logControlled(context, scribeEvents);
+                final Response<ResponseBody> response;
+                if (isValidSession(getSession(ownerId))) {
+                    // OAuth 1.0a signs form parameters, so the events have to be in memory.
+                    final String scribeEvents = getScribeEventsAsJsonArrayString(files);
+                    CommonUtils.logControlled(context, scribeEvents);
 
-                final Response<ResponseBody> response = upload(scribeEvents);
+                    response = upload(scribeEvents);
+                } else {
+                    response = upload(new ScribeEventsRequestBody(files, transform));
+                }
                 if (response.code() == HttpURLConnection.HTTP_OK) {
                     return true;
+                } else if ((response.code() == HttpURLConnection.HTTP_UNSUPPORTED_TYPE
+                        || response.code() == HttpURLConnection.HTTP_BAD_REQUEST)
+                        && gzipInterceptor.isEnabled()) {
+                    // Endpoint may not accept compressed bodies, retry uncompressed next time
+                    // before treating the request as bad and dropping the files.
+                    CommonUtils.logControlled(context, "Disabling gzip for scribe uploads");
+                    gzipInterceptor.setEnabled(false);
                 } else {
                     CommonUtils.logControlledError(context, SEND_FILE_FAILURE_ERROR, null);
                     if (response.code() == HttpURLConnection.HTTP_INTERNAL_ERROR ||
@@ -122,14 +175,24 @@ class ScribeFilesSender implements FilesSender {
     String getScribeEventsAsJsonArrayString(List<File> files) throws IOException {
         final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
         final boolean[] appendComma = new boolean[1];
+        final ScribeEvent.Transform.RecordConverter converter = transform.newRecordConverter();
         out.write(START_JSON_ARRAY);
         for (File f : files) {
             QueueFile qf = null;
             try {
                 qf = new QueueFile(f);
                 qf.forEach((in, length) -> {
-                    final byte[] buf = new byte[length];
-                    in.read(buf);
+                    final byte[] record = new byte[length];
+                    in.read(record);
+                    final byte[] buf;
+                    try {
+                        buf = converter.toJsonBytes(record, length);
+                    } catch (IOException | RuntimeException e) {
+                        // Sending the other events lets the file be deleted, rather than be
+                        // retried for as long as it is kept.
+                        CommonUtils.logControlledError(context, MALFORMED_RECORD_ERROR, e);
+                        return;
+                    }
 
                     if (appendComma[0]) {
                         out.write(COMMA);
@@ -169,17 +232,19 @@ class ScribeFilesSender implements FilesSender {
         if (scribeService.get() == null) {
             final Session session = getSession(ownerId);
             final OkHttpClient client;
+            final ConfigRequestInterceptor configInterceptor =
+                    new ConfigRequestInterceptor(scribeConfig, idManager, userAgentProvider);
             if (isValidSession(session)) {
-                client = new OkHttpClient.Builder()
-                        .certificatePinner(OkHttpClientHelper.getCertificatePinner())
-                        .addInterceptor(new ConfigRequestInterceptor(scribeConfig, idManager))
+                client = getBaseClient().newBuilder()
+                        .addInterceptor(configInterceptor)
                         .addInterceptor(new OAuth1aInterceptor(session, authConfig))
+                        .addInterceptor(gzipInterceptor)
                         .build();
             } else {
-                client = new OkHttpClient.Builder()
-                        .certificatePinner(OkHttpClientHelper.getCertificatePinner())
-                        .addInterceptor(new ConfigRequestInterceptor(scribeConfig, idManager))
+                client = getBaseClient().newBuilder()
+                        .addInterceptor(configInterceptor)
                         .addInterceptor(new GuestAuthInterceptor(guestSessionProvider))
+                        .addInterceptor(gzipInterceptor)
                         .build();
             }
 
@@ -194,6 +259,23 @@ class ScribeFilesSender implements FilesSender {
         return scribeService.get();
     }
 
+    /**
+     * Senders of all owners derive their client from this one, so scribe uploads share a single
+     * connection pool and dispatcher.
+     */
+    private static OkHttpClient getBaseClient() {
+        if (baseClient == null) {
+            synchronized (ScribeFilesSender.class) {
+                if (baseClient == null) {
+                    baseClient = OkHttpClientHelper.addMetrics(new OkHttpClient.Builder(), null)
+                            .certificatePinner(OkHttpClientHelper.getCertificatePinner())
+                            .build();
+                }
+            }
+        }
+        return baseClient;
+    }
+
     private Session getSession(long ownerId) {
         return sessionManager.getSession(ownerId);
     }
@@ -207,12 +289,27 @@ class ScribeFilesSender implements FilesSender {
      */
     Response<ResponseBody> upload(String scribeEvents) throws IOException {
         final ScribeService service = getScribeService();
+        final Call<ResponseBody> call;
+        if (!TextUtils.isEmpty(scribeConfig.sequence)) {
+            call = service.uploadSequence(scribeConfig.sequence, scribeEvents);
+        } else {
+            call = service.upload(scribeConfig.pathVersion, scribeConfig.pathType, scribeEvents);
+        }
+        return RequestScheduler.getInstance().execute(call, RequestPriority.BACKGROUND);
+    }
+
+    /**
+     * Uploads a form encoded body of scribe events. Requires valid scribeService.
+     */
+    Response<ResponseBody> upload(RequestBody scribeEvents) throws IOException {
+        final ScribeService service = getScribeService();
+        final Call<ResponseBody> call;
         if (!TextUtils.isEmpty(scribeConfig.sequence)) {
-            return service.uploadSequence(scribeConfig.sequence, scribeEvents).execute();
+            call = service.uploadSequence(scribeConfig.sequence, scribeEvents);
         } else {
-            return service.upload(scribeConfig.pathVersion, scribeConfig.pathType, scribeEvents)
-                    .execute();
+            call = service.upload(scribeConfig.pathVersion, scribeConfig.pathType, scribeEvents);
         }
+        return RequestScheduler.getInstance().execute(call, RequestPriority.BACKGROUND);
     }
 
     interface ScribeService {
@@ -229,6 +326,19 @@ class ScribeFilesSender implements FilesSender {
         @POST("/scribe/{sequence}")
         Call<ResponseBody> uploadSequence(@Path("sequence") String sequence,
                                           @Field("log[]") String logs);
+
+        @POST("/{version}/jot/{type}")
+        Call<ResponseBody> upload(@Path("version") String version,
+                                  @Path("type") String type,
+                                  @Body RequestBody logs);
+
+        @POST("/scribe/{sequence}")
+        Call<ResponseBody> uploadSequence(@Path("sequence") String sequence,
+                                          @Body RequestBody logs);
+    }
+
+    interface UserAgentProvider {
+        String getUserAgent();
     }
 
     // At a certain point we might need to allow either a custom RequestInterceptor to be set
@@ -241,17 +351,25 @@ class ScribeFilesSender implements FilesSender {
 
         private final ScribeConfig scribeConfig;
         private final IdManager idManager;
+        private final UserAgentProvider userAgentProvider;
 
         ConfigRequestInterceptor(ScribeConfig scribeConfig, IdManager idManager) {
+            this(scribeConfig, idManager, () -> scribeConfig.userAgent);
+        }
+
+        ConfigRequestInterceptor(ScribeConfig scribeConfig, IdManager idManager,
+                UserAgentProvider userAgentProvider) {
             this.scribeConfig = scribeConfig;
             this.idManager = idManager;
+            this.userAgentProvider = userAgentProvider;
         }
 
         @Override
         public okhttp3.Response intercept(Chain chain) throws IOException {
             final Request.Builder builder = chain.request().newBuilder();
-            if (!TextUtils.isEmpty(scribeConfig.userAgent)) {
-                builder.header(USER_AGENT_HEADER, scribeConfig.userAgent);
+            final String userAgent = userAgentProvider.getUserAgent();
+            if (!TextUtils.isEmpty(userAgent)) {
+                builder.header(USER_AGENT_HEADER, userAgent);
             }
 
             /*
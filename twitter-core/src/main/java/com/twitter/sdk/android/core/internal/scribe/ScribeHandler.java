@@ -28,6 +28,13 @@ class ScribeHandler extends EventsHandler<ScribeEvent> {
         super(context, strategy, filesManager, executorService);
     }
 
+    ScribeHandler(Context context, EventsStrategy<ScribeEvent> strategy,
+            EventsFilesManager filesManager, ScheduledExecutorService executorService,
+            int maxPendingEvents, BoundedEventsQueue.OverflowPolicy overflowPolicy) {
+        super(context, strategy, filesManager, executorService, maxPendingEvents,
+                overflowPolicy);
+    }
+
     /**
      * Scribes an event.
      */
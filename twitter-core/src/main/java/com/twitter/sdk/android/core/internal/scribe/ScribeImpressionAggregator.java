@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.scribe;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folds impression events that share a namespace into a single event carrying all of their
+ * items, for up to {@link #AGGREGATION_WINDOW_MS} after the first one. Repeat impressions of the
+ * same item under the same namespace are dropped for {@link #SEEN_ITEM_EXPIRY_MS}, or until the
+ * scribe owner changes. Media items are told apart by their media details, since they all carry
+ * the id of their Tweet.
+ *
+ * Aggregated events are only kept in memory until their window ends, so they are lost if the
+ * process dies before then.
+ */
+class ScribeImpressionAggregator {
+    static final String IMPRESSION_ACTION = "impression";
+    static final long AGGREGATION_WINDOW_MS = 5000;
+    static final int MAX_ITEMS_PER_EVENT = 50;
+    static final int MAX_SEEN_ITEMS = 1000;
+    static final long SEEN_ITEM_EXPIRY_MS = TimeUnit.MINUTES.toMillis(30);
+
+    /**
+     * Receives aggregated events once their window ends or they are full.
+     */
+    interface Listener {
+        void onAggregated(long ownerId, EventNamespace namespace, long timestamp,
+                List<ScribeItem> items);
+    }
+
+    private final ScheduledExecutorService executor;
+    private final Listener listener;
+
+    private final Map<EventNamespace, Bucket> buckets = new HashMap<>();
+    private final Map<String, Long> seenItems =
+            new LinkedHashMap<String, Long>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > MAX_SEEN_ITEMS;
+                }
+            };
+    private long seenItemsOwnerId;
+
+    ScribeImpressionAggregator(ScheduledExecutorService executor, Listener listener) {
+        this.executor = executor;
+        this.listener = listener;
+    }
+
+    /**
+     * @return true if events with this namespace and items are aggregated
+     */
+    static boolean canAggregate(EventNamespace namespace, List<ScribeItem> items) {
+        return IMPRESSION_ACTION.equals(namespace.action) && !items.isEmpty();
+    }
+
+    void add(long ownerId, EventNamespace namespace, long timestamp, List<ScribeItem> items) {
+        final List<Bucket> completed = new ArrayList<>();
+        synchronized (this) {
+            if (ownerId != seenItemsOwnerId) {
+                // New owner, pending events belong to the previous one.
+                completed.addAll(buckets.values());
+                buckets.clear();
+                seenItems.clear();
+                seenItemsOwnerId = ownerId;
+            }
+
+            Bucket bucket = buckets.get(namespace);
+            for (ScribeItem item : items) {
+                if (isRepeat(namespace, timestamp, item)) {
+                    continue;
+                }
+
+                if (bucket == null) {
+                    bucket = new Bucket(ownerId, namespace, timestamp);
+                    buckets.put(namespace, bucket);
+                    scheduleFlush(bucket);
+                }
+                bucket.items.add(item);
+
+                if (bucket.items.size() >= MAX_ITEMS_PER_EVENT) {
+                    buckets.remove(namespace);
+                    completed.add(bucket);
+                    bucket = null;
+                }
+            }
+        }
+
+        emit(completed);
+    }
+
+    /**
+     * Emits all pending aggregated events immediately.
+     */
+    void flush() {
+        final List<Bucket> completed;
+        synchronized (this) {
+            completed = new ArrayList<>(buckets.values());
+            buckets.clear();
+        }
+        emit(completed);
+    }
+
+    private boolean isRepeat(EventNamespace namespace, long timestamp, ScribeItem item) {
+        if (item.getId() == null) {
+            return false;
+        }
+        String key = namespace + ":" + item.getItemType() + ":" + item.getId();
+        if (item.getMediaDetails() != null) {
+            key += ":" + item.getMediaDetails().getContentId() + ":"
+                    + item.getMediaDetails().getPublisherId();
+        }
+        final Long seenTimestamp = seenItems.get(key);
+        if (seenTimestamp != null && timestamp - seenTimestamp < SEEN_ITEM_EXPIRY_MS) {
+            return true;
+        }
+        seenItems.put(key, timestamp);
+        return false;
+    }
+
+    private void scheduleFlush(Bucket bucket) {
+        try {
+            executor.schedule(() -> flush(bucket), AGGREGATION_WINDOW_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Nothing will end the window, emit the bucket once it is full or on flush().
+        }
+    }
+
+    private void flush(Bucket bucket) {
+        synchronized (this) {
+            if (buckets.get(bucket.namespace) != bucket) {
+                // Already emitted.
+                return;
+            }
+            buckets.remove(bucket.namespace);
+        }
+        listener.onAggregated(bucket.ownerId, bucket.namespace, bucket.timestamp, bucket.items);
+    }
+
+    private void emit(List<Bucket> completed) {
+        for (Bucket bucket : completed) {
+            listener.onAggregated(bucket.ownerId, bucket.namespace, bucket.timestamp,
+                    bucket.items);
+        }
+    }
+
+    static class Bucket {
+        final long ownerId;
+        final EventNamespace namespace;
+        final long timestamp;
+        final List<ScribeItem> items = new ArrayList<>();
+
+        Bucket(long ownerId, EventNamespace namespace, long timestamp) {
+            this.ownerId = ownerId;
+            this.namespace = namespace;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -66,7 +66,12 @@ public class SyndicatedSdkImpressionEvent extends ScribeEvent {
 
     public SyndicatedSdkImpressionEvent(EventNamespace eventNamespace, long timestamp,
             String language, String adId, List<ScribeItem> items) {
-        super(SCRIBE_CATEGORY, eventNamespace, timestamp, items);
+        this(eventNamespace, timestamp, language, adId, items, null);
+    }
+
+    SyndicatedSdkImpressionEvent(EventNamespace eventNamespace, long timestamp, String language,
+            String adId, List<ScribeItem> items, String kit) {
+        super(SCRIBE_CATEGORY, eventNamespace, timestamp, items, kit);
         this.language = language;
         this.externalIds = new ExternalIds(adId);
         this.deviceIdCreatedAt = 0; // see field comment
@@ -52,7 +52,12 @@ public class SyndicationClientEvent extends ScribeEvent {
 
     public SyndicationClientEvent(EventNamespace eventNamespace,  String eventInfo, long timestamp,
                                   String language, String adId, List<ScribeItem> items) {
-        super(SCRIBE_CATEGORY, eventNamespace, timestamp, items);
+        this(eventNamespace, eventInfo, timestamp, language, adId, items, null);
+    }
+
+    SyndicationClientEvent(EventNamespace eventNamespace, String eventInfo, long timestamp,
+            String language, String adId, List<ScribeItem> items, String kit) {
+        super(SCRIBE_CATEGORY, eventNamespace, timestamp, items, kit);
         this.language = language;
         this.eventInfo = eventInfo;
         externalIds = new ExternalIds(adId);
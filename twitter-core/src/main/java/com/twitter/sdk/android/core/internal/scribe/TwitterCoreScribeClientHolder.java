@@ -23,13 +23,24 @@ import android.content.Context;
 import com.twitter.sdk.android.core.GuestSessionProvider;
 import com.twitter.sdk.android.core.Session;
 import com.twitter.sdk.android.core.SessionManager;
+import com.twitter.sdk.android.core.Twitter;
 import com.twitter.sdk.android.core.TwitterAuthToken;
+import com.twitter.sdk.android.core.TwitterCore;
 import com.twitter.sdk.android.core.internal.IdManager;
 
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the process wide scribe client. All kits scribe through it, so there is one set of event
+ * files, one rollover schedule and one upload channel per owner, whichever kits are in use. Kits
+ * get their own view of the client, which tags their events with the kit.
+ */
 public class TwitterCoreScribeClientHolder {
 
     @SuppressLint("StaticFieldLeak")
-    private static DefaultScribeClient instance;
+    private static volatile DefaultScribeClient instance;
+    private static final Map<String, DefaultScribeClient> kitClients = new HashMap<>();
 
     /**
      * @return instance can be null
@@ -39,15 +50,41 @@ public class TwitterCoreScribeClientHolder {
     }
 
     /**
-     * Must be called on background thread
+     * Returns the scribe client of a kit, creating the shared client with the TwitterCore sessions
+     * and storage if needed. Events the kit stored in its own directory before kits shared the
+     * client are moved over to it. Must be called on background thread
+     *
+     * @param kitContext the context of the kit
      */
-    public static void initialize(Context context,
+    public static synchronized DefaultScribeClient getScribeClient(Context kitContext,
+            String kitName, String kitVersion) {
+        DefaultScribeClient kitClient = kitClients.get(kitName);
+        if (kitClient == null) {
+            final TwitterCore twitterCore = TwitterCore.getInstance();
+            final DefaultScribeClient sharedClient = initialize(
+                    Twitter.getInstance().getContext(twitterCore.getIdentifier()),
+                    twitterCore.getSessionManager(), twitterCore.getGuestSessionProvider(),
+                    Twitter.getInstance().getIdManager(), kitName, kitVersion);
+            sharedClient.migrateEventFiles(kitContext);
+            kitClient = sharedClient.forKit(kitName, kitVersion);
+            kitClients.put(kitName, kitClient);
+        }
+        return kitClient;
+    }
+
+    /**
+     * Creates the shared scribe client if needed. Must be called on background thread
+     */
+    public static synchronized DefaultScribeClient initialize(Context context,
             SessionManager<? extends Session<TwitterAuthToken>> sessionManagers,
             GuestSessionProvider guestSessionProvider, IdManager idManager, String kitName,
             String kitVersion) {
 
-        final ScribeConfig config = DefaultScribeClient.getScribeConfig(kitName, kitVersion);
-        instance = new DefaultScribeClient(context, sessionManagers, guestSessionProvider,
-                idManager, config);
+        if (instance == null) {
+            final ScribeConfig config = DefaultScribeClient.getScribeConfig(kitName, kitVersion);
+            instance = new DefaultScribeClient(context, sessionManagers, guestSessionProvider,
+                    idManager, config);
+        }
+        return instance;
     }
 }
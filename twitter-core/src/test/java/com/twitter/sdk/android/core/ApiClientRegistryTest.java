@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+public class ApiClientRegistryTest {
+    private static final int MAX_CLIENTS = 2;
+
+    private ApiClientRegistry registry;
+    private ApiClientRegistry.ClientFactory factory;
+
+    @Before
+    public void setUp() {
+        registry = new ApiClientRegistry(MAX_CLIENTS);
+        factory = session -> mock(TwitterApiClient.class);
+    }
+
+    @Test
+    public void testGet_cachesClient() {
+        final TwitterSession session = newSession(TestFixtures.USER_ID);
+        final TwitterApiClient client = registry.get(session, factory);
+
+        Assert.assertThat(registry.get(session, factory), sameInstance(client));
+        Assert.assertThat(registry.size(), is(1));
+    }
+
+    @Test
+    public void testGet_evictsLeastRecentlyUsedClient() {
+        final TwitterSession first = newSession(1L);
+        final TwitterSession second = newSession(2L);
+        final TwitterApiClient firstClient = registry.get(first, factory);
+        final TwitterApiClient secondClient = registry.get(second, factory);
+
+        // Using the first client makes the second one the least recently used.
+        registry.get(first, factory);
+        registry.get(newSession(3L), factory);
+
+        Assert.assertThat(registry.size(), is(MAX_CLIENTS));
+        verify(secondClient, never()).shutdown();
+        verify(firstClient, never()).shutdown();
+        Assert.assertThat(registry.get(second, factory), not(sameInstance(secondClient)));
+    }
+
+    @Test
+    public void testGet_releasesClientOfEarlierSession() {
+        final TwitterApiClient oldClient = registry.get(newSession(TestFixtures.USER_ID), factory);
+        final TwitterApiClient newClient = registry.get(newSession(TestFixtures.USER_ID), factory);
+
+        Assert.assertThat(newClient, not(sameInstance(oldClient)));
+        Assert.assertThat(registry.size(), is(1));
+        verify(oldClient, never()).shutdown();
+    }
+
+    @Test
+    public void testPutIfAbsent() {
+        final TwitterSession session = newSession(TestFixtures.USER_ID);
+        final TwitterApiClient customClient = mock(TwitterApiClient.class);
+        registry.putIfAbsent(session, customClient);
+        registry.putIfAbsent(session, mock(TwitterApiClient.class));
+
+        Assert.assertThat(registry.get(session, factory), sameInstance(customClient));
+    }
+
+    @Test
+    public void testPutIfAbsent_customClientIsNotEvicted() {
+        final TwitterSession session = newSession(TestFixtures.USER_ID);
+        final TwitterApiClient customClient = mock(TwitterApiClient.class);
+        registry.putIfAbsent(session, customClient);
+
+        for (long userId = 2; userId <= MAX_CLIENTS + 2; userId++) {
+            registry.get(newSession(userId), factory);
+        }
+
+        Assert.assertThat(registry.get(session, factory), sameInstance(customClient));
+        verify(customClient, never()).shutdown();
+    }
+
+    @Test
+    public void testGet_shutsDownClientLosingCreationRace() {
+        final TwitterSession session = newSession(TestFixtures.USER_ID);
+        final TwitterApiClient customClient = mock(TwitterApiClient.class);
+        final TwitterApiClient createdClient = mock(TwitterApiClient.class);
+
+        final TwitterApiClient client = registry.get(session, s -> {
+            // Another thread adds a client while this one is being built.
+            registry.putIfAbsent(s, customClient);
+            return createdClient;
+        });
+
+        Assert.assertThat(client, sameInstance(customClient));
+        verify(createdClient).shutdown();
+        verify(customClient, never()).shutdown();
+    }
+
+    @Test
+    public void testRelease() {
+        final TwitterApiClient client = registry.get(newSession(TestFixtures.USER_ID), factory);
+        final TwitterApiClient otherClient = registry.get(newSession(2L), factory);
+
+        registry.release(TestFixtures.USER_ID);
+
+        Assert.assertThat(registry.size(), is(1));
+        Assert.assertThat(registry.get(newSession(TestFixtures.USER_ID), factory),
+                not(sameInstance(client)));
+        verify(client, never()).shutdown();
+        verify(otherClient, never()).shutdown();
+    }
+
+    private TwitterSession newSession(long userId) {
+        return new TwitterSession(new TwitterAuthToken(TestFixtures.TOKEN, TestFixtures.SECRET),
+                userId, TestFixtures.SCREEN_NAME);
+    }
+}
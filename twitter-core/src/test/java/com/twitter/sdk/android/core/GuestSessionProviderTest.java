@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core;
+
+import com.twitter.sdk.android.core.internal.oauth.GuestAuthToken;
+import com.twitter.sdk.android.core.internal.oauth.OAuth2Service;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+public class GuestSessionProviderTest {
+    private static final long THREE_HOURS_AGO = System.currentTimeMillis() - (3600 * 3 * 1000);
+    private static final long TWO_AND_A_HALF_HOURS_AGO =
+            System.currentTimeMillis() - (3600 * 5 * 1000 / 2);
+    private static final int CONCURRENT_CALLERS = 8;
+
+    private final AtomicReference<GuestSession> activeSession = new AtomicReference<>();
+    private final List<Callback<GuestAuthToken>> pendingCallbacks = new ArrayList<>();
+    private OAuth2Service mockOAuth2Service;
+    private SessionManager<GuestSession> mockSessionManager;
+    private CountDownLatch requestLatch;
+    private GuestSessionProvider provider;
+
+    @Before
+    public void setUp() throws Exception {
+        mockOAuth2Service = mock(OAuth2Service.class);
+        mockSessionManager = mock(SessionManager.class);
+        requestLatch = new CountDownLatch(1);
+
+        when(mockSessionManager.getActiveSession()).thenAnswer(i -> activeSession.get());
+        doAnswer(i -> {
+            activeSession.set(i.getArgument(0));
+            return null;
+        }).when(mockSessionManager).setActiveSession(any(GuestSession.class));
+        doAnswer(i -> {
+            activeSession.set(null);
+            return null;
+        }).when(mockSessionManager).clearSession(anyLong());
+        doAnswer(i -> {
+            synchronized (pendingCallbacks) {
+                pendingCallbacks.add(i.getArgument(0));
+            }
+            requestLatch.countDown();
+            return null;
+        }).when(mockOAuth2Service).requestGuestAuthToken(any(Callback.class));
+
+        provider = new GuestSessionProvider(mockOAuth2Service, mockSessionManager);
+    }
+
+    @Test
+    public void testGetCurrentSession_validSession() {
+        final GuestSession session = newSession(System.currentTimeMillis());
+        activeSession.set(session);
+
+        Assert.assertThat(provider.getCurrentSession(), is(session));
+        verify(mockOAuth2Service, never()).requestGuestAuthToken(any(Callback.class));
+    }
+
+    @Test
+    public void testGetCurrentSession_expiringSessionRefreshesInBackground() {
+        final GuestSession session = newSession(TWO_AND_A_HALF_HOURS_AGO);
+        activeSession.set(session);
+
+        Assert.assertThat(provider.getCurrentSession(), is(session));
+        Assert.assertThat(provider.getCurrentSession(), is(session));
+        verify(mockOAuth2Service, times(1)).requestGuestAuthToken(any(Callback.class));
+    }
+
+    @Test
+    public void testGetCurrentSession_backgroundRefreshFailureKeepsValidSession() {
+        final GuestSession session = newSession(TWO_AND_A_HALF_HOURS_AGO);
+        activeSession.set(session);
+
+        provider.getCurrentSession();
+        pendingCallbacks.get(0).failure(new TwitterException("test"));
+
+        Assert.assertThat(activeSession.get(), is(session));
+        verify(mockSessionManager, never()).clearSession(anyLong());
+    }
+
+    @Test
+    public void testGetCurrentSession_backgroundRefreshFailureCoolsDown() {
+        final long[] now = {System.currentTimeMillis()};
+        provider = new GuestSessionProvider(mockOAuth2Service, mockSessionManager, () -> now[0]);
+        final GuestSession session = newSession(TWO_AND_A_HALF_HOURS_AGO);
+        activeSession.set(session);
+
+        provider.getCurrentSession();
+        pendingCallbacks.get(0).failure(new TwitterException("test"));
+        Assert.assertThat(provider.getCurrentSession(), is(session));
+        verify(mockOAuth2Service, times(1)).requestGuestAuthToken(any(Callback.class));
+
+        now[0] += GuestSessionProvider.FAILED_RENEWAL_COOLDOWN_MILLIS;
+        Assert.assertThat(provider.getCurrentSession(), is(session));
+        verify(mockOAuth2Service, times(2)).requestGuestAuthToken(any(Callback.class));
+    }
+
+    @Test
+    public void testGetCurrentSession_concurrentCallersShareRefresh() throws Exception {
+        activeSession.set(newSession(THREE_HOURS_AGO));
+        final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CALLERS);
+        try {
+            final List<Future<GuestSession>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CALLERS; i++) {
+                results.add(executor.submit(provider::getCurrentSession));
+            }
+            Assert.assertThat(requestLatch.await(1, TimeUnit.SECONDS), is(true));
+
+            final GuestSession refreshed = newSession(System.currentTimeMillis());
+            pendingCallbacks.get(0).success(new Result<>(refreshed.getAuthToken(), null));
+
+            for (Future<GuestSession> result : results) {
+                Assert.assertThat(result.get(1, TimeUnit.SECONDS), is(refreshed));
+            }
+            verify(mockOAuth2Service, times(1)).requestGuestAuthToken(any(Callback.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRefreshCurrentSession_failureClearsSession() throws Exception {
+        final GuestSession session = newSession(System.currentTimeMillis());
+        activeSession.set(session);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<GuestSession> result =
+                    executor.submit(() -> provider.refreshCurrentSession(session));
+            Assert.assertThat(requestLatch.await(1, TimeUnit.SECONDS), is(true));
+            pendingCallbacks.get(0).failure(new TwitterException("test"));
+
+            Assert.assertThat(result.get(1, TimeUnit.SECONDS), nullValue());
+            verify(mockSessionManager).clearSession(GuestSession.LOGGED_OUT_USER_ID);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRefreshCurrentSession_staleSessionDoesNotRefresh() {
+        final GuestSession session = newSession(System.currentTimeMillis());
+        activeSession.set(session);
+
+        Assert.assertThat(provider.refreshCurrentSession(newSession(THREE_HOURS_AGO)),
+                is(session));
+        verify(mockOAuth2Service, never()).requestGuestAuthToken(any(Callback.class));
+    }
+
+    private static GuestSession newSession(long createdAt) {
+        return new GuestSession(new GuestAuthToken("bearer", "accessToken",
+                "guestToken" + createdAt, createdAt));
+    }
+}
@@ -60,7 +60,12 @@ public class GuestSessionSerializerTest {
     public void testSerialize_sessionAuthTokenIsGuestAuthToken() {
         final GuestSession session = new GuestSession(new GuestAuthToken(TEST_TOKEN_TYPE,
                 TEST_ACCESS_TOKEN, TEST_GUEST_TOKEN, CREATED_AT));
-        Assert.assertThat(serializer.serialize(session), is(JSON_SESSION_GUEST));
+        final String serializedSession = serializer.serialize(session);
+        Assert.assertThat(serializer.isOutdated(serializedSession), is(false));
+
+        final GuestSession deserializedSession = serializer.deserialize(serializedSession);
+        Assert.assertThat(deserializedSession.getAuthToken(), is(session.getAuthToken()));
+        Assert.assertThat(deserializedSession.getId(), is(GuestSession.LOGGED_OUT_USER_ID));
     }
 
     @Test
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+@RunWith(RobolectricTestRunner.class)
+public class NetworkMetricsTest {
+    static final String TEST_ENDPOINT = "statuses/lookup";
+
+    NetworkMetrics metrics;
+
+    @Before
+    public void setUp() throws Exception {
+        metrics = new NetworkMetrics();
+    }
+
+    @Test
+    public void testRecord_disabled() {
+        final NetworkMetrics.Sink sink = mock(NetworkMetrics.Sink.class);
+        metrics.setSink(sink);
+
+        metrics.record(TEST_ENDPOINT, NetworkMetrics.Metric.DNS, 100);
+
+        Assert.assertThat(metrics.getEndpoints(), empty());
+        verifyZeroInteractions(sink);
+    }
+
+    @Test
+    public void testRecord_enabled() {
+        final NetworkMetrics.Sink sink = mock(NetworkMetrics.Sink.class);
+        metrics.setSink(sink);
+        metrics.setEnabled(true);
+
+        metrics.record(TEST_ENDPOINT, NetworkMetrics.Metric.DECODE, 100);
+        metrics.record(TEST_ENDPOINT, NetworkMetrics.Metric.DECODE, 300);
+
+        final NetworkMetrics.Histogram histogram =
+                metrics.getHistogram(TEST_ENDPOINT, NetworkMetrics.Metric.DECODE);
+        Assert.assertThat(metrics.getEndpoints(), contains(TEST_ENDPOINT));
+        Assert.assertThat(histogram.getCount(), is(2L));
+        Assert.assertThat(histogram.getSum(), is(400L));
+        Assert.assertThat(histogram.getMean(), is(200.0));
+        Assert.assertThat(metrics.getHistogram(TEST_ENDPOINT, NetworkMetrics.Metric.DNS)
+                .getCount(), is(0L));
+        verify(sink).onMetric(TEST_ENDPOINT, NetworkMetrics.Metric.DECODE, 300);
+    }
+
+    @Test
+    public void testGetHistogram_returnsSnapshot() {
+        metrics.setEnabled(true);
+        metrics.record(TEST_ENDPOINT, NetworkMetrics.Metric.BODY_BYTES, 10);
+        final NetworkMetrics.Histogram histogram =
+                metrics.getHistogram(TEST_ENDPOINT, NetworkMetrics.Metric.BODY_BYTES);
+
+        metrics.record(TEST_ENDPOINT, NetworkMetrics.Metric.BODY_BYTES, 10);
+
+        Assert.assertThat(histogram.getCount(), is(1L));
+    }
+
+    @Test
+    public void testReset() {
+        metrics.setEnabled(true);
+        metrics.record(TEST_ENDPOINT, NetworkMetrics.Metric.TLS, 10);
+
+        metrics.reset();
+
+        Assert.assertThat(metrics.getHistogram(TEST_ENDPOINT, NetworkMetrics.Metric.TLS),
+                nullValue());
+    }
+
+    @Test
+    public void testHistogram_getBucket() {
+        Assert.assertThat(NetworkMetrics.Histogram.getBucket(0), is(0));
+        Assert.assertThat(NetworkMetrics.Histogram.getBucket(1), is(1));
+        Assert.assertThat(NetworkMetrics.Histogram.getBucket(3), is(2));
+        Assert.assertThat(NetworkMetrics.Histogram.getBucket(4), is(3));
+        Assert.assertThat(NetworkMetrics.Histogram.getBucket(Long.MAX_VALUE),
+                is(NetworkMetrics.Histogram.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    public void testHistogram_getPercentile() {
+        final NetworkMetrics.Histogram histogram = new NetworkMetrics.Histogram();
+        Assert.assertThat(histogram.getPercentile(50), is(0L));
+
+        for (int i = 0; i < 9; i++) {
+            histogram.record(5);
+        }
+        histogram.record(1000);
+
+        Assert.assertThat(histogram.getPercentile(50), is(7L));
+        Assert.assertThat(histogram.getPercentile(90), is(7L));
+        Assert.assertThat(histogram.getPercentile(100), is(1023L));
+    }
+}
@@ -34,14 +34,18 @@ import org.robolectric.RuntimeEnvironment;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -175,6 +179,40 @@ public class PersistedSessionManagerTest {
         verify(mockActiveSessionStorage).restore();
     }
 
+    @Test
+    public void testGetActiveSession_doesNotDeserializeOtherSessions() {
+        final TwitterSession.Serializer serializer = spy(new TwitterSession.Serializer());
+        final PersistedSessionManager<TwitterSession> localSessionManager =
+                new PersistedSessionManager<>(preferenceStore, serializer, sessionMap, storageMap,
+                        mockActiveSessionStorage, PREF_KEY_SESSION);
+        final TwitterSession session = new TwitterSession(
+                new TwitterAuthToken(TestFixtures.TOKEN, TestFixtures.SECRET),
+                TestFixtures.USER_ID, TestFixtures.SCREEN_NAME);
+        setupSessionForRestore(session);
+        final String serializedSession = serializer.serialize(session);
+
+        Assert.assertThat(localSessionManager.getActiveSession(), nullValue());
+        verify(serializer, times(0)).deserialize(serializedSession);
+        assertMapSizes(0);
+
+        Assert.assertThat(localSessionManager.getSession(session.getId()), is(session));
+        verify(serializer).deserialize(serializedSession);
+        assertMapSizes(1);
+    }
+
+    @Test
+    public void testGetActiveSession_migratesSessionIndex() {
+        final TwitterSession session = new TwitterSession(mock(TwitterAuthToken.class),
+                TestFixtures.USER_ID, RESTORED_USER);
+        setupSessionForRestore(session);
+
+        sessionManager.getActiveSession();
+
+        final Set<String> index = preferenceStore.get()
+                .getStringSet(sessionManager.getIndexPrefKey(), null);
+        Assert.assertThat(index, containsInAnyOrder(Long.toString(TestFixtures.USER_ID)));
+    }
+
     @Test
     public void testGetActiveSession_nullSession() {
         Assert.assertThat(sessionManager.getActiveSession(), nullValue());
@@ -214,6 +252,18 @@ public class PersistedSessionManagerTest {
         Assert.assertThat(sessionManager.getSession(session.getId()), is(session));
     }
 
+    @Test
+    public void testSetActiveSession_flushesPreferenceStore() {
+        final PreferenceStore spyPreferenceStore = spy(preferenceStore);
+        sessionManager = new PersistedSessionManager<>(spyPreferenceStore,
+                mock(SerializationStrategy.class), sessionMap, storageMap,
+                mockActiveSessionStorage, PREF_KEY_SESSION);
+
+        setupActiveSessionTest();
+
+        verify(spyPreferenceStore).flush();
+    }
+
     private void assertMapSizes(int count) {
         Assert.assertThat(sessionMap.size(), is(count));
         Assert.assertThat(storageMap.size(), is(count));
@@ -441,6 +491,28 @@ public class PersistedSessionManagerTest {
         Assert.assertThat(sessionManager.getSession(TestFixtures.USER_ID), nullValue());
     }
 
+    @Test
+    public void testClearSession_notifiesListener() {
+        final PersistedSessionManager.OnSessionClearedListener listener =
+                mock(PersistedSessionManager.OnSessionClearedListener.class);
+        sessionManager.setOnSessionClearedListener(listener);
+        final TwitterSession session = setupActiveSessionTest();
+
+        sessionManager.clearSession(session.getId());
+
+        verify(listener).onSessionCleared(session.getId());
+    }
+
+    @Test
+    public void testClearSession_removesSessionFromIndex() {
+        final List<TwitterSession> sessions = setupMultipleSessionsTest(2);
+        sessionManager.clearSession(sessions.get(0).getId());
+
+        final Set<String> index = preferenceStore.get()
+                .getStringSet(sessionManager.getIndexPrefKey(), null);
+        Assert.assertThat(index, containsInAnyOrder(Long.toString(sessions.get(1).getId())));
+    }
+
     @Test
     public void testGetPrefKey() {
         Assert.assertThat(sessionManager.getPrefKey(TEST_SESSION_ID), is(PREF_KEY_SESSION + "_" + TEST_SESSION_ID));
@@ -33,11 +33,12 @@ import static org.hamcrest.Matchers.*;
 
 @RunWith(RobolectricTestRunner.class)
 public class PreferenceStoreStrategyTest {
+    private PreferenceStore preferenceStore;
     private PreferenceStoreStrategy<TwitterSession> preferenceStrategy;
 
     @Before
     public void setUp() throws Exception {
-        PreferenceStore preferenceStore = new PreferenceStoreImpl(RuntimeEnvironment.application, "testSession");
+        preferenceStore = new PreferenceStoreImpl(RuntimeEnvironment.application, "testSession");
         preferenceStrategy = new PreferenceStoreStrategy<>(preferenceStore,
                 new TwitterSession.Serializer(), "testSession");
     }
@@ -68,4 +69,18 @@ public class PreferenceStoreStrategyTest {
         final TwitterSession restoredSession = preferenceStrategy.restore();
         Assert.assertThat(restoredSession, is(session));
     }
+
+    @Test
+    public void testRestore_rewritesJsonSession() {
+        preferenceStore.save(preferenceStore.edit().putString("testSession",
+                TwitterSessionSerializerTest.FULL_SESSION_JSON));
+
+        final TwitterSession restoredSession = preferenceStrategy.restore();
+        Assert.assertThat(restoredSession.getUserName(), is(TestFixtures.SCREEN_NAME));
+
+        final String storedSession = preferenceStore.get().getString("testSession", null);
+        Assert.assertThat(storedSession.startsWith("{"), is(false));
+        Assert.assertThat(new TwitterSession.Serializer().deserialize(storedSession),
+                is(restoredSession));
+    }
 }
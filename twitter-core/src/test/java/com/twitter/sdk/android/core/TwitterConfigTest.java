@@ -27,6 +27,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.when;
@@ -69,6 +71,8 @@ public class TwitterConfigTest {
                 .logger(mockLogger)
                 .twitterAuthConfig(mockTwitterAuthConfig)
                 .debug(true)
+                .warmUp(true)
+                .preconnect(true)
                 .build();
 
         Assert.assertThat(config.context, is(mockApplication));
@@ -76,6 +80,21 @@ public class TwitterConfigTest {
         Assert.assertThat(config.logger, is(mockLogger));
         Assert.assertThat(config.twitterAuthConfig, is(mockTwitterAuthConfig));
         Assert.assertThat(config.debug, is(true));
+        Assert.assertThat(config.warmUp, is(true));
+        Assert.assertThat(config.preconnect, is(true));
+    }
+
+    @Test
+    public void testBuilder_executorLimits() {
+        final RejectedExecutionHandler rejectionPolicy = new ThreadPoolExecutor.AbortPolicy();
+        final TwitterConfig config = new TwitterConfig
+                .Builder(mockContext)
+                .executorQueueCapacity(16)
+                .executorRejectionPolicy(rejectionPolicy)
+                .build();
+
+        Assert.assertThat(config.executorQueueCapacity, is(16));
+        Assert.assertThat(config.executorRejectionPolicy, is(rejectionPolicy));
     }
 
     @Test
@@ -89,6 +108,10 @@ public class TwitterConfigTest {
         Assert.assertThat(config.logger, nullValue());
         Assert.assertThat(config.twitterAuthConfig, nullValue());
         Assert.assertThat(config.debug, nullValue());
+        Assert.assertThat(config.warmUp, nullValue());
+        Assert.assertThat(config.preconnect, nullValue());
+        Assert.assertThat(config.executorQueueCapacity, nullValue());
+        Assert.assertThat(config.executorRejectionPolicy, nullValue());
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -105,4 +128,9 @@ public class TwitterConfigTest {
     public void testBuilder_withNullExecutorService_shouldThrowException() {
         new TwitterConfig.Builder(mockContext).executorService(null).build();
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilder_withZeroExecutorQueueCapacity_shouldThrowException() {
+        new TwitterConfig.Builder(mockContext).executorQueueCapacity(0).build();
+    }
 }
@@ -91,7 +91,7 @@ public class TwitterSessionSerializerTest  {
         final TwitterSession session = new TwitterSession(
                 new TwitterAuthToken(TestFixtures.TOKEN, TestFixtures.SECRET, CREATED_AT),
                 TwitterSession.UNKNOWN_USER_ID, TwitterSession.UNKNOWN_USER_NAME);
-        Assert.assertThat(serializer.serialize(session), is(SESSION_JSON));
+        assertRoundTrip(session);
     }
 
     @Test
@@ -99,7 +99,7 @@ public class TwitterSessionSerializerTest  {
         final TwitterSession session = new TwitterSession(
                 new TwitterAuthToken(TestFixtures.TOKEN, TestFixtures.SECRET, CREATED_AT),
                 TestFixtures.USER_ID, TestFixtures.SCREEN_NAME);
-        Assert.assertThat(serializer.serialize(session), is(FULL_SESSION_JSON));
+        assertRoundTrip(session);
     }
 
     @Test
@@ -107,6 +107,30 @@ public class TwitterSessionSerializerTest  {
         final TwitterSession session = new TwitterSession(
                 new TwitterAuthToken(TestFixtures.TOKEN, TestFixtures.SECRET, CREATED_AT),
                 TestFixtures.USER_ID, null);
-        Assert.assertThat(serializer.serialize(session), is(SESSION_JSON_NULL_USERNAME));
+        assertRoundTrip(session);
+    }
+
+    @Test
+    public void testSerialize_nullAuthToken() {
+        final TwitterSession session = new TwitterSession(null, TestFixtures.USER_ID,
+                TestFixtures.SCREEN_NAME);
+        Assert.assertThat(serializer.serialize(session), is(""));
+    }
+
+    @Test
+    public void testDeserialize_unknownFormatVersion() {
+        Assert.assertThat(serializer.deserialize("Ag=="), nullValue());
+    }
+
+    @Test
+    public void testIsOutdated() {
+        Assert.assertThat(serializer.isOutdated(FULL_SESSION_JSON), is(true));
+        Assert.assertThat(serializer.isOutdated(null), is(false));
+    }
+
+    private void assertRoundTrip(TwitterSession session) {
+        final String serializedSession = serializer.serialize(session);
+        Assert.assertThat(serializer.isOutdated(serializedSession), is(false));
+        Assert.assertThat(serializer.deserialize(serializedSession), is(session));
     }
 }
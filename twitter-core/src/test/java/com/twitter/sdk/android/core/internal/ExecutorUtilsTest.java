@@ -19,15 +19,22 @@ package com.twitter.sdk.android.core.internal;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.mock;
 
+@RunWith(RobolectricTestRunner.class)
 public class ExecutorUtilsTest {
     private static final String THREAD_FACTORY_NAME = "TestThreadFactory";
     private static final String FIRST_THREAD_NAME = THREAD_FACTORY_NAME + "1";
@@ -48,6 +55,113 @@ public class ExecutorUtilsTest {
         Assert.assertThat(future.get(), is(FIRST_THREAD_NAME));
     }
 
+    @Test
+    public void testBuildIoExecutorService() throws Exception {
+        final InstrumentedThreadPoolExecutor service = ExecutorUtils.buildIoExecutorService(
+                THREAD_FACTORY_NAME, 1, new ThreadPoolExecutor.AbortPolicy());
+        final Future<String> future = service.submit(new ThreadNameCallable());
+        Assert.assertThat(future.get(), is(FIRST_THREAD_NAME));
+    }
+
+    @Test
+    public void testBuildBoundedThreadPoolExecutorService_recordsMetrics() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final InstrumentedThreadPoolExecutor service =
+                ExecutorUtils.buildBoundedThreadPoolExecutorService(THREAD_FACTORY_NAME, 1, 1,
+                        new ThreadPoolExecutor.DiscardPolicy());
+
+        // The first task takes the only thread, the second one waits in the queue and the third
+        // one is rejected.
+        final Future<?> first = service.submit(() -> {
+            release.await();
+            return null;
+        });
+        final Future<?> second = service.submit(() -> { });
+        service.execute(() -> { });
+        Assert.assertThat(service.getMetrics().queueDepth, is(1));
+        Assert.assertThat(service.getMetrics().rejectedTasks, is(1L));
+
+        release.countDown();
+        first.get();
+        second.get();
+        service.shutdown();
+        service.awaitTermination(1, TimeUnit.SECONDS);
+
+        final ExecutorMetrics metrics = service.getMetrics();
+        Assert.assertThat(metrics.queueDepth, is(0));
+        Assert.assertThat(metrics.completedTasks, is(2L));
+        Assert.assertThat(metrics.rejectedTasks, is(1L));
+    }
+
+    @Test
+    public void testBuildBoundedThreadPoolExecutorService_rejectionPolicyGetsTask() {
+        final Runnable task = mock(Runnable.class);
+        final Runnable[] rejected = new Runnable[1];
+        final InstrumentedThreadPoolExecutor rejecting =
+                ExecutorUtils.buildBoundedThreadPoolExecutorService(THREAD_FACTORY_NAME, 1, 1,
+                        (runnable, executor) -> rejected[0] = runnable);
+        rejecting.shutdown();
+        rejecting.execute(task);
+
+        Assert.assertThat(rejected[0], is(task));
+    }
+
+    @Test
+    public void testBuildOverflowRejectionPolicy() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final InstrumentedThreadPoolExecutor service =
+                ExecutorUtils.buildBoundedThreadPoolExecutorService(THREAD_FACTORY_NAME, 1, 1,
+                        ExecutorUtils.buildOverflowRejectionPolicy("TestOverflow"));
+
+        // The third task does not fit and runs on the overflow thread instead of this one.
+        final Future<?> first = service.submit(() -> {
+            release.await();
+            return null;
+        });
+        final Future<String> second = service.submit(new ThreadNameCallable());
+        final Future<String> third = service.submit(new ThreadNameCallable());
+
+        Assert.assertThat(third.get(1, TimeUnit.SECONDS), is("TestOverflow1"));
+        Assert.assertThat(service.getMetrics().rejectedTasks, is(1L));
+
+        release.countDown();
+        first.get();
+        Assert.assertThat(second.get(), is(FIRST_THREAD_NAME));
+    }
+
+    @Test
+    public void testBuildOverflowRejectionPolicy_rejectsWhenOverflowQueueIsFull() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Callable<Void> blocking = () -> {
+            release.await();
+            return null;
+        };
+        final InstrumentedThreadPoolExecutor service =
+                ExecutorUtils.buildBoundedThreadPoolExecutorService(THREAD_FACTORY_NAME, 1, 1,
+                        ExecutorUtils.buildOverflowRejectionPolicy("TestOverflow", 1));
+
+        // The executor and the overflow thread each run one task and queue one more.
+        final Future<?> first = service.submit(blocking);
+        final Future<?> second = service.submit(() -> { });
+        final Future<?> third = service.submit(blocking);
+        final Future<?> fourth = service.submit(() -> { });
+        Assert.assertThat(service.getMetrics().queueDepth, is(1));
+        Assert.assertThat(service.getMetrics().overflowQueueDepth, is(1));
+
+        try {
+            service.submit(() -> { });
+            Assert.fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException expected) {
+        }
+
+        release.countDown();
+        first.get();
+        second.get();
+        third.get();
+        fourth.get();
+        Assert.assertThat(service.getMetrics().overflowQueueDepth, is(0));
+    }
+
     @Test
     public void testGetNamedThreadFactory() {
         verifyGetNamedThreadFactory(THREAD_FACTORY_NAME);
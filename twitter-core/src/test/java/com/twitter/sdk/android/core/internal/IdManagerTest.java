@@ -27,15 +27,19 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.RuntimeEnvironment;
 
+import java.util.concurrent.CountDownLatch;
+
 import static com.twitter.sdk.android.core.internal.IdManager.ADVERTISING_PREFERENCES;
 import static com.twitter.sdk.android.core.internal.IdManager.PREFKEY_INSTALLATION_UUID;
 
 import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(RobolectricTestRunner.class)
@@ -88,6 +92,75 @@ public class IdManagerTest {
         Assert.assertThat(idManager.fetchedAdvertisingInfo, is(true));
     }
 
+    @Test
+    public void testGetAdvertisingId_timesOut() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        when(mockAdvertisingInfoProvider.getAdvertisingInfo()).thenAnswer(invocation -> {
+            latch.await();
+            return advertisingInfo;
+        });
+        idManager.advertisingInfoTimeoutMillis = 10;
+
+        Assert.assertThat(idManager.getAdvertisingId(), nullValue());
+        Assert.assertThat(idManager.getResolvedAdvertisingId(), nullValue());
+        Assert.assertThat(idManager.fetchedAdvertisingInfo, is(false));
+
+        latch.countDown();
+        idManager.advertisingInfoTimeoutMillis = IdManager.ADVERTISING_INFO_TIMEOUT_MS;
+        Assert.assertThat(idManager.getAdvertisingId(), is(TEST_AD_ID));
+    }
+
+    @Test
+    public void testGetResolvedAdvertisingId() {
+        idManager.getAdvertisingId();
+        Assert.assertThat(idManager.getResolvedAdvertisingId(), is(TEST_AD_ID));
+    }
+
+    @Test
+    public void testOnAdvertisingInfoChanged_updatesAdvertisingInfo() {
+        final ArgumentCaptor<AdvertisingInfoProvider.OnAdvertisingInfoChangedListener> captor =
+                ArgumentCaptor.forClass(
+                        AdvertisingInfoProvider.OnAdvertisingInfoChangedListener.class);
+        verify(mockAdvertisingInfoProvider).setOnAdvertisingInfoChangedListener(captor.capture());
+        idManager.getAdvertisingId();
+
+        captor.getValue().onAdvertisingInfoChanged(new AdvertisingInfo("new-ad-id", false));
+
+        Assert.assertThat(idManager.getAdvertisingId(), is("new-ad-id"));
+        Assert.assertThat(idManager.isLimitAdTrackingEnabled(), is(false));
+    }
+
+    @Test
+    public void testGetAdvertisingIdForEarlierEvents() {
+        when(mockAdvertisingInfoProvider.getAdvertisingInfo())
+                .thenReturn(new AdvertisingInfo(TEST_AD_ID, false));
+        idManager = new IdManager(context, mockPreferenceStore, mockAdvertisingInfoProvider);
+        idManager.getAdvertisingId();
+
+        Assert.assertThat(idManager.getAdvertisingIdForEarlierEvents(), is(TEST_AD_ID));
+    }
+
+    @Test
+    public void testGetAdvertisingIdForEarlierEvents_limitAdTracking() {
+        idManager.getAdvertisingId();
+
+        Assert.assertThat(idManager.getAdvertisingIdForEarlierEvents(), nullValue());
+    }
+
+    @Test
+    public void testGetAdvertisingIdForEarlierEvents_advertisingInfoChanged() {
+        final ArgumentCaptor<AdvertisingInfoProvider.OnAdvertisingInfoChangedListener> captor =
+                ArgumentCaptor.forClass(
+                        AdvertisingInfoProvider.OnAdvertisingInfoChangedListener.class);
+        verify(mockAdvertisingInfoProvider).setOnAdvertisingInfoChangedListener(captor.capture());
+        idManager.getAdvertisingId();
+
+        captor.getValue().onAdvertisingInfoChanged(new AdvertisingInfo("new-ad-id", false));
+
+        Assert.assertThat(idManager.getAdvertisingIdForEarlierEvents(), nullValue());
+        Assert.assertThat(idManager.getResolvedAdvertisingId(), is("new-ad-id"));
+    }
+
     @Test
     public void testGetDeviceUUID_shouldReturnUUID() {
         final String uuid = idManager.getDeviceUUID();
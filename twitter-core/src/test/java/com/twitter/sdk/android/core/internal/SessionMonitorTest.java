@@ -76,6 +76,7 @@ public class SessionMonitorTest {
         sessionMap.put(1L, testSession);
 
         when(mockSessionManager.getSessionMap()).thenReturn(sessionMap);
+        when(mockSessionVerifier.verifySession(any(Session.class))).thenReturn(true);
         when(mockSessionManager.getActiveSession()).thenReturn(testSession);
     }
 
@@ -123,6 +124,98 @@ public class SessionMonitorTest {
         verify(mockSessionVerifier, times(2)).verifySession(any(Session.class));
     }
 
+    @Test
+    public void testVerifyAll_skipsRecentlyVerifiedSessions() {
+        sessionMonitor = new SessionMonitor<>(mockSessionManager, mockSystemCurrentTimeProvider,
+                mockExecutorService, monitorState, mockSessionVerifier);
+        when(mockSystemCurrentTimeProvider.getCurrentTimeMillis()).thenReturn(TEST_TIME_1200_UTC);
+        sessionMonitor.verifyAll();
+
+        final Session newSession = mock(Session.class);
+        when(newSession.getId()).thenReturn(2L);
+        sessionMap.put(2L, newSession);
+        when(mockSystemCurrentTimeProvider.getCurrentTimeMillis())
+                .thenReturn(TEST_TIME_1200_UTC + DateUtils.HOUR_IN_MILLIS);
+        sessionMonitor.verifyAll();
+
+        verify(mockSessionVerifier).verifySession(sessionMap.get(1L));
+        verify(mockSessionVerifier).verifySession(newSession);
+    }
+
+    @Test
+    public void testVerifyAll_reverifiesAfterThreshold() {
+        sessionMonitor = new SessionMonitor<>(mockSessionManager, mockSystemCurrentTimeProvider,
+                mockExecutorService, monitorState, mockSessionVerifier);
+        when(mockSystemCurrentTimeProvider.getCurrentTimeMillis()).thenReturn(TEST_TIME_1200_UTC);
+        sessionMonitor.verifyAll();
+
+        when(mockSystemCurrentTimeProvider.getCurrentTimeMillis())
+                .thenReturn(TEST_TIME_1200_UTC + 7 * DateUtils.HOUR_IN_MILLIS);
+        sessionMonitor.verifyAll();
+
+        verify(mockSessionVerifier, times(2)).verifySession(sessionMap.get(1L));
+    }
+
+    @Test
+    public void testVerifyAll_verifiesNewSessionBeforeThreshold() {
+        sessionMonitor = new SessionMonitor<>(mockSessionManager, mockSystemCurrentTimeProvider,
+                mockExecutorService, monitorState, mockSessionVerifier);
+        when(mockSystemCurrentTimeProvider.getCurrentTimeMillis()).thenReturn(TEST_TIME_1200_UTC);
+        Assert.assertThat(monitorState.beginVerification(TEST_TIME_1200_UTC), is(true));
+        sessionMonitor.verifyAll();
+
+        final Session newSession = mock(Session.class);
+        when(newSession.getId()).thenReturn(2L);
+        sessionMap.put(2L, newSession);
+        final long later = TEST_TIME_1200_UTC + 2 * DateUtils.HOUR_IN_MILLIS;
+        when(mockSystemCurrentTimeProvider.getCurrentTimeMillis()).thenReturn(later);
+        Assert.assertThat(monitorState.beginVerification(later), is(true));
+        sessionMonitor.verifyAll();
+
+        verify(mockSessionVerifier).verifySession(sessionMap.get(1L));
+        verify(mockSessionVerifier).verifySession(newSession);
+    }
+
+    @Test
+    public void testVerifyAll_retriesFailedVerification() {
+        sessionMonitor = new SessionMonitor<>(mockSessionManager, mockSystemCurrentTimeProvider,
+                mockExecutorService, monitorState, mockSessionVerifier);
+        when(mockSessionVerifier.verifySession(any(Session.class))).thenReturn(false);
+        when(mockSystemCurrentTimeProvider.getCurrentTimeMillis()).thenReturn(TEST_TIME_1200_UTC);
+        sessionMonitor.verifyAll();
+
+        when(mockSystemCurrentTimeProvider.getCurrentTimeMillis())
+                .thenReturn(TEST_TIME_1200_UTC + DateUtils.HOUR_IN_MILLIS);
+        sessionMonitor.verifyAll();
+
+        verify(mockSessionVerifier, times(2)).verifySession(sessionMap.get(1L));
+    }
+
+    @Test
+    public void testVerifyAll_limitsConcurrentVerifications() {
+        for (long id = 2; id <= 4; id++) {
+            final Session session = mock(Session.class);
+            when(session.getId()).thenReturn(id);
+            sessionMap.put(id, session);
+        }
+
+        sessionMonitor.verifyAll();
+
+        // One helper is submitted, the calling thread verifies the rest.
+        verify(mockExecutorService, times(SessionMonitor.MAX_CONCURRENT_VERIFICATIONS - 1))
+                .submit(any(Runnable.class));
+        verify(mockSessionVerifier, times(4)).verifySession(any(Session.class));
+    }
+
+    @Test
+    public void testIsVerifiedRecently() {
+        Assert.assertThat(monitorState.isVerifiedRecently(null, TEST_TIME_1200_UTC), is(false));
+        Assert.assertThat(monitorState.isVerifiedRecently(TEST_TIME_1200_UTC,
+                TEST_TIME_2359_UTC), is(false));
+        Assert.assertThat(monitorState.isVerifiedRecently(TEST_TIME_1200_UTC,
+                TEST_TIME_1200_UTC + DateUtils.HOUR_IN_MILLIS), is(true));
+    }
+
     @Test
     public void testVerifyAll_shouldNotImmediatelyReverify() {
         when(mockSystemCurrentTimeProvider.getCurrentTimeMillis()).thenReturn(TEST_TIME_1200_UTC);
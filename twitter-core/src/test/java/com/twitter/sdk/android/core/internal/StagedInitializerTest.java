@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+public class StagedInitializerTest {
+    private ExecutorService mockExecutorService;
+    private StagedInitializer initializer;
+    private List<String> completedStages;
+
+    @Before
+    public void setUp() {
+        mockExecutorService = mock(ExecutorService.class);
+        initializer = new StagedInitializer(mockExecutorService);
+        completedStages = new ArrayList<>();
+    }
+
+    @Test
+    public void testAddDeferredStage_noCriticalStages() {
+        initializer.addDeferredStage("deferred", () -> completedStages.add("deferred"));
+
+        runSubmittedStages(1);
+        Assert.assertThat(completedStages, contains("deferred"));
+    }
+
+    @Test
+    public void testAddDeferredStage_waitsForCriticalStages() {
+        initializer.addCriticalStage("critical1", () -> completedStages.add("critical1"));
+        initializer.addCriticalStage("critical2", () -> completedStages.add("critical2"));
+        initializer.addDeferredStage("deferred", () -> completedStages.add("deferred"));
+
+        // Critical stages are started right away, the deferred stage is held back.
+        final List<Runnable> criticalStages = captureSubmittedStages(2);
+        criticalStages.get(0).run();
+        captureSubmittedStages(2);
+
+        criticalStages.get(1).run();
+        final List<Runnable> stages = captureSubmittedStages(3);
+        stages.get(2).run();
+
+        Assert.assertThat(completedStages, contains("critical1", "critical2", "deferred"));
+    }
+
+    @Test
+    public void testAddDeferredStage_criticalStageFailed() {
+        initializer.addCriticalStage("critical", () -> {
+            throw new IllegalStateException();
+        });
+        initializer.addDeferredStage("deferred", () -> completedStages.add("deferred"));
+
+        runSubmittedStages(2);
+        Assert.assertThat(completedStages, contains("deferred"));
+    }
+
+    @Test
+    public void testGetStageTimings() {
+        initializer.addCriticalStage("critical", () -> { });
+        initializer.addDeferredStage("deferred", () -> { });
+
+        runSubmittedStages(2);
+        Assert.assertThat(initializer.getStageTimings().keySet(),
+                contains("critical", "deferred"));
+        Assert.assertThat(initializer.getStageTimings().get("critical") >= 0, is(true));
+    }
+
+    private void runSubmittedStages(int expectedStages) {
+        for (int i = 0; i < expectedStages; i++) {
+            captureSubmittedStages(i + 1).get(i).run();
+        }
+    }
+
+    private List<Runnable> captureSubmittedStages(int expectedStages) {
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockExecutorService, times(expectedStages)).execute(captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -22,6 +22,7 @@ import com.twitter.sdk.android.core.TwitterSession;
 import com.twitter.sdk.android.core.internal.TwitterSessionVerifier.AccountServiceProvider;
 import com.twitter.sdk.android.core.internal.scribe.DefaultScribeClient;
 import com.twitter.sdk.android.core.internal.scribe.EventNamespace;
+import com.twitter.sdk.android.core.models.User;
 import com.twitter.sdk.android.core.services.AccountService;
 
 import org.junit.Assert;
@@ -78,7 +79,7 @@ public class TwitterSessionVerifierTest {
 
         verifier.verifySession(session);
 
-        verify(mockAccountService).verifyCredentials(true, false, false);
+        verify(mockAccountService).verifyCredentials(false, true, false);
         verify(mockScribeClient).scribe(namespaceCaptor.capture());
         final EventNamespace ns = namespaceCaptor.getValue();
         Assert.assertThat(ns.client, is(REQUIRED_IMPRESSION_CLIENT));
@@ -104,11 +105,19 @@ public class TwitterSessionVerifierTest {
     @Test
     public void testVerifySession_catchesRetrofitExceptionsAndFinishesVerification() {
         doReturn(Calls.failure(new IOException()))
-                .when(mockAccountService).verifyCredentials(true, false, false);
+                .when(mockAccountService).verifyCredentials(false, true, false);
 
-        verifier.verifySession(session);
+        Assert.assertThat(verifier.verifySession(session), is(false));
 
-        verify(mockAccountService).verifyCredentials(true, false, false);
+        verify(mockAccountService).verifyCredentials(false, true, false);
         // success, we caught the exception
     }
+
+    @Test
+    public void testVerifySession_returnsTrueOnResponse() {
+        doReturn(Calls.response((User) null))
+                .when(mockAccountService).verifyCredentials(false, true, false);
+
+        Assert.assertThat(verifier.verifySession(session), is(true));
+    }
 }
@@ -54,6 +54,15 @@ public class UserUtilsTest {
         Assert.assertThat(UserUtils.INSTANCE.getProfileImageUrlHttps(user, AvatarSize.REASONABLY_SMALL), is(reasonableSize));
     }
 
+    @Test
+    public void testAvatarSizeForPixelSize() {
+        Assert.assertThat(AvatarSize.forPixelSize(20), is(AvatarSize.MINI));
+        Assert.assertThat(AvatarSize.forPixelSize(36), is(AvatarSize.NORMAL));
+        Assert.assertThat(AvatarSize.forPixelSize(72), is(AvatarSize.BIGGER));
+        Assert.assertThat(AvatarSize.forPixelSize(108), is(AvatarSize.REASONABLY_SMALL));
+        Assert.assertThat(AvatarSize.forPixelSize(400), is(AvatarSize.ORIGINAL));
+    }
+
     @Test
     public void testFormatScreenName_alreadyFormatted() {
         final String test = "@test";
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.network;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+public class CoalescingCallAdapterFactoryTest {
+    static final String TEST_URL = "https://api.twitter.com/1.1/account/verify_credentials.json";
+    static final String TEST_OTHER_URL = "https://api.twitter.com/1.1/statuses/show.json?id=20";
+    static final String TEST_RESPONSE_TYPE = "User";
+
+    CoalescingCallAdapterFactory factory;
+
+    @Before
+    public void setUp() throws Exception {
+        factory = new CoalescingCallAdapterFactory();
+        factory.setEnabled(true);
+    }
+
+    @Test
+    public void testEnqueue_disabled() {
+        factory.setEnabled(false);
+        final Call<Object> first = mockCall(TEST_URL);
+        final Call<Object> second = mockCall(TEST_URL);
+
+        newCall(first).enqueue(mock(Callback.class));
+        newCall(second).enqueue(mock(Callback.class));
+
+        verify(first).enqueue(any(Callback.class));
+        verify(second).enqueue(any(Callback.class));
+    }
+
+    @Test
+    public void testEnqueue_sharesResponse() {
+        final Call<Object> first = mockCall(TEST_URL);
+        final Call<Object> second = mockCall(TEST_URL);
+        final Callback<Object> firstCallback = mock(Callback.class);
+        final Callback<Object> secondCallback = mock(Callback.class);
+        final Call<Object> firstCall = newCall(first);
+        final Call<Object> secondCall = newCall(second);
+
+        firstCall.enqueue(firstCallback);
+        secondCall.enqueue(secondCallback);
+
+        final ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        verify(first).enqueue(captor.capture());
+        verify(second, never()).enqueue(any(Callback.class));
+        Assert.assertThat(factory.getInFlightCount(), is(1));
+
+        final Response<Object> response = Response.success(new Object());
+        captor.getValue().onResponse(first, response);
+
+        verify(firstCallback).onResponse(firstCall, response);
+        verify(secondCallback).onResponse(secondCall, response);
+        Assert.assertThat(factory.getInFlightCount(), is(0));
+    }
+
+    @Test
+    public void testEnqueue_differentUrls() {
+        final Call<Object> first = mockCall(TEST_URL);
+        final Call<Object> second = mockCall(TEST_OTHER_URL);
+
+        newCall(first).enqueue(mock(Callback.class));
+        newCall(second).enqueue(mock(Callback.class));
+
+        verify(first).enqueue(any(Callback.class));
+        verify(second).enqueue(any(Callback.class));
+    }
+
+    @Test
+    public void testCancel_onlyCancelsRequestWhenAllCallersCancel() {
+        final Call<Object> first = mockCall(TEST_URL);
+        final Callback<Object> secondCallback = mock(Callback.class);
+        final Call<Object> firstCall = newCall(first);
+        final Call<Object> secondCall = newCall(mockCall(TEST_URL));
+        firstCall.enqueue(mock(Callback.class));
+        secondCall.enqueue(secondCallback);
+
+        firstCall.cancel();
+        verify(first, never()).cancel();
+        Assert.assertThat(firstCall.isCanceled(), is(true));
+        Assert.assertThat(secondCall.isCanceled(), is(false));
+
+        secondCall.cancel();
+        verify(first).cancel();
+
+        final ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        verify(first).enqueue(captor.capture());
+        captor.getValue().onResponse(first, Response.success(new Object()));
+        verify(secondCallback).onFailure(any(Call.class), any(IOException.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEnqueue_alreadyExecuted() {
+        final Call<Object> call = newCall(mockCall(TEST_URL));
+        call.enqueue(mock(Callback.class));
+        call.enqueue(mock(Callback.class));
+    }
+
+    private Call<Object> newCall(Call<Object> delegate) {
+        return new CoalescingCallAdapterFactory.CoalescingCall<>(factory, TEST_RESPONSE_TYPE,
+                delegate);
+    }
+
+    private Call<Object> mockCall(String url) {
+        final Call<Object> call = mock(Call.class);
+        when(call.request()).thenReturn(new Request.Builder().url(url).build());
+        return call;
+    }
+}
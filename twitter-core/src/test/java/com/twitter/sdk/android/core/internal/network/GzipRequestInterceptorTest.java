@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.network;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.GzipSource;
+import okio.Okio;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+public class GzipRequestInterceptorTest {
+    static final String TEST_URL = "https://api.twitter.com";
+    static final String TEST_BODY = "log[]=%5B%7B%22event%22%3A%22impression%22%7D%5D";
+    static final MediaType TEST_MEDIA_TYPE =
+            MediaType.parse("application/x-www-form-urlencoded;charset=UTF-8");
+
+    @Mock
+    Interceptor.Chain mockChain;
+    @Captor
+    ArgumentCaptor<Request> requestCaptor;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testIntercept_compressesBody() throws Exception {
+        final Request request = new Request.Builder()
+                .url(TEST_URL)
+                .post(RequestBody.create(TEST_MEDIA_TYPE, TEST_BODY))
+                .build();
+        when(mockChain.request()).thenReturn(request);
+
+        new GzipRequestInterceptor(true).intercept(mockChain);
+
+        verify(mockChain).proceed(requestCaptor.capture());
+        final Request compressedRequest = requestCaptor.getValue();
+        Assert.assertThat(compressedRequest.header(GzipRequestInterceptor.HEADER_CONTENT_ENCODING),
+                is(GzipRequestInterceptor.GZIP));
+        Assert.assertThat(compressedRequest.body().contentType(), is(TEST_MEDIA_TYPE));
+
+        final Buffer compressed = new Buffer();
+        compressedRequest.body().writeTo(compressed);
+        final String body = Okio.buffer(new GzipSource(compressed)).readUtf8();
+        Assert.assertThat(body, is(TEST_BODY));
+    }
+
+    @Test
+    public void testIntercept_disabled() throws Exception {
+        final Request request = new Request.Builder()
+                .url(TEST_URL)
+                .post(RequestBody.create(TEST_MEDIA_TYPE, TEST_BODY))
+                .build();
+        when(mockChain.request()).thenReturn(request);
+
+        final GzipRequestInterceptor interceptor = new GzipRequestInterceptor(true);
+        interceptor.setEnabled(false);
+        interceptor.intercept(mockChain);
+
+        verify(mockChain).proceed(requestCaptor.capture());
+        Assert.assertThat(requestCaptor.getValue(), sameInstance(request));
+    }
+
+    @Test
+    public void testIntercept_noBody() throws Exception {
+        final Request request = new Request.Builder().url(TEST_URL).build();
+        when(mockChain.request()).thenReturn(request);
+
+        new GzipRequestInterceptor(true).intercept(mockChain);
+
+        verify(mockChain).proceed(requestCaptor.capture());
+        Assert.assertThat(requestCaptor.getValue(), sameInstance(request));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.twitter.sdk.android.core.internal.network;
+
+import com.twitter.sdk.android.core.NetworkMetrics;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.Path;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+public class NetworkMetricsConverterFactoryTest {
+    private static final String TEST_BODY = "body";
+
+    interface TestService {
+        @GET("/1.1/statuses/lookup.json?tweet_mode=extended&include_cards=true")
+        Call<Object> lookup();
+
+        @POST("/1.1/statuses/retweet/{id}.json?tweet_mode=extended")
+        Call<Object> retweet(@Path("id") Long id);
+    }
+
+    private NetworkMetrics metrics;
+    private NetworkMetricsConverterFactory factory;
+
+    @Before
+    public void setUp() throws Exception {
+        metrics = mock(NetworkMetrics.class);
+        when(metrics.isEnabled()).thenReturn(true);
+        factory = new NetworkMetricsConverterFactory(metrics, new Converter.Factory() {
+            @Override
+            public Converter<ResponseBody, ?> responseBodyConverter(Type type,
+                    Annotation[] annotations, Retrofit retrofit) {
+                return ResponseBody::string;
+            }
+        });
+    }
+
+    @Test
+    public void testGetPath() throws Exception {
+        Assert.assertThat(NetworkMetricsConverterFactory.getPath(getAnnotations("lookup")),
+                is("/1.1/statuses/lookup.json?tweet_mode=extended&include_cards=true"));
+        Assert.assertThat(NetworkMetricsConverterFactory.getPath(new Annotation[0]), is(""));
+    }
+
+    @Test
+    public void testResponseBodyConverter_queryInPath() throws Exception {
+        convert(getAnnotations("lookup"));
+
+        verify(metrics).record(eq("statuses/lookup"), eq(NetworkMetrics.Metric.DECODE),
+                anyLong());
+    }
+
+    @Test
+    public void testResponseBodyConverter_parameterInPath() throws Exception {
+        convert(getAnnotations("retweet"));
+
+        verify(metrics).record(eq("statuses/retweet/:id"), eq(NetworkMetrics.Metric.DECODE),
+                anyLong());
+    }
+
+    @Test
+    public void testResponseBodyConverter_disabled() throws Exception {
+        when(metrics.isEnabled()).thenReturn(false);
+
+        convert(getAnnotations("lookup"));
+
+        verify(metrics, never()).record(anyString(), any(NetworkMetrics.Metric.class), anyLong());
+    }
+
+    private void convert(Annotation[] annotations) throws IOException {
+        final Converter<ResponseBody, ?> converter =
+                factory.responseBodyConverter(Object.class, annotations, null);
+        final Object value = converter.convert(ResponseBody.create(null, TEST_BODY));
+        Assert.assertThat(value, is(TEST_BODY));
+    }
+
+    private static Annotation[] getAnnotations(String methodName) throws Exception {
+        for (Method method : TestService.class.getDeclaredMethods()) {
+            if (method.getName().equals(methodName)) {
+                return method.getAnnotations();
+            }
+        }
+        throw new NoSuchMethodException(methodName);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.network;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+public class RequestSchedulerTest {
+    static final String TEST_HOST = "api.twitter.com";
+    static final String TEST_URL = "https://" + TEST_HOST + "/1.1/statuses/show.json";
+
+    RequestScheduler scheduler;
+
+    @Before
+    public void setUp() throws Exception {
+        scheduler = new RequestScheduler();
+    }
+
+    @Test
+    public void testEnqueue_startsImmediatelyWithCapacity() {
+        final Call<Object> call = mockCall();
+        scheduler.enqueue(call, RequestPriority.VISIBLE, mock(Callback.class));
+
+        verify(call).enqueue(any(Callback.class));
+        Assert.assertThat(scheduler.getRunningCount(TEST_HOST), is(1));
+    }
+
+    @Test
+    public void testEnqueue_backgroundLeavesCapacityForVisible() {
+        final Call<Object> first = mockCall();
+        final Call<Object> second = mockCall();
+        final Call<Object> third = mockCall();
+        final Call<Object> visible = mockCall();
+
+        scheduler.enqueue(first, RequestPriority.BACKGROUND, mock(Callback.class));
+        scheduler.enqueue(second, RequestPriority.BACKGROUND, mock(Callback.class));
+        scheduler.enqueue(third, RequestPriority.BACKGROUND, mock(Callback.class));
+        scheduler.enqueue(visible, RequestPriority.VISIBLE, mock(Callback.class));
+
+        verify(first).enqueue(any(Callback.class));
+        verify(second).enqueue(any(Callback.class));
+        verify(third, never()).enqueue(any(Callback.class));
+        verify(visible).enqueue(any(Callback.class));
+        Assert.assertThat(scheduler.getPendingCount(TEST_HOST), is(1));
+    }
+
+    @Test
+    public void testEnqueue_finishedRequestPromotesHighestPriority() {
+        final Call<Object> running = mockCall();
+        final Call<Object> prefetch = mockCall();
+        final Call<Object> immediate = mockCall();
+        for (int i = 0; i < RequestPriority.IMMEDIATE.maxRequestsPerHost - 1; i++) {
+            scheduler.enqueue(mockCall(), RequestPriority.VISIBLE, mock(Callback.class));
+        }
+        scheduler.enqueue(running, RequestPriority.IMMEDIATE, mock(Callback.class));
+        final ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        verify(running).enqueue(captor.capture());
+
+        scheduler.enqueue(prefetch, RequestPriority.PREFETCH, mock(Callback.class));
+        scheduler.enqueue(immediate, RequestPriority.IMMEDIATE, mock(Callback.class));
+        verify(immediate, never()).enqueue(any(Callback.class));
+
+        captor.getValue().onResponse(running, Response.success(new Object()));
+
+        verify(immediate).enqueue(any(Callback.class));
+        verify(prefetch, never()).enqueue(any(Callback.class));
+    }
+
+    @Test
+    public void testEnqueue_deliversToCallback() {
+        final Call<Object> call = mockCall();
+        final Callback<Object> callback = mock(Callback.class);
+        scheduler.enqueue(call, RequestPriority.VISIBLE, callback);
+        final ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        verify(call).enqueue(captor.capture());
+
+        final Throwable error = new Throwable();
+        captor.getValue().onFailure(call, error);
+
+        verify(callback).onFailure(call, error);
+        Assert.assertThat(scheduler.getRunningCount(TEST_HOST), is(0));
+    }
+
+    @Test
+    public void testExecute_releasesCapacity() throws Exception {
+        final Call<Object> call = mockCall();
+        final Response<Object> response = Response.success(new Object());
+        when(call.execute()).thenReturn(response);
+
+        Assert.assertThat(scheduler.execute(call, RequestPriority.BACKGROUND), is(response));
+        Assert.assertThat(scheduler.getRunningCount(TEST_HOST), is(0));
+    }
+
+    private Call<Object> mockCall() {
+        final Call<Object> call = mock(Call.class);
+        when(call.request()).thenReturn(new Request.Builder().url(TEST_URL).build());
+        return call;
+    }
+}
@@ -118,4 +118,25 @@ public class UrlUtilsTest {
         Assert.assertThat(params.get(EMPTY_PARAM_KEY), is(EMPTY_PARAM_VALUE));
         Assert.assertThat(params.get(DECODED_PARAM_KEY), is(DECODED_PARAM_VALUE_DECODED));
     }
+
+    @Test
+    public void testGetEndpointTemplate() {
+        Assert.assertThat(UrlUtils.getEndpointTemplate("/1.1/statuses/lookup.json"),
+                is("statuses/lookup"));
+        Assert.assertThat(UrlUtils.getEndpointTemplate("/1.1/statuses/show/20.json"),
+                is("statuses/show/:id"));
+        Assert.assertThat(UrlUtils.getEndpointTemplate("/oauth2/token"), is("oauth2/token"));
+        Assert.assertThat(UrlUtils.getEndpointTemplate(null), is(""));
+    }
+
+    @Test
+    public void testGetEndpointTemplate_retrofitPath() {
+        Assert.assertThat(UrlUtils.getEndpointTemplate(
+                "/1.1/statuses/lookup.json?tweet_mode=extended&include_cards=true"),
+                is("statuses/lookup"));
+        Assert.assertThat(UrlUtils.getEndpointTemplate(
+                "/1.1/statuses/retweet/{id}.json?tweet_mode=extended"),
+                is("statuses/retweet/:id"));
+        Assert.assertThat(UrlUtils.getEndpointTemplate("/{version}/jot/{type}"), is("jot/:id"));
+    }
 }
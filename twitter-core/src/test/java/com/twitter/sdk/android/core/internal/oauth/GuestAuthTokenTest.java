@@ -33,6 +33,8 @@ public class GuestAuthTokenTest  {
     private static final String GUEST_TOKEN = "guestToken";
     private static final long ONE_HOUR_AGE = System.currentTimeMillis() - (3600 * 1000);
     private static final long THREE_HOURS_AGO = System.currentTimeMillis() - (3600 * 3 * 1000);
+    private static final long TWO_AND_A_HALF_HOURS_AGO =
+            System.currentTimeMillis() - (3600 * 5 * 1000 / 2);
 
     @Test
     public void testIsExpired_newToken() {
@@ -59,4 +61,19 @@ public class GuestAuthTokenTest  {
         final GuestAuthToken token = new GuestAuthToken(TOKEN_TYPE, ACCESS_TOKEN, GUEST_TOKEN, 0);
         Assert.assertThat(token.isExpired(), is(true));
     }
+
+    @Test
+    public void testIsExpiringSoon_oneHourOld() {
+        final GuestAuthToken token = new GuestAuthToken(TOKEN_TYPE, ACCESS_TOKEN, GUEST_TOKEN,
+                ONE_HOUR_AGE);
+        Assert.assertThat(token.isExpiringSoon(), is(false));
+    }
+
+    @Test
+    public void testIsExpiringSoon_twoAndAHalfHoursOld() {
+        final GuestAuthToken token = new GuestAuthToken(TOKEN_TYPE, ACCESS_TOKEN, GUEST_TOKEN,
+                TWO_AND_A_HALF_HOURS_AGO);
+        Assert.assertThat(token.isExpiringSoon(), is(true));
+        Assert.assertThat(token.isExpired(), is(false));
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.persistence;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Collections;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+public class BatchingPreferenceStoreTest {
+    private static final String KEY = "key";
+    private static final String OTHER_KEY = "otherKey";
+    private static final String VALUE = "value";
+
+    private SharedPreferences sharedPreferences;
+    private ScheduledExecutorService mockExecutorService;
+    private BatchingPreferenceStore preferenceStore;
+
+    @Before
+    public void setUp() {
+        sharedPreferences = RuntimeEnvironment.application.getSharedPreferences("BatchingTest",
+                Context.MODE_PRIVATE);
+        mockExecutorService = mock(ScheduledExecutorService.class);
+        preferenceStore = new BatchingPreferenceStore(sharedPreferences, mockExecutorService,
+                BatchingPreferenceStore.DEFAULT_BATCH_DELAY_MS);
+    }
+
+    @After
+    public void tearDown() {
+        sharedPreferences.edit().clear().commit();
+    }
+
+    @Test
+    public void testSave_holdsBackChanges() {
+        preferenceStore.save(preferenceStore.edit().putString(KEY, VALUE));
+
+        Assert.assertThat(sharedPreferences.getString(KEY, null), nullValue());
+        Assert.assertThat(preferenceStore.get().getString(KEY, null), is(VALUE));
+        Assert.assertThat(preferenceStore.get().contains(KEY), is(true));
+    }
+
+    @Test
+    public void testSave_schedulesOneFlushPerBatch() {
+        preferenceStore.save(preferenceStore.edit().putString(KEY, VALUE));
+        preferenceStore.save(preferenceStore.edit().putLong(OTHER_KEY, 1L));
+
+        final ArgumentCaptor<Runnable> flushCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockExecutorService).schedule(flushCaptor.capture(),
+                eq(BatchingPreferenceStore.DEFAULT_BATCH_DELAY_MS), eq(TimeUnit.MILLISECONDS));
+
+        flushCaptor.getValue().run();
+        Assert.assertThat(sharedPreferences.getString(KEY, null), is(VALUE));
+        Assert.assertThat(sharedPreferences.getLong(OTHER_KEY, 0L), is(1L));
+
+        preferenceStore.save(preferenceStore.edit().remove(KEY));
+        verify(mockExecutorService, times(2)).schedule(any(Runnable.class), anyLong(),
+                any(TimeUnit.class));
+    }
+
+    @Test
+    public void testSave_removeHidesStoredValue() {
+        sharedPreferences.edit().putString(KEY, VALUE).commit();
+
+        preferenceStore.save(preferenceStore.edit().remove(KEY));
+
+        Assert.assertThat(preferenceStore.get().getString(KEY, null), nullValue());
+        Assert.assertThat(preferenceStore.get().getAll().containsKey(KEY), is(false));
+        preferenceStore.flush();
+        Assert.assertThat(sharedPreferences.contains(KEY), is(false));
+    }
+
+    @Test
+    public void testSave_clearHidesStoredValues() {
+        sharedPreferences.edit().putString(KEY, VALUE).commit();
+
+        preferenceStore.save(preferenceStore.edit().clear().putString(OTHER_KEY, VALUE));
+
+        Assert.assertThat(preferenceStore.get().getString(KEY, null), nullValue());
+        Assert.assertThat(preferenceStore.get().getAll(),
+                is(Collections.singletonMap(OTHER_KEY, VALUE)));
+    }
+
+    @Test
+    public void testFlush() {
+        preferenceStore.save(preferenceStore.edit()
+                .putStringSet(KEY, Collections.singleton(VALUE)));
+        preferenceStore.flush();
+
+        Assert.assertThat(sharedPreferences.getStringSet(KEY, null),
+                is(Collections.singleton(VALUE)));
+    }
+
+    @Test
+    public void testEditorCommit_writesRightAway() {
+        Assert.assertThat(preferenceStore.edit().putBoolean(KEY, true).commit(), is(true));
+        Assert.assertThat(sharedPreferences.getBoolean(KEY, false), is(true));
+    }
+}
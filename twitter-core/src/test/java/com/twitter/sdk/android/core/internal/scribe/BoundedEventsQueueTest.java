@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.scribe;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+
+public class BoundedEventsQueueTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidMaxSize() {
+        new BoundedEventsQueue<>(0, BoundedEventsQueue.OverflowPolicy.DROP_NEWEST);
+    }
+
+    @Test
+    public void testOffer_dropNewest() {
+        final BoundedEventsQueue<Integer> queue =
+                new BoundedEventsQueue<>(2, BoundedEventsQueue.OverflowPolicy.DROP_NEWEST);
+
+        Assert.assertThat(queue.offer(1), is(true));
+        Assert.assertThat(queue.offer(2), is(true));
+        Assert.assertThat(queue.offer(3), is(false));
+
+        Assert.assertThat(drain(queue), is(Arrays.asList(1, 2)));
+        Assert.assertThat(queue.getDroppedCount(), is(1));
+    }
+
+    @Test
+    public void testOffer_dropOldest() {
+        final BoundedEventsQueue<Integer> queue =
+                new BoundedEventsQueue<>(2, BoundedEventsQueue.OverflowPolicy.DROP_OLDEST);
+
+        Assert.assertThat(queue.offer(1), is(true));
+        Assert.assertThat(queue.offer(2), is(true));
+        Assert.assertThat(queue.offer(3), is(true));
+
+        Assert.assertThat(drain(queue), is(Arrays.asList(2, 3)));
+        Assert.assertThat(queue.getDroppedCount(), is(1));
+    }
+
+    @Test
+    public void testOffer_blockWaitsForDrain() throws Exception {
+        final BoundedEventsQueue<Integer> queue =
+                new BoundedEventsQueue<>(1, BoundedEventsQueue.OverflowPolicy.BLOCK);
+        queue.offer(1);
+
+        final Thread producer = new Thread(() -> queue.offer(2));
+        producer.start();
+        producer.join(100);
+        Assert.assertThat(producer.isAlive(), is(true));
+
+        Assert.assertThat(drain(queue), is(Arrays.asList(1)));
+        producer.join(1000);
+        Assert.assertThat(producer.isAlive(), is(false));
+        Assert.assertThat(drain(queue), is(Arrays.asList(2)));
+    }
+
+    @Test
+    public void testDrainTo_limitsBatch() {
+        final BoundedEventsQueue<Integer> queue =
+                new BoundedEventsQueue<>(10, BoundedEventsQueue.OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(i);
+        }
+
+        final List<Integer> batch = new ArrayList<>();
+        Assert.assertThat(queue.drainTo(batch, 3), is(3));
+        Assert.assertThat(batch, is(Arrays.asList(0, 1, 2)));
+        Assert.assertThat(queue.isEmpty(), is(false));
+    }
+
+    private static List<Integer> drain(BoundedEventsQueue<Integer> queue) {
+        final List<Integer> events = new ArrayList<>();
+        queue.drainTo(events, Integer.MAX_VALUE);
+        return events;
+    }
+}
@@ -30,9 +30,11 @@ import com.twitter.sdk.android.core.internal.IdManager;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.RuntimeEnvironment;
 
+import java.util.Collections;
 import java.util.Locale;
 
 import static org.hamcrest.Matchers.is;
@@ -40,6 +42,7 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(RobolectricTestRunner.class)
@@ -58,6 +61,8 @@ public class DefaultScribeClientTest {
     private static final long REQUIRED_LOGGED_OUT_USER_ID = 0L;
     private static final long TEST_ACTIVE_SESSION_ID = 1L;
     private static final String DEBUG_BUILD_TYPE = "debug";
+    private static final EventNamespace TEST_NAMESPACE = new EventNamespace("tfw", "android",
+            "tweet", "compact", "", "impression");
 
     private DefaultScribeClient scribeClient;
     private SessionManager<TwitterSession> mockTwitterSessionManager;
@@ -85,6 +90,7 @@ public class DefaultScribeClientTest {
         assertThat(scribeConfig.userAgent, is(TEST_USER_AGENT));
         assertThat(scribeConfig.maxFilesToKeep, is(ScribeConfig.DEFAULT_MAX_FILES_TO_KEEP));
         assertThat(scribeConfig.sendIntervalSeconds, is(ScribeConfig.DEFAULT_SEND_INTERVAL_SECONDS));
+        assertThat(scribeConfig.isGzipEnabled, is(false));
     }
 
     @Test
@@ -112,6 +118,35 @@ public class DefaultScribeClientTest {
         assertThat(DefaultScribeClient.getUserAgent(TEST_SCRIBE_KIT_NAME, TEST_KIT_VERSION), is(TEST_USER_AGENT));
     }
 
+    @Test
+    public void testScribe_doesNotTagEvents() {
+        final ScribeHandler mockHandler = mock(ScribeHandler.class);
+        scribeClient.scribeHandlers.put(REQUIRED_LOGGED_OUT_USER_ID, mockHandler);
+        final ScribeEvent event = new ScribeEvent("category", TEST_NAMESPACE, 1L);
+
+        scribeClient.scribe(event);
+
+        verify(mockHandler).scribe(event);
+        assertThat(event.kit, nullValue());
+    }
+
+    @Test
+    public void testForKit_tagsEvents() {
+        final ScribeHandler mockHandler = mock(ScribeHandler.class);
+        scribeClient.scribeHandlers.put(REQUIRED_LOGGED_OUT_USER_ID, mockHandler);
+        final ScribeEvent event = new SyndicationClientEvent(TEST_NAMESPACE, "", 1L, "en", null,
+                Collections.emptyList());
+
+        scribeClient.forKit(TEST_SCRIBE_KIT_NAME, TEST_KIT_VERSION).scribe(event);
+
+        final ArgumentCaptor<ScribeEvent> captor = ArgumentCaptor.forClass(ScribeEvent.class);
+        verify(mockHandler).scribe(captor.capture());
+        assertThat(captor.getValue().kit, is(TEST_SCRIBE_KIT_NAME + "/" + TEST_KIT_VERSION));
+        assertThat(captor.getValue().eventNamespace, is(TEST_NAMESPACE));
+        // The event of the caller is left as it is.
+        assertThat(event.kit, nullValue());
+    }
+
     @Test
     public void testGetActiveSession_activeSessionDoesNotExist() {
         assertThat(scribeClient.getActiveSession(), nullValue());
@@ -17,6 +17,9 @@
 
 package com.twitter.sdk.android.core.internal.scribe;
 
+import com.twitter.sdk.android.core.internal.CurrentTimeProvider;
+import com.twitter.sdk.android.core.internal.SystemCurrentTimeProvider;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -29,6 +32,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -36,10 +40,12 @@ import java.util.concurrent.TimeUnit;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -185,7 +191,6 @@ public class EnabledEventsStrategyTest {
         doReturn(Collections.emptyList()).when(mockFilesManager).getBatchOfFilesToSend();
         eventsStrategy.sendAndCleanUpIfSuccess();
         verify(mockFilesManager).getBatchOfFilesToSend();
-        verify(mockFilesManager).deleteOldestInRollOverIfOverMax();
         verifyNoMoreInteractions(mockFilesManager);
     }
 
@@ -201,8 +206,8 @@ public class EnabledEventsStrategyTest {
         eventsStrategy.sendAndCleanUpIfSuccess();
 
         verify(mockFilesManager).getBatchOfFilesToSend();
-        verify(mockFilesManager).deleteOldestInRollOverIfOverMax();
         verifyNoMoreInteractions(mockFilesManager);
+        verify(mockExecutor).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
     }
 
     @Test
@@ -224,6 +229,82 @@ public class EnabledEventsStrategyTest {
         verifyNoMoreInteractions(mockFilesManager);
     }
 
+    @Test
+    public void testSendEvents_noConnectivity() {
+        final ConnectivityProbe mockProbe = mock(ConnectivityProbe.class);
+        eventsStrategy = createStrategy(mockProbe, new SystemCurrentTimeProvider());
+
+        eventsStrategy.sendEvents();
+
+        verifyZeroInteractions(mockFilesManager, mockFilesSender);
+        Assert.assertThat(eventsStrategy.getSendQueueState().lastDecision,
+                is(EventsSendScheduler.Decision.WAIT_FOR_CONNECTIVITY));
+    }
+
+    @Test
+    public void testSendEvents_backsOffAfterFailure() {
+        final List<File> fileList = Collections.singletonList(new File("file-1"));
+        final CurrentTimeProvider mockTimeProvider = mock(CurrentTimeProvider.class);
+        doReturn(1000L).when(mockTimeProvider).getCurrentTimeMillis();
+        eventsStrategy = createStrategy(connectedProbe(), mockTimeProvider);
+        doReturn(fileList).when(mockFilesManager).getBatchOfFilesToSend();
+        doReturn(false).when(mockFilesSender).send(fileList);
+
+        eventsStrategy.sendEvents();
+        eventsStrategy.sendEvents();
+
+        verify(mockFilesSender, times(1)).send(fileList);
+        verify(mockFilesManager, never()).deleteOldestInRollOverIfOverMax();
+        Assert.assertThat(eventsStrategy.getSendQueueState().consecutiveFailures, is(1));
+        Assert.assertThat(eventsStrategy.getSendQueueState().lastDecision,
+                is(EventsSendScheduler.Decision.WAIT_FOR_BACKOFF));
+    }
+
+    @Test
+    public void testOnRadioActive_sendsHeldBackFiles() {
+        final ConnectivityProbe mockProbe = connectedProbe();
+        doReturn(true).when(mockProbe).isMetered();
+        eventsStrategy = createStrategy(mockProbe, new SystemCurrentTimeProvider());
+
+        eventsStrategy.sendEvents();
+        eventsStrategy.onRadioActive();
+
+        verify(mockExecutor).submit(any(Runnable.class));
+    }
+
+    @Test
+    public void testOnRadioActive_nothingHeldBack() {
+        eventsStrategy = createStrategy(connectedProbe(), new SystemCurrentTimeProvider());
+
+        eventsStrategy.onRadioActive();
+
+        verifyZeroInteractions(mockExecutor);
+    }
+
+    @Test
+    public void testRelease_removesRadioActiveListener() {
+        final ConnectivityProbe mockProbe = connectedProbe();
+        eventsStrategy = createStrategy(mockProbe, new SystemCurrentTimeProvider());
+
+        eventsStrategy.release();
+
+        verify(mockProbe).setRadioActiveListener(any(Runnable.class));
+        verify(mockProbe).setRadioActiveListener(null);
+    }
+
+    private TestEnabledEventsStrategy createStrategy(ConnectivityProbe probe,
+            CurrentTimeProvider currentTimeProvider) {
+        return new TestEnabledEventsStrategy(RuntimeEnvironment.application, mockExecutor,
+                mockFilesManager, mockFilesSender, probe,
+                new EventsSendScheduler(probe, currentTimeProvider, new Random(0)));
+    }
+
+    private ConnectivityProbe connectedProbe() {
+        final ConnectivityProbe mockProbe = mock(ConnectivityProbe.class);
+        doReturn(true).when(mockProbe).isConnected();
+        return mockProbe;
+    }
+
     private void verifyExecutorScheduled(long initialDelaySecs, long frequencySecs) {
         verify(mockExecutor).scheduleAtFixedRate(any(TimeBasedFileRollOverRunnable.class),
                 eq(initialDelaySecs), eq(frequencySecs), eq(TimeUnit.SECONDS));
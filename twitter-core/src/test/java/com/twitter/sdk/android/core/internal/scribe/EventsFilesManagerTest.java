@@ -146,6 +146,13 @@ public class EventsFilesManagerTest {
                     bos.flush();
                 }
 
+                @Override
+                public void add(List<byte[]> data) throws IOException {
+                    for (byte[] event : data) {
+                        add(event);
+                    }
+                }
+
                 @Override
                 public int getWorkingFileUsedSizeInBytes() {
                     return 0;
@@ -212,4 +219,54 @@ public class EventsFilesManagerTest {
             CommonUtils.closeQuietly(bos);
         }
     }
+
+    @Test
+    public void testGetBatchOfFilesToSend_limitsBatchToByteBudget() {
+        final List<File> files = Arrays.asList(mockFile(4000), mockFile(4000), mockFile(4000));
+        when(mockEventStorage.getBatchOfFilesToSend(3)).thenReturn(files);
+
+        filesManager = new TestEventsFilesManager(RuntimeEnvironment.application, transform,
+                new SystemCurrentTimeProvider(), mockEventStorage, "testBatch",
+                EventsFilesManager.MAX_FILES_TO_KEEP) {
+            @Override
+            protected int getMaxFilesInBatch() {
+                return 3;
+            }
+
+            @Override
+            protected long getMaxBatchSizeInBytes() {
+                return 10000;
+            }
+        };
+
+        Assert.assertThat(filesManager.getBatchOfFilesToSend(), is(files.subList(0, 2)));
+    }
+
+    @Test
+    public void testGetBatchOfFilesToSend_alwaysIncludesFirstFile() {
+        final List<File> files = Arrays.asList(mockFile(20000), mockFile(100));
+        when(mockEventStorage.getBatchOfFilesToSend(2)).thenReturn(files);
+
+        filesManager = new TestEventsFilesManager(RuntimeEnvironment.application, transform,
+                new SystemCurrentTimeProvider(), mockEventStorage, "testBatch",
+                EventsFilesManager.MAX_FILES_TO_KEEP) {
+            @Override
+            protected int getMaxFilesInBatch() {
+                return 2;
+            }
+
+            @Override
+            protected long getMaxBatchSizeInBytes() {
+                return 10000;
+            }
+        };
+
+        Assert.assertThat(filesManager.getBatchOfFilesToSend(), is(files.subList(0, 1)));
+    }
+
+    private File mockFile(long length) {
+        final File file = mock(File.class);
+        when(file.length()).thenReturn(length);
+        return file;
+    }
 }
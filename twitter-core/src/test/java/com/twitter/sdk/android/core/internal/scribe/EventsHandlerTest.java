@@ -26,11 +26,14 @@ import org.mockito.ArgumentCaptor;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.RuntimeEnvironment;
 
+import java.util.Arrays;
 import java.util.concurrent.ScheduledExecutorService;
 
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @RunWith(RobolectricTestRunner.class)
@@ -77,6 +80,40 @@ public class EventsHandlerTest {
         verify(strategy).rollFileOver();
     }
 
+    @Test
+    public void testRecordEventAsync_batchesPendingEvents() throws Exception {
+        final Object first = new Object();
+        final Object second = new Object();
+        eventsHandler.recordEventAsync(first, false);
+        eventsHandler.recordEventAsync(second, true);
+
+        final ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).submit(runnableCaptor.capture());
+        final Runnable runnable = runnableCaptor.getValue();
+
+        runnable.run();
+        verify(strategy).recordEvents(eq(Arrays.asList(first, second)));
+        verify(strategy, never()).recordEvent(any());
+        verify(strategy).rollFileOver();
+    }
+
+    @Test
+    public void testRecordEventAsync_dropNewestWhenFull() throws Exception {
+        eventsHandler = new MockEventsHandler(RuntimeEnvironment.application, strategy,
+                mock(EventsFilesManager.class), executor, 1,
+                BoundedEventsQueue.OverflowPolicy.DROP_NEWEST);
+        final Object first = new Object();
+        eventsHandler.recordEventAsync(first, false);
+        eventsHandler.recordEventAsync(new Object(), false);
+
+        final ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, times(1)).submit(runnableCaptor.capture());
+        runnableCaptor.getValue().run();
+
+        verify(strategy).recordEvent(eq(first));
+        verify(strategy, never()).recordEvents(any());
+    }
+
     @Test
     public void testRecordEventSync() {
         final Object object = new Object();
@@ -90,6 +127,18 @@ public class EventsHandlerTest {
         verify(strategy).recordEvent(eq(object));
     }
 
+    @Test
+    public void testDisable() {
+        eventsHandler.disable();
+
+        final ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).submit(runnableCaptor.capture());
+        runnableCaptor.getValue().run();
+
+        verify(strategy).release();
+        verify(strategy).deleteAllEvents();
+    }
+
     class MockEventsHandler extends EventsHandler<Object> {
         MockEventsHandler(Context context, EventsStrategy<Object> strategy,
                                  EventsFilesManager filesManager,
@@ -97,6 +146,13 @@ public class EventsHandlerTest {
             super(context, strategy, filesManager, executor);
         }
 
+        MockEventsHandler(Context context, EventsStrategy<Object> strategy,
+                                 EventsFilesManager filesManager,
+                                 ScheduledExecutorService executor, int maxPendingEvents,
+                                 BoundedEventsQueue.OverflowPolicy overflowPolicy) {
+            super(context, strategy, filesManager, executor, maxPendingEvents, overflowPolicy);
+        }
+
         @Override
         protected EventsStrategy<Object> getDisabledEventsStrategy() {
             return null;
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.twitter.sdk.android.core.internal.scribe;
+
+import com.twitter.sdk.android.core.internal.CurrentTimeProvider;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Random;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+@RunWith(RobolectricTestRunner.class)
+public class EventsSendSchedulerTest {
+    private static final long START_TIME = 100000L;
+
+    private ConnectivityProbe mockProbe;
+    private CurrentTimeProvider mockTimeProvider;
+    private EventsSendScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        mockProbe = mock(ConnectivityProbe.class);
+        mockTimeProvider = mock(CurrentTimeProvider.class);
+        doReturn(true).when(mockProbe).isConnected();
+        doReturn(START_TIME).when(mockTimeProvider).getCurrentTimeMillis();
+        scheduler = new EventsSendScheduler(mockProbe, mockTimeProvider, new Random(0));
+    }
+
+    @Test
+    public void testCheckSend_connected() {
+        Assert.assertThat(scheduler.checkSend(), is(EventsSendScheduler.Decision.SEND));
+        Assert.assertThat(scheduler.isWaitingForNetwork(), is(false));
+    }
+
+    @Test
+    public void testCheckSend_notConnected() {
+        doReturn(false).when(mockProbe).isConnected();
+        Assert.assertThat(scheduler.checkSend(),
+                is(EventsSendScheduler.Decision.WAIT_FOR_CONNECTIVITY));
+        Assert.assertThat(scheduler.isWaitingForNetwork(), is(true));
+    }
+
+    @Test
+    public void testCheckSend_meteredRadioActive() {
+        doReturn(true).when(mockProbe).isMetered();
+        doReturn(true).when(mockProbe).isRadioActive();
+        Assert.assertThat(scheduler.checkSend(), is(EventsSendScheduler.Decision.SEND));
+    }
+
+    @Test
+    public void testCheckSend_meteredRadioIdleDeferredAtMostMaxDeferral() {
+        doReturn(true).when(mockProbe).isMetered();
+        Assert.assertThat(scheduler.checkSend(), is(EventsSendScheduler.Decision.WAIT_FOR_RADIO));
+
+        doReturn(START_TIME + EventsSendScheduler.MAX_RADIO_DEFERRAL_MS)
+                .when(mockTimeProvider).getCurrentTimeMillis();
+        Assert.assertThat(scheduler.checkSend(), is(EventsSendScheduler.Decision.SEND));
+    }
+
+    @Test
+    public void testOnSendFailed_backsOffUntilDelayPasses() {
+        final long delay = scheduler.onSendFailed();
+        Assert.assertThat(scheduler.checkSend(),
+                is(EventsSendScheduler.Decision.WAIT_FOR_BACKOFF));
+
+        doReturn(START_TIME + delay).when(mockTimeProvider).getCurrentTimeMillis();
+        Assert.assertThat(scheduler.checkSend(), is(EventsSendScheduler.Decision.SEND));
+    }
+
+    @Test
+    public void testOnSendSucceeded_resetsBackoff() {
+        scheduler.onSendFailed();
+        scheduler.onSendSucceeded();
+
+        Assert.assertThat(scheduler.checkSend(), is(EventsSendScheduler.Decision.SEND));
+        final EventsSendScheduler.QueueState state = scheduler.getQueueState(3);
+        Assert.assertThat(state.pendingFiles, is(3));
+        Assert.assertThat(state.consecutiveFailures, is(0));
+        Assert.assertThat(state.lastSuccessAtMillis, is(START_TIME));
+    }
+
+    @Test
+    public void testGetBackoffDelayMillis() {
+        for (int failures = 1; failures < 40; failures++) {
+            final long backoff = Math.min(EventsSendScheduler.MAX_BACKOFF_MS,
+                    EventsSendScheduler.INITIAL_BACKOFF_MS << Math.min(failures - 1, 20));
+            final long delay = scheduler.getBackoffDelayMillis(failures);
+            Assert.assertThat(delay, greaterThanOrEqualTo(backoff / 2));
+            Assert.assertThat(delay, lessThanOrEqualTo(backoff));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.twitter.sdk.android.core.internal.scribe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class PendingScribeEventsTest {
+    static final EventNamespace TEST_NAMESPACE = new EventNamespace.Builder()
+            .setClient("tfw")
+            .setPage("android")
+            .setAction("impression")
+            .builder();
+    static final List<ScribeItem> TEST_ITEMS = Collections.singletonList(
+            new ScribeItem.Builder().setItemType(ScribeItem.TYPE_TWEET).setId(1L).build());
+
+    DefaultScribeClient mockScribeClient;
+    PendingScribeEvents pendingScribeEvents;
+
+    @Before
+    public void setUp() {
+        mockScribeClient = mock(DefaultScribeClient.class);
+        pendingScribeEvents = new PendingScribeEvents();
+    }
+
+    @Test
+    public void testScribe_keepsEventsUntilClientIsSet() {
+        pendingScribeEvents.scribe(TEST_NAMESPACE, TEST_ITEMS);
+        verifyZeroInteractions(mockScribeClient);
+
+        pendingScribeEvents.setScribeClient(mockScribeClient);
+        verify(mockScribeClient).scribe(eq(TEST_NAMESPACE), eq(TEST_ITEMS), anyLong());
+    }
+
+    @Test
+    public void testScribe_afterClientIsSet() {
+        pendingScribeEvents.setScribeClient(mockScribeClient);
+        pendingScribeEvents.scribe(TEST_NAMESPACE, TEST_ITEMS);
+
+        verify(mockScribeClient).scribe(eq(TEST_NAMESPACE), eq(TEST_ITEMS), anyLong());
+    }
+
+    @Test
+    public void testScribe_keepsAtMostMaxPendingEvents() {
+        for (int i = 0; i <= PendingScribeEvents.MAX_PENDING_EVENTS; i++) {
+            pendingScribeEvents.scribe(TEST_NAMESPACE, TEST_ITEMS);
+        }
+        pendingScribeEvents.setScribeClient(mockScribeClient);
+
+        verify(mockScribeClient, times(PendingScribeEvents.MAX_PENDING_EVENTS))
+                .scribe(eq(TEST_NAMESPACE), anyList(), anyLong());
+    }
+}
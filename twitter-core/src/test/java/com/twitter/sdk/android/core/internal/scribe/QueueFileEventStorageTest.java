@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.scribe;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.concurrent.Executor;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+@RunWith(RobolectricTestRunner.class)
+public class QueueFileEventStorageTest {
+    static final String WORKING_FILE_NAME = "test_se.tap";
+    static final String NEXT_WORKING_FILE_NAME = "test_se.tap.next";
+    static final String TARGET_DIRECTORY_NAME = "test_se_to_send";
+    static final String TARGET_FILE_NAME = "se_1.tap";
+    static final byte[] TEST_EVENT = "event".getBytes();
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    File workingDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        workingDirectory = temporaryFolder.newFolder();
+    }
+
+    @Test
+    public void testRollOver() throws Exception {
+        final QueueFileEventStorage storage = new QueueFileEventStorage(
+                RuntimeEnvironment.application, workingDirectory, WORKING_FILE_NAME,
+                TARGET_DIRECTORY_NAME);
+        storage.add(TEST_EVENT);
+
+        storage.rollOver(TARGET_FILE_NAME);
+
+        Assert.assertThat(storage.isWorkingFileEmpty(), is(true));
+        final File targetFile = new File(storage.getRollOverDirectory(), TARGET_FILE_NAME);
+        final QueueFile rolledOver = new QueueFile(targetFile);
+        try {
+            Assert.assertThat(rolledOver.size(), is(1));
+        } finally {
+            rolledOver.close();
+        }
+        Assert.assertThat(new File(workingDirectory, NEXT_WORKING_FILE_NAME).exists(), is(false));
+    }
+
+    @Test
+    public void testRollOver_withIoExecutorUsesNextWorkingFile() throws Exception {
+        final Executor directExecutor = Runnable::run;
+        final QueueFileEventStorage storage = new QueueFileEventStorage(
+                RuntimeEnvironment.application, workingDirectory, WORKING_FILE_NAME,
+                TARGET_DIRECTORY_NAME, null, QueueFile.Durability.SYNC, directExecutor);
+        final File nextWorkingFile = new File(workingDirectory, NEXT_WORKING_FILE_NAME);
+        Assert.assertThat(nextWorkingFile.exists(), is(true));
+
+        storage.add(TEST_EVENT);
+        storage.rollOver(TARGET_FILE_NAME);
+
+        Assert.assertThat(storage.isWorkingFileEmpty(), is(true));
+        Assert.assertThat(new File(workingDirectory, WORKING_FILE_NAME).exists(), is(true));
+        Assert.assertThat(storage.getAllFilesInRollOverDirectory().size(), is(1));
+        // A new next working file is prepared for the following roll over.
+        Assert.assertThat(nextWorkingFile.exists(), is(true));
+    }
+
+    @Test
+    public void testRollOver_replacesCorruptNextWorkingFile() throws Exception {
+        final File nextWorkingFile = new File(workingDirectory, NEXT_WORKING_FILE_NAME);
+        final FileOutputStream out = new FileOutputStream(nextWorkingFile);
+        out.write(new byte[]{1, 2, 3});
+        out.close();
+        Assert.assertThat(QueueFileEventStorage.isEmptyQueueFile(nextWorkingFile), is(false));
+
+        final QueueFileEventStorage storage = new QueueFileEventStorage(
+                RuntimeEnvironment.application, workingDirectory, WORKING_FILE_NAME,
+                TARGET_DIRECTORY_NAME, null, QueueFile.Durability.SYNC, Runnable::run);
+        Assert.assertThat(QueueFileEventStorage.isEmptyQueueFile(nextWorkingFile), is(true));
+
+        storage.add(TEST_EVENT);
+        storage.rollOver(TARGET_FILE_NAME);
+        storage.add(TEST_EVENT);
+
+        Assert.assertThat(storage.getWorkingFileUsedSizeInBytes(), greaterThan(0));
+    }
+
+    @Test
+    public void testConstructor_withoutIoExecutorDoesNotPrepareNextWorkingFile() throws Exception {
+        final Executor mockExecutor = mock(Executor.class);
+        new QueueFileEventStorage(RuntimeEnvironment.application, workingDirectory,
+                WORKING_FILE_NAME, TARGET_DIRECTORY_NAME, mockExecutor);
+
+        verifyZeroInteractions(mockExecutor);
+        Assert.assertThat(new File(workingDirectory, NEXT_WORKING_FILE_NAME).exists(), is(false));
+    }
+
+    @Test
+    public void testDeleteWorkingFile_deletesNextWorkingFile() throws Exception {
+        final QueueFileEventStorage storage = new QueueFileEventStorage(
+                RuntimeEnvironment.application, workingDirectory, WORKING_FILE_NAME,
+                TARGET_DIRECTORY_NAME, null, QueueFile.Durability.SYNC, Runnable::run);
+        final File nextWorkingFile = new File(workingDirectory, NEXT_WORKING_FILE_NAME);
+        Assert.assertThat(nextWorkingFile.exists(), is(true));
+
+        storage.deleteWorkingFile();
+
+        Assert.assertThat(new File(workingDirectory, WORKING_FILE_NAME).exists(), is(false));
+        Assert.assertThat(nextWorkingFile.exists(), is(false));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.scribe;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+
+public class QueueFileTest {
+    static final byte[] TEST_EVENT = "event".getBytes();
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testAdd_syncHasNoPendingWrites() throws Exception {
+        final QueueFile queueFile = new QueueFile(new File(temporaryFolder.getRoot(), "sync"));
+        queueFile.add(TEST_EVENT);
+
+        Assert.assertThat(queueFile.hasPendingWrites(), is(false));
+        queueFile.close();
+    }
+
+    @Test
+    public void testAdd_groupCommitFlushesWhenGroupIsFull() throws Exception {
+        final QueueFile queueFile = new QueueFile(new File(temporaryFolder.getRoot(), "group"),
+                QueueFile.Durability.GROUP_COMMIT);
+
+        queueFile.add(TEST_EVENT);
+        Assert.assertThat(queueFile.hasPendingWrites(), is(true));
+
+        for (int i = 1; i < QueueFile.GROUP_COMMIT_MAX_WRITES; i++) {
+            queueFile.add(TEST_EVENT);
+        }
+        Assert.assertThat(queueFile.hasPendingWrites(), is(false));
+        queueFile.close();
+    }
+
+    @Test
+    public void testAddAll() throws Exception {
+        final QueueFile queueFile = new QueueFile(new File(temporaryFolder.getRoot(), "all"));
+        queueFile.add(TEST_EVENT);
+
+        // Large enough to expand the file past its initial length.
+        final List<byte[]> events = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            events.add(("event" + i).getBytes());
+        }
+        queueFile.addAll(events);
+
+        final List<byte[]> read = new ArrayList<>();
+        queueFile.forEach((in, length) -> {
+            final byte[] data = new byte[length];
+            in.read(data);
+            read.add(data);
+        });
+        Assert.assertThat(read.size(), is(events.size() + 1));
+        Assert.assertThat(Arrays.equals(read.get(0), TEST_EVENT), is(true));
+        for (int i = 0; i < events.size(); i++) {
+            Assert.assertThat(Arrays.equals(read.get(i + 1), events.get(i)), is(true));
+        }
+        queueFile.close();
+    }
+
+    @Test
+    public void testFlush_groupCommit() throws Exception {
+        final File file = new File(temporaryFolder.getRoot(), "group");
+        final QueueFile queueFile = new QueueFile(file, QueueFile.Durability.GROUP_COMMIT);
+        queueFile.add(TEST_EVENT);
+
+        queueFile.flush();
+
+        Assert.assertThat(queueFile.hasPendingWrites(), is(false));
+        queueFile.close();
+
+        final QueueFile reopened = new QueueFile(file);
+        Assert.assertThat(reopened.size(), is(1));
+        Assert.assertThat(reopened.peek(), is(TEST_EVENT));
+        reopened.close();
+    }
+}
@@ -18,12 +18,14 @@
 package com.twitter.sdk.android.core.internal.scribe;
 
 import android.content.Context;
+import android.content.ContextWrapper;
 
 import com.twitter.sdk.android.core.GuestSession;
 import com.twitter.sdk.android.core.GuestSessionProvider;
 import com.twitter.sdk.android.core.SessionManager;
 import com.twitter.sdk.android.core.TwitterAuthConfig;
 import com.twitter.sdk.android.core.internal.IdManager;
+import com.twitter.sdk.android.core.internal.persistence.FileStoreImpl;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -32,6 +34,7 @@ import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.RuntimeEnvironment;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -125,6 +128,36 @@ public class ScribeClientTest {
         Assert.assertThat(scribeStrategy instanceof DisabledEventsStrategy, is(true));
     }
 
+    @Test
+    public void testMigrateEventFiles() throws IOException {
+        final File filesDir = new FileStoreImpl(RuntimeEnvironment.application).getFilesDir();
+        final File kitFilesDir = new File(filesDir, "kit");
+        final Context kitContext = new ContextWrapper(RuntimeEnvironment.application) {
+            @Override
+            public File getFilesDir() {
+                return kitFilesDir;
+            }
+        };
+        final File kitStorageDir = new File(kitFilesDir,
+                scribeClient.getStorageDirForOwner(TEST_USER_ID));
+        kitStorageDir.mkdirs();
+        new File(kitStorageDir, "se_rolled-over_1.tap").createNewFile();
+        final QueueFile workingFile = new QueueFile(new File(kitFilesDir,
+                scribeClient.getWorkingFileNameForOwner(TEST_USER_ID)));
+        workingFile.add(new byte[]{'{', '}'});
+        workingFile.close();
+        new QueueFile(new File(kitFilesDir,
+                scribeClient.getWorkingFileNameForOwner(GuestSession.LOGGED_OUT_USER_ID))).close();
+
+        scribeClient.migrateEventFiles(kitContext);
+
+        final File storageDir = new File(filesDir,
+                scribeClient.getStorageDirForOwner(TEST_USER_ID));
+        Assert.assertThat(storageDir.list(), arrayWithSize(2));
+        Assert.assertThat(new File(storageDir, "se_rolled-over_1.tap").exists(), is(true));
+        Assert.assertThat(kitFilesDir.list(), emptyArray());
+    }
+
     @Test
     public void testGetWorkingFileNameForOwner() {
         Assert.assertThat(scribeClient.getWorkingFileNameForOwner(GuestSession.LOGGED_OUT_USER_ID)
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.scribe;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+
+public class ScribeConfigTest {
+    static final String ANY_PATH_VERSION = "version";
+    static final String ANY_PATH_TYPE = "type";
+    static final String ANY_USER_AGENT = "ua";
+
+    @Test
+    public void testBuilder_defaults() {
+        final ScribeConfig config = new ScribeConfig.Builder().build();
+
+        Assert.assertThat(config.isEnabled, is(true));
+        Assert.assertThat(config.baseUrl, is(ScribeConfig.BASE_URL));
+        Assert.assertThat(config.maxFilesToKeep, is(ScribeConfig.DEFAULT_MAX_FILES_TO_KEEP));
+        Assert.assertThat(config.sendIntervalSeconds,
+                is(ScribeConfig.DEFAULT_SEND_INTERVAL_SECONDS));
+        Assert.assertThat(config.maxFilesInBatch, is(ScribeConfig.DEFAULT_MAX_FILES_IN_BATCH));
+        Assert.assertThat(config.maxBatchSizeBytes, is(ScribeConfig.DEFAULT_MAX_BATCH_SIZE_BYTES));
+        Assert.assertThat(config.isGzipEnabled, is(false));
+        Assert.assertThat(config.durability, is(QueueFile.Durability.SYNC));
+        Assert.assertThat(config.maxPendingEvents, is(EventsHandler.DEFAULT_MAX_PENDING_EVENTS));
+        Assert.assertThat(config.overflowPolicy,
+                is(BoundedEventsQueue.OverflowPolicy.DROP_OLDEST));
+    }
+
+    @Test
+    public void testBuilder_setsEachValue() {
+        final ScribeConfig config = new ScribeConfig.Builder()
+                .maxFilesInBatch(4)
+                .maxBatchSizeBytes(1024)
+                .maxPendingEvents(8)
+                .gzipEnabled(true)
+                .durability(QueueFile.Durability.GROUP_COMMIT)
+                .overflowPolicy(BoundedEventsQueue.OverflowPolicy.BLOCK)
+                .build();
+
+        Assert.assertThat(config.maxFilesInBatch, is(4));
+        Assert.assertThat(config.maxBatchSizeBytes, is(1024L));
+        Assert.assertThat(config.maxPendingEvents, is(8));
+        Assert.assertThat(config.isGzipEnabled, is(true));
+        Assert.assertThat(config.durability, is(QueueFile.Durability.GROUP_COMMIT));
+        Assert.assertThat(config.overflowPolicy, is(BoundedEventsQueue.OverflowPolicy.BLOCK));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilder_nonPositiveMaxFilesInBatch() {
+        new ScribeConfig.Builder().maxFilesInBatch(0);
+    }
+
+    @Test
+    public void testConstructor_keepsDefaultsOfNewSettings() {
+        final ScribeConfig config = new ScribeConfig(false, ScribeConfig.BASE_URL,
+                ANY_PATH_VERSION, ANY_PATH_TYPE, null, ANY_USER_AGENT, 1, 2);
+
+        Assert.assertThat(config.isEnabled, is(false));
+        Assert.assertThat(config.pathVersion, is(ANY_PATH_VERSION));
+        Assert.assertThat(config.pathType, is(ANY_PATH_TYPE));
+        Assert.assertThat(config.sequence, nullValue());
+        Assert.assertThat(config.userAgent, is(ANY_USER_AGENT));
+        Assert.assertThat(config.maxFilesToKeep, is(1));
+        Assert.assertThat(config.sendIntervalSeconds, is(2));
+        Assert.assertThat(config.isGzipEnabled, is(false));
+        Assert.assertThat(config.durability, is(QueueFile.Durability.SYNC));
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.twitter.sdk.android.core.internal.scribe;
+
+import com.google.gson.Gson;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.*;
+
+@RunWith(RobolectricTestRunner.class)
+public class ScribeEventCodecTest {
+    private static final EventNamespace TEST_NAMESPACE = new EventNamespace("tfw", "android",
+            "tweet", "compact", "", "impression");
+    private static final long TEST_TIMESTAMP = 1471372440000L;
+    private static final String TEST_LANGUAGE = "en";
+    private static final String TEST_AD_ID = "ad-id";
+    private static final String TEST_EVENT_INFO = "event info \u2603";
+
+    private ScribeEvent.Transform transform;
+
+    @Before
+    public void setUp() {
+        transform = new ScribeEvent.Transform(new Gson());
+    }
+
+    @Test
+    public void testEncode_syndicationClientEvent() throws IOException {
+        final ScribeEvent event = new SyndicationClientEvent(TEST_NAMESPACE, TEST_EVENT_INFO,
+                TEST_TIMESTAMP, TEST_LANGUAGE, TEST_AD_ID, Arrays.asList(
+                        new ScribeItem(ScribeItem.TYPE_TWEET, 123L, null, null, null),
+                        new ScribeItem(ScribeItem.TYPE_TWEET, 456L, "description",
+                                new ScribeItem.CardEvent(1),
+                                new ScribeItem.MediaDetails(789L, 3, 10L))));
+
+        assertRoundTrip(event);
+    }
+
+    @Test
+    public void testEncode_syndicatedSdkImpressionEvent() throws IOException {
+        final ScribeEvent event = new SyndicatedSdkImpressionEvent(TEST_NAMESPACE, TEST_TIMESTAMP,
+                TEST_LANGUAGE, TEST_AD_ID, Collections.singletonList(
+                        new ScribeItem(null, 123L, null, null,
+                                new ScribeItem.MediaDetails(789L, 1, null))));
+
+        assertRoundTrip(event);
+    }
+
+    @Test
+    public void testEncode_nullFields() throws IOException {
+        final ScribeEvent event = new SyndicationClientEvent(
+                new EventNamespace("tfw", null, null, null, null, "unknown action"), null,
+                TEST_TIMESTAMP, null, null, Collections.emptyList());
+
+        assertRoundTrip(event);
+    }
+
+    @Test
+    public void testEncode_smallerThanJson() throws IOException {
+        final ScribeEvent event = new SyndicatedSdkImpressionEvent(TEST_NAMESPACE, TEST_TIMESTAMP,
+                TEST_LANGUAGE, TEST_AD_ID, Collections.singletonList(
+                        new ScribeItem(ScribeItem.TYPE_TWEET, 123L, null, null, null)));
+
+        final byte[] record = ScribeEventCodec.encode(event);
+        final byte[] json = new Gson().toJson(event).getBytes("UTF-8");
+        Assert.assertThat(record.length, lessThan(json.length / 2));
+    }
+
+    @Test
+    public void testEncode_unsupportedEventType() {
+        final ScribeEvent event = new ScribeEvent("category", TEST_NAMESPACE, TEST_TIMESTAMP,
+                Collections.emptyList());
+
+        Assert.assertThat(ScribeEventCodec.encode(event), nullValue());
+    }
+
+    @Test
+    public void testIsBinary() throws IOException {
+        final byte[] json = "{\"a\":1}".getBytes("UTF-8");
+        Assert.assertThat(ScribeEventCodec.isBinary(json, json.length), is(false));
+        Assert.assertThat(ScribeEventCodec.isBinary(new byte[0], 0), is(false));
+        Assert.assertThat(ScribeEventCodec.isBinary(
+                new byte[]{ScribeEventCodec.FORMAT_BINARY_V1}, 1), is(true));
+        Assert.assertThat(ScribeEventCodec.isBinary(
+                new byte[]{ScribeEventCodec.FORMAT_BINARY_V2}, 1), is(true));
+    }
+
+    @Test
+    public void testEncode_kit() throws IOException {
+        final ScribeEvent event = new SyndicatedSdkImpressionEvent(TEST_NAMESPACE, TEST_TIMESTAMP,
+                TEST_LANGUAGE, TEST_AD_ID, Collections.emptyList(), "TweetUi/1.0");
+
+        assertRoundTrip(event);
+    }
+
+    @Test
+    public void testWithKit_copiesEvent() {
+        final SyndicationClientEvent event = new SyndicationClientEvent(TEST_NAMESPACE,
+                TEST_EVENT_INFO, TEST_TIMESTAMP, TEST_LANGUAGE, TEST_AD_ID,
+                Collections.emptyList());
+
+        final ScribeEvent tagged = ScribeEventCodec.withKit(event, "TweetUi/1.0");
+
+        Assert.assertThat(tagged, is(new SyndicationClientEvent(TEST_NAMESPACE, TEST_EVENT_INFO,
+                TEST_TIMESTAMP, TEST_LANGUAGE, TEST_AD_ID, Collections.emptyList(),
+                "TweetUi/1.0")));
+        Assert.assertThat(event.kit, nullValue());
+    }
+
+    @Test
+    public void testWithKit_jsonEventUnchanged() {
+        final ScribeEvent event = new ScribeEvent("category", TEST_NAMESPACE, TEST_TIMESTAMP);
+
+        Assert.assertThat(ScribeEventCodec.withKit(event, "TweetUi/1.0"), sameInstance(event));
+    }
+
+    @Test
+    public void testToJsonBytes_kitNotUploaded() throws IOException {
+        final ScribeEvent event = new SyndicatedSdkImpressionEvent(TEST_NAMESPACE, TEST_TIMESTAMP,
+                TEST_LANGUAGE, TEST_AD_ID, Collections.emptyList(), "TweetUi/1.0");
+        final byte[] record = transform.toBytes(event);
+
+        final String json = new String(transform.toJsonBytes(record, record.length), "UTF-8");
+
+        Assert.assertThat(json, is(new Gson().toJson(new SyndicatedSdkImpressionEvent(
+                TEST_NAMESPACE, TEST_TIMESTAMP, TEST_LANGUAGE, TEST_AD_ID,
+                Collections.emptyList()))));
+        Assert.assertThat(json, not(containsString("TweetUi")));
+    }
+
+    @Test
+    public void testDecode_recordWithoutKit() throws IOException {
+        final ScribeEvent event = new SyndicationClientEvent(TEST_NAMESPACE, TEST_EVENT_INFO,
+                TEST_TIMESTAMP, TEST_LANGUAGE, TEST_AD_ID, Collections.emptyList());
+        final byte[] record = ScribeEventCodec.encode(event);
+        // A record written before events carried a kit: no kit string after the event type.
+        final byte[] v1Record = new byte[record.length - 1];
+        v1Record[0] = ScribeEventCodec.FORMAT_BINARY_V1;
+        v1Record[1] = record[1];
+        System.arraycopy(record, 3, v1Record, 2, record.length - 3);
+
+        Assert.assertThat(ScribeEventCodec.decode(v1Record, v1Record.length), is(event));
+    }
+
+    @Test
+    public void testToJsonBytes_jsonRecordPassesThrough() throws IOException {
+        final byte[] json = "{\"a\":1}".getBytes("UTF-8");
+        final byte[] buffer = Arrays.copyOf(json, json.length + 10);
+
+        Assert.assertThat(transform.toJsonBytes(buffer, json.length), is(json));
+    }
+
+    @Test
+    public void testToJsonBytes_fillsInMissingAdvertisingId() throws IOException {
+        final ScribeEvent.Transform transform = new ScribeEvent.Transform(new Gson(),
+                () -> TEST_AD_ID);
+        final byte[] record = transform.toBytes(new SyndicationClientEvent(TEST_NAMESPACE,
+                TEST_EVENT_INFO, TEST_TIMESTAMP, TEST_LANGUAGE, null, Collections.emptyList()));
+
+        final String json = new String(transform.toJsonBytes(record, record.length), "UTF-8");
+        Assert.assertThat(json, is(new Gson().toJson(new SyndicationClientEvent(TEST_NAMESPACE,
+                TEST_EVENT_INFO, TEST_TIMESTAMP, TEST_LANGUAGE, TEST_AD_ID,
+                Collections.emptyList()))));
+    }
+
+    @Test
+    public void testToJsonBytes_keepsRecordedAdvertisingId() throws IOException {
+        final ScribeEvent.Transform transform = new ScribeEvent.Transform(new Gson(),
+                () -> "other-ad-id");
+        final ScribeEvent event = new SyndicatedSdkImpressionEvent(TEST_NAMESPACE, TEST_TIMESTAMP,
+                TEST_LANGUAGE, TEST_AD_ID, Collections.emptyList());
+        final byte[] record = transform.toBytes(event);
+
+        final String json = new String(transform.toJsonBytes(record, record.length), "UTF-8");
+        Assert.assertThat(json, is(new Gson().toJson(event)));
+    }
+
+    @Test
+    public void testRecordConverter_asksForAdvertisingIdOnceAndOnlyIfMissing()
+            throws IOException {
+        final AtomicInteger calls = new AtomicInteger();
+        final ScribeEvent.Transform transform = new ScribeEvent.Transform(new Gson(), () -> {
+            calls.incrementAndGet();
+            return TEST_AD_ID;
+        });
+        final byte[] withAdId = transform.toBytes(new SyndicatedSdkImpressionEvent(TEST_NAMESPACE,
+                TEST_TIMESTAMP, TEST_LANGUAGE, "other-ad-id", Collections.emptyList()));
+        final byte[] withoutAdId = transform.toBytes(new SyndicatedSdkImpressionEvent(
+                TEST_NAMESPACE, TEST_TIMESTAMP, TEST_LANGUAGE, null, Collections.emptyList()));
+
+        final ScribeEvent.Transform.RecordConverter converter = transform.newRecordConverter();
+        converter.toJsonBytes(withAdId, withAdId.length);
+        Assert.assertThat(calls.get(), is(0));
+
+        converter.toJsonBytes(withoutAdId, withoutAdId.length);
+        converter.toJsonBytes(withoutAdId, withoutAdId.length);
+        Assert.assertThat(calls.get(), is(1));
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecode_truncatedRecord() throws IOException {
+        final byte[] record = ScribeEventCodec.encode(new SyndicationClientEvent(TEST_NAMESPACE,
+                TEST_EVENT_INFO, TEST_TIMESTAMP, TEST_LANGUAGE, TEST_AD_ID,
+                Collections.emptyList()));
+
+        ScribeEventCodec.decode(record, record.length - 3);
+    }
+
+    private void assertRoundTrip(ScribeEvent event) throws IOException {
+        final byte[] record = transform.toBytes(event);
+        Assert.assertThat(ScribeEventCodec.isBinary(record, record.length), is(true));
+
+        final String json = new String(transform.toJsonBytes(record, record.length), "UTF-8");
+        Assert.assertThat(json, is(new Gson().toJson(event)));
+    }
+}
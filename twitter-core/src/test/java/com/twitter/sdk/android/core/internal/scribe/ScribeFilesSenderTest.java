@@ -18,6 +18,8 @@
 package com.twitter.sdk.android.core.internal.scribe;
 
 import android.content.Context;
+
+import com.google.gson.Gson;
 import com.twitter.sdk.android.core.*;
 import com.twitter.sdk.android.core.internal.CommonUtils;
 import com.twitter.sdk.android.core.internal.IdManager;
@@ -136,6 +138,10 @@ public class ScribeFilesSenderTest {
                 .thenReturn(response);
         when(mockService.uploadSequence(anyString(), anyString()))
                 .thenReturn(response);
+        when(mockService.upload(anyString(), anyString(), any(RequestBody.class)))
+                .thenReturn(response);
+        when(mockService.uploadSequence(anyString(), any(RequestBody.class)))
+                .thenReturn(response);
     }
 
     private void setUpScribeSequence(String sequence) {
@@ -170,6 +176,37 @@ public class ScribeFilesSenderTest {
         Assert.assertThat(jsonArray.length(), is(NUM_SCRIBE_EVENTS));
     }
 
+    @Test
+    public void testScribeEventsRequestBody() throws Exception {
+        final okio.Buffer buffer = new okio.Buffer();
+        new ScribeEventsRequestBody(tempFiles, new ScribeEvent.Transform(new Gson()))
+                .writeTo(buffer);
+        final String body = buffer.readUtf8();
+
+        Assert.assertThat(body, startsWith("log%5B%5D="));
+        final String logs = java.net.URLDecoder.decode(body.substring(body.indexOf('=') + 1),
+                "UTF-8");
+        Assert.assertThat(logs, is(filesSender.getScribeEventsAsJsonArrayString(tempFiles)));
+        Assert.assertThat(new JSONArray(logs).length(), is(NUM_SCRIBE_EVENTS));
+    }
+
+    @Test
+    public void testScribeEvents_skipsMalformedRecord() throws Exception {
+        final QueueFile queueFile = new QueueFile(tempFiles.get(0));
+        queueFile.add(new byte[]{ScribeEventCodec.FORMAT_BINARY_V2, 0x7f});
+        queueFile.close();
+
+        final String logs = filesSender.getScribeEventsAsJsonArrayString(tempFiles);
+        Assert.assertThat(new JSONArray(logs).length(), is(NUM_SCRIBE_EVENTS));
+
+        final okio.Buffer buffer = new okio.Buffer();
+        new ScribeEventsRequestBody(tempFiles, new ScribeEvent.Transform(new Gson()))
+                .writeTo(buffer);
+        final String body = buffer.readUtf8();
+        Assert.assertThat(java.net.URLDecoder.decode(body.substring(body.indexOf('=') + 1),
+                "UTF-8"), is(logs));
+    }
+
     @Test
     public void testGetApiAdapter_nullUserSession() {
         filesSender.setScribeService(null); // set api adapter to null since we pre-set it in setUp
@@ -229,6 +266,36 @@ public class ScribeFilesSenderTest {
         verify(mockService, times(1)).upload(anyString(), anyString(), anyString());
     }
 
+    @Test
+    public void testSend_badRequestWithGzipRetriesUncompressed() {
+        final ScribeConfig scribeConfig = new ScribeConfig.Builder()
+                .baseUrl(ANY_URL)
+                .pathVersion(ANY_SCRIBE_PATH_VERSION)
+                .pathType(ANY_SCRIBE_PATH_TYPE)
+                .userAgent(ANY_USER_AGENT)
+                .gzipEnabled(true)
+                .build();
+        filesSender = new ScribeFilesSender(context, scribeConfig,
+                GuestSession.LOGGED_OUT_USER_ID, mock(TwitterAuthConfig.class), mockSessionMgr,
+                mockGuestSessionProvider, mock(ExecutorService.class), mockIdManager);
+        filesSender.setScribeService(mockService);
+        setUpMockServiceResponse(errorResponse(HttpURLConnection.HTTP_BAD_REQUEST));
+
+        // Files are kept for the uncompressed attempt, and dropped if that is rejected too.
+        Assert.assertThat(filesSender.send(tempFiles), is(false));
+        setUpMockServiceResponse(errorResponse(HttpURLConnection.HTTP_BAD_REQUEST));
+        Assert.assertThat(filesSender.send(tempFiles), is(true));
+    }
+
+    @Test
+    public void testSend_guestSessionStreamsEvents() {
+        when(mockSessionMgr.getSession(anyLong())).thenReturn(null);
+        setUpMockServiceResponse(successResponse());
+        Assert.assertThat(filesSender.send(tempFiles), is(true));
+        verify(mockService).upload(anyString(), anyString(), any(ScribeEventsRequestBody.class));
+        verify(mockService, never()).upload(anyString(), anyString(), anyString());
+    }
+
     @Test
     public void testSend_uploadFailsForbidden() {
         setUpMockServiceResponse(errorResponse(HttpURLConnection.HTTP_FORBIDDEN));
@@ -288,6 +355,19 @@ public class ScribeFilesSenderTest {
         Assert.assertThat(request.header(USER_AGENT_HEADER), is(ANY_USER_AGENT));
     }
 
+    @Test
+    public void testConfigRequestInterceptor_userAgentProvider() throws IOException {
+        final ScribeConfig config = new ScribeConfig(true, ScribeConfig.BASE_URL,
+                ANY_SCRIBE_PATH_VERSION, ANY_SCRIBE_PATH_TYPE, null, ANY_USER_AGENT,
+                ScribeConfig.DEFAULT_MAX_FILES_TO_KEEP, ScribeConfig.DEFAULT_SEND_INTERVAL_SECONDS);
+        final Interceptor interceptor = new ScribeFilesSender.ConfigRequestInterceptor(config,
+                mockIdManager, () -> ANY_USER_AGENT + " OtherKit/1");
+
+        final Request request = interceptor.intercept(createMockChain()).request();
+
+        Assert.assertThat(request.header(USER_AGENT_HEADER), is(ANY_USER_AGENT + " OtherKit/1"));
+    }
+
     @Test
     public void testConfigRequestInterceptor_nullIdManager() throws IOException {
         final ScribeConfig config = mock(ScribeConfig.class);
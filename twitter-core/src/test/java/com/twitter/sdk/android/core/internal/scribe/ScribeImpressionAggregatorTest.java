@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.twitter.sdk.android.core.internal.scribe;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ScribeImpressionAggregatorTest {
+    static final long TEST_OWNER_ID = 1L;
+    static final long TEST_OTHER_OWNER_ID = 2L;
+    static final long TEST_TIMESTAMP = 1000L;
+    static final EventNamespace TEST_IMPRESSION = new EventNamespace.Builder()
+            .setClient("tfw")
+            .setPage("android")
+            .setSection("tweet")
+            .setAction(ScribeImpressionAggregator.IMPRESSION_ACTION)
+            .builder();
+    static final EventNamespace TEST_CLICK = new EventNamespace.Builder()
+            .setClient("tfw")
+            .setPage("android")
+            .setSection("tweet")
+            .setAction("click")
+            .builder();
+
+    ScheduledExecutorService mockExecutor;
+    List<List<ScribeItem>> aggregated;
+    ScribeImpressionAggregator aggregator;
+
+    @Before
+    public void setUp() {
+        mockExecutor = mock(ScheduledExecutorService.class);
+        aggregated = new ArrayList<>();
+        aggregator = new ScribeImpressionAggregator(mockExecutor,
+                (ownerId, namespace, timestamp, items) -> aggregated.add(items));
+    }
+
+    @Test
+    public void testCanAggregate() {
+        final List<ScribeItem> items = Collections.singletonList(item(1));
+        Assert.assertThat(ScribeImpressionAggregator.canAggregate(TEST_IMPRESSION, items),
+                is(true));
+        Assert.assertThat(ScribeImpressionAggregator.canAggregate(TEST_CLICK, items), is(false));
+        Assert.assertThat(ScribeImpressionAggregator.canAggregate(TEST_IMPRESSION,
+                Collections.emptyList()), is(false));
+    }
+
+    @Test
+    public void testAdd_foldsItemsUntilWindowEnds() {
+        aggregator.add(TEST_OWNER_ID, TEST_IMPRESSION, TEST_TIMESTAMP, Arrays.asList(item(1)));
+        aggregator.add(TEST_OWNER_ID, TEST_IMPRESSION, TEST_TIMESTAMP, Arrays.asList(item(2)));
+        Assert.assertThat(aggregated, empty());
+
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockExecutor, times(1)).schedule(captor.capture(),
+                eq(ScribeImpressionAggregator.AGGREGATION_WINDOW_MS), eq(TimeUnit.MILLISECONDS));
+        captor.getValue().run();
+
+        Assert.assertThat(aggregated.size(), is(1));
+        Assert.assertThat(aggregated.get(0), is(Arrays.asList(item(1), item(2))));
+    }
+
+    @Test
+    public void testAdd_dropsRepeatImpressions() {
+        aggregator.add(TEST_OWNER_ID, TEST_IMPRESSION, TEST_TIMESTAMP, Arrays.asList(item(1)));
+        aggregator.flush();
+        aggregator.add(TEST_OWNER_ID, TEST_IMPRESSION, TEST_TIMESTAMP, Arrays.asList(item(1)));
+        aggregator.flush();
+
+        Assert.assertThat(aggregated.size(), is(1));
+    }
+
+    @Test
+    public void testAdd_keepsImpressionsOfEachMedia() {
+        aggregator.add(TEST_OWNER_ID, TEST_IMPRESSION, TEST_TIMESTAMP,
+                Arrays.asList(mediaItem(1, 10)));
+        aggregator.add(TEST_OWNER_ID, TEST_IMPRESSION, TEST_TIMESTAMP,
+                Arrays.asList(mediaItem(1, 11)));
+        aggregator.add(TEST_OWNER_ID, TEST_IMPRESSION, TEST_TIMESTAMP,
+                Arrays.asList(mediaItem(1, 10)));
+        aggregator.flush();
+
+        Assert.assertThat(aggregated.size(), is(1));
+        Assert.assertThat(aggregated.get(0).size(), is(2));
+    }
+
+    @Test
+    public void testAdd_repeatImpressionsExpire() {
+        aggregator.add(TEST_OWNER_ID, TEST_IMPRESSION, TEST_TIMESTAMP, Arrays.asList(item(1)));
+        aggregator.flush();
+        aggregator.add(TEST_OWNER_ID, TEST_IMPRESSION,
+                TEST_TIMESTAMP + ScribeImpressionAggregator.SEEN_ITEM_EXPIRY_MS,
+                Arrays.asList(item(1)));
+        aggregator.flush();
+
+        Assert.assertThat(aggregated.size(), is(2));
+    }
+
+    @Test
+    public void testAdd_newOwnerEmitsPendingAndResetsRepeats() {
+        aggregator.add(TEST_OWNER_ID, TEST_IMPRESSION, TEST_TIMESTAMP, Arrays.asList(item(1)));
+        aggregator.add(TEST_OTHER_OWNER_ID, TEST_IMPRESSION, TEST_TIMESTAMP,
+                Arrays.asList(item(1)));
+        Assert.assertThat(aggregated.size(), is(1));
+
+        aggregator.flush();
+        Assert.assertThat(aggregated.size(), is(2));
+    }
+
+    @Test
+    public void testAdd_emitsFullEvent() {
+        for (int i = 0; i < ScribeImpressionAggregator.MAX_ITEMS_PER_EVENT; i++) {
+            aggregator.add(TEST_OWNER_ID, TEST_IMPRESSION, TEST_TIMESTAMP,
+                    Arrays.asList(item(i)));
+        }
+
+        Assert.assertThat(aggregated.size(), is(1));
+        Assert.assertThat(aggregated.get(0).size(),
+                is(ScribeImpressionAggregator.MAX_ITEMS_PER_EVENT));
+    }
+
+    @Test
+    public void testFlush_afterWindowDoesNothing() {
+        aggregator.add(TEST_OWNER_ID, TEST_IMPRESSION, TEST_TIMESTAMP, Arrays.asList(item(1)));
+        aggregator.flush();
+
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockExecutor).schedule(captor.capture(), anyLong(), any(TimeUnit.class));
+        captor.getValue().run();
+
+        Assert.assertThat(aggregated.size(), is(1));
+    }
+
+    private static ScribeItem item(long id) {
+        return new ScribeItem.Builder()
+                .setItemType(ScribeItem.TYPE_TWEET)
+                .setId(id)
+                .build();
+    }
+
+    private static ScribeItem mediaItem(long tweetId, long mediaId) {
+        return new ScribeItem.Builder()
+                .setItemType(ScribeItem.TYPE_TWEET)
+                .setId(tweetId)
+                .setMediaDetails(new ScribeItem.MediaDetails(tweetId,
+                        ScribeItem.MediaDetails.TYPE_CONSUMER, mediaId))
+                .build();
+    }
+}
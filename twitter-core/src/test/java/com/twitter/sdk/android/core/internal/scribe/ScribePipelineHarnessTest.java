@@ -0,0 +1,322 @@
+/*
+ * Copyright (C) 2015 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.twitter.sdk.android.core.internal.scribe;
+
+import android.content.Context;
+
+import com.twitter.sdk.android.core.GuestSessionProvider;
+import com.twitter.sdk.android.core.SessionManager;
+import com.twitter.sdk.android.core.TwitterAuthConfig;
+import com.twitter.sdk.android.core.TwitterSession;
+import com.twitter.sdk.android.core.internal.IdManager;
+import com.twitter.sdk.android.core.internal.persistence.FileStoreImpl;
+
+import org.json.JSONArray;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URLDecoder;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.GzipSource;
+import okio.Okio;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * End to end harness for the scribe pipeline: DefaultScribeClient, EventsHandler,
+ * QueueFileEventStorage and ScribeFilesSender, uploading to a local MockWebServer. Logs events
+ * per second, bytes per event, upload request counts and latency to the test report, so
+ * durability and throughput changes can be compared with numbers.
+ *
+ * The harness is skipped unless enabled with -PscribeHarness=true. The load is set with system
+ * properties, passed through from Gradle project properties:
+ * <pre>
+ *   ./gradlew :twitter-core:testDebugUnitTest --tests '*ScribePipelineHarnessTest' \
+ *       -PscribeHarness=true -PscribeHarnessEvents=20000 -PscribeHarnessItemsPerEvent=5 \
+ *       -PscribeHarnessServerDelayMs=50 -PscribeHarnessGzip=true
+ * </pre>
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ScribePipelineHarnessTest {
+    private static final Logger LOGGER =
+            Logger.getLogger(ScribePipelineHarnessTest.class.getName());
+    private static final long OWNER_ID = 0L;
+    private static final long TIMEOUT_MS = TimeUnit.SECONDS.toMillis(60);
+    private static final EventNamespace NAMESPACE = new EventNamespace.Builder()
+            .setClient("tfw")
+            .setPage("android")
+            .setSection("tweet")
+            .setComponent("compact")
+            .setElement("")
+            .setAction("impression")
+            .builder();
+
+    private final int eventCount = Integer.getInteger("scribeHarnessEvents", 2000);
+    private final int itemsPerEvent = Integer.getInteger("scribeHarnessItemsPerEvent", 1);
+    private final long serverDelayMs = Long.getLong("scribeHarnessServerDelayMs", 0L);
+    private final boolean gzip = Boolean.getBoolean("scribeHarnessGzip");
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger receivedEvents = new AtomicInteger();
+    private final AtomicLong receivedBodyBytes = new AtomicLong();
+    private final AtomicInteger malformedRequests = new AtomicInteger();
+
+    private Context context;
+    private MockWebServer server;
+    private ScheduledExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        Assume.assumeTrue("Enable with -PscribeHarness=true", Boolean.getBoolean("scribeHarness"));
+        context = RuntimeEnvironment.application;
+        deleteScribeFiles();
+
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                recordUpload(request);
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBodyDelay(serverDelayMs, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (server != null) {
+            server.shutdown();
+            deleteScribeFiles();
+        }
+    }
+
+    @Test
+    public void testThroughput() throws Exception {
+        final DefaultScribeClient scribeClient = startPipeline();
+
+        final long writeStart = System.nanoTime();
+        for (int i = 0; i < eventCount; i++) {
+            scribeClient.scribe(newEvent(i));
+        }
+        awaitPendingWrites();
+        final long writeNanos = System.nanoTime() - writeStart;
+        final long storedBytes = getStoredBytes();
+
+        final long uploadStart = System.nanoTime();
+        scribeClient.scribeAndFlush(newEvent(eventCount), OWNER_ID);
+        awaitReceivedEvents(eventCount + 1);
+        final long uploadNanos = System.nanoTime() - uploadStart;
+
+        report("throughput", writeNanos, storedBytes, uploadNanos);
+        Assert.assertThat(receivedEvents.get(), is(eventCount + 1));
+        Assert.assertThat(malformedRequests.get(), is(0));
+    }
+
+    @Test
+    public void testRecoveryAfterKill() throws Exception {
+        DefaultScribeClient scribeClient = startPipeline();
+        for (int i = 0; i < eventCount; i++) {
+            scribeClient.scribe(newEvent(i));
+        }
+        awaitPendingWrites();
+
+        // Kill the pipeline without closing its files, mid way through writing one more event.
+        executor.shutdownNow();
+        executor = null;
+        final boolean tornWrite = writeUncommittedElement(getWorkingFile());
+        // Without a torn write this would only repeat the throughput test.
+        Assume.assumeTrue("No room for a torn write in the working file, change the event count",
+                tornWrite);
+
+        final long restartStart = System.nanoTime();
+        scribeClient = startPipeline();
+        scribeClient.scribeAndFlush(newEvent(eventCount), OWNER_ID);
+        awaitReceivedEvents(eventCount + 1);
+        final long uploadNanos = System.nanoTime() - restartStart;
+
+        report("recovery", 0, getStoredBytes(), uploadNanos);
+        Assert.assertThat(receivedEvents.get(), is(eventCount + 1));
+        Assert.assertThat(malformedRequests.get(), is(0));
+    }
+
+    private DefaultScribeClient startPipeline() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        final ScribeConfig config = new ScribeConfig.Builder()
+                .baseUrl(server.url("/").toString())
+                .pathVersion("i")
+                .pathType("sdk")
+                .userAgent("TwitterKit/harness")
+                .gzipEnabled(gzip)
+                .durability(QueueFile.Durability.GROUP_COMMIT)
+                // Keep every event, the harness counts them.
+                .maxPendingEvents(Integer.MAX_VALUE)
+                .overflowPolicy(BoundedEventsQueue.OverflowPolicy.BLOCK)
+                .build();
+        @SuppressWarnings("unchecked")
+        final SessionManager<TwitterSession> sessionManager = mock(SessionManager.class);
+        return new DefaultScribeClient(context, executor, mock(TwitterAuthConfig.class),
+                sessionManager, mock(GuestSessionProvider.class), mock(IdManager.class), config);
+    }
+
+    private ScribeEvent newEvent(int index) {
+        final ScribeItem[] items = new ScribeItem[itemsPerEvent];
+        for (int i = 0; i < itemsPerEvent; i++) {
+            items[i] = new ScribeItem(ScribeItem.TYPE_TWEET, (long) index * itemsPerEvent + i,
+                    null, null, null);
+        }
+        return new SyndicatedSdkImpressionEvent(NAMESPACE, System.currentTimeMillis(), "en",
+                null, Arrays.asList(items));
+    }
+
+    /**
+     * Waits until the single threaded executor has written every scribed event to storage.
+     */
+    private void awaitPendingWrites() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            executor.submit(() -> { }).get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void awaitReceivedEvents(int expected) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (receivedEvents.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void recordUpload(RecordedRequest request) {
+        requestCount.incrementAndGet();
+        try {
+            Buffer body = request.getBody();
+            receivedBodyBytes.addAndGet(body.size());
+            if ("gzip".equals(request.getHeader("Content-Encoding"))) {
+                final Buffer decompressed = new Buffer();
+                decompressed.writeAll(Okio.buffer(new GzipSource(body)));
+                body = decompressed;
+            }
+            final String form = body.readUtf8();
+            final String logs = URLDecoder.decode(form.substring(form.indexOf('=') + 1), "UTF-8");
+            receivedEvents.addAndGet(new JSONArray(logs).length());
+        } catch (Exception e) {
+            malformedRequests.incrementAndGet();
+        }
+    }
+
+    /**
+     * Writes an element to the free space after the last element without committing it in the
+     * header, as a crash between the data write and the header write would leave it.
+     *
+     * @return false if the file had no room for the element without wrapping
+     */
+    private boolean writeUncommittedElement(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            final int fileLength = raf.readInt();
+            final int elementCount = raf.readInt();
+            raf.readInt();
+            final int lastPosition = raf.readInt();
+            int position = QueueFile.HEADER_LENGTH;
+            if (elementCount > 0) {
+                raf.seek(lastPosition);
+                position = lastPosition + QueueFile.Element.HEADER_LENGTH + raf.readInt();
+            }
+            final byte[] garbage = "{\"torn\":".getBytes("UTF-8");
+            if (position + QueueFile.Element.HEADER_LENGTH + garbage.length > fileLength) {
+                return false;
+            }
+            raf.seek(position);
+            raf.writeInt(1024);
+            raf.write(garbage);
+            return true;
+        }
+    }
+
+    private void report(String name, long writeNanos, long storedBytes, long uploadNanos) {
+        final int requests = Math.max(1, requestCount.get());
+        LOGGER.info(String.format(Locale.US,
+                "scribe harness %s: %d events, %d items/event, server delay %d ms, gzip %b%n"
+                        + "  write: %.0f events/s, %.1f stored bytes/event%n"
+                        + "  upload: %d requests, %.1f body bytes/event, %.1f ms total,"
+                        + " %.1f ms/request",
+                name, eventCount, itemsPerEvent, serverDelayMs, gzip,
+                writeNanos > 0 ? eventCount * 1e9 / writeNanos : 0,
+                (double) storedBytes / eventCount,
+                requestCount.get(), (double) receivedBodyBytes.get() / (eventCount + 1),
+                uploadNanos / 1e6, uploadNanos / 1e6 / requests));
+    }
+
+    private File getFilesDir() {
+        return new FileStoreImpl(context).getFilesDir();
+    }
+
+    private File getWorkingFile() {
+        return new File(getFilesDir(), OWNER_ID + "_se.tap");
+    }
+
+    private File getRollOverDir() {
+        return new File(getFilesDir(), OWNER_ID + "_se_to_send");
+    }
+
+    private long getStoredBytes() {
+        long bytes = getWorkingFile().length();
+        final File[] files = getRollOverDir().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                bytes += file.length();
+            }
+        }
+        return bytes;
+    }
+
+    private void deleteScribeFiles() {
+        final File[] files = getRollOverDir().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        getWorkingFile().delete();
+        new File(getFilesDir(), OWNER_ID + "_se.tap.next").delete();
+    }
+}
@@ -31,6 +31,13 @@ class TestEnabledEventsStrategy extends EnabledEventsStrategy<TestEvent> {
         this.filesSender = filesSender;
     }
 
+    TestEnabledEventsStrategy(Context context, ScheduledExecutorService executorService,
+            EventsFilesManager<TestEvent> filesManager, FilesSender filesSender,
+            ConnectivityProbe connectivityProbe, EventsSendScheduler sendScheduler) {
+        super(context, executorService, filesManager, connectivityProbe, sendScheduler);
+        this.filesSender = filesSender;
+    }
+
     @Override
     public FilesSender getFilesSender() {
         return filesSender;